@@ -5,6 +5,7 @@ import org.springframework.context.annotation.Configuration;
 
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
+import io.micrometer.tracing.Span;
 import io.micrometer.tracing.Tracer;
 import io.micrometer.tracing.propagation.Propagator;
 
@@ -22,7 +23,11 @@ public class FeignTracingConfig {
     @Bean
     public RequestInterceptor feignRequestInterceptor() {
         return requestTemplate -> {
-            propagator.inject(tracer.currentSpan().context(), requestTemplate, RequestTemplate::header);
+            Span span = tracer.currentSpan();
+            // Scheduled calendar reloads run without a span
+            if (span != null) {
+                propagator.inject(span.context(), requestTemplate, RequestTemplate::header);
+            }
         };
     }
 }
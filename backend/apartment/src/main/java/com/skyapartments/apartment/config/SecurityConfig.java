@@ -11,8 +11,8 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
-import com.skyapartments.apartment.security.jwt.JwtRequestFilter;
-import com.skyapartments.apartment.security.jwt.UnauthorizedHandlerJwt;
+import com.skyapartments.security.jwt.JwtRequestFilter;
+import com.skyapartments.security.jwt.UnauthorizedHandlerJwt;
 
 @Configuration
 public class SecurityConfig {
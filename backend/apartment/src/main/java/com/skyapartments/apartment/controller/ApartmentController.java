@@ -6,13 +6,16 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.skyapartments.apartment.dto.ApartmentDTO;
 import com.skyapartments.apartment.dto.ApartmentRequestDTO;
+import com.skyapartments.apartment.dto.BookedRangeDTO;
 import com.skyapartments.apartment.service.ApartmentService;
 
 import jakarta.validation.Valid;
 
+import java.math.BigDecimal;
 import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.springframework.data.domain.Page;
@@ -26,9 +29,11 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import static org.springframework.web.servlet.support.ServletUriComponentsBuilder.fromCurrentRequest;
 
+import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -186,5 +191,36 @@ public class ApartmentController {
         return ResponseEntity.ok(isAvailable);
 
     }
-}
 
+    @Hidden
+    @GetMapping("/private/prices")
+    public ResponseEntity<Map<Long, BigDecimal>> getPrices(@RequestParam Set<Long> ids) {
+        return ResponseEntity.ok(apartmentService.getPrices(ids));
+    }
+
+    @Hidden
+    @GetMapping("/private/batch")
+    public ResponseEntity<List<ApartmentDTO>> getApartmentsByIds(@RequestParam Set<Long> ids) {
+        return ResponseEntity.ok(apartmentService.getApartmentsByIds(ids));
+    }
+
+    @Hidden
+    @GetMapping("/private/count")
+    public ResponseEntity<Long> countApartments() {
+        return ResponseEntity.ok(apartmentService.countApartments());
+    }
+
+    @Hidden
+    @PutMapping("/private/availability/{bookingId}")
+    public ResponseEntity<Void> recordBookedRange(@PathVariable Long bookingId, @RequestBody BookedRangeDTO range) {
+        apartmentService.recordBookedRange(bookingId, range);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Hidden
+    @DeleteMapping("/private/availability/{bookingId}")
+    public ResponseEntity<Void> releaseBookedRange(@PathVariable Long bookingId) {
+        apartmentService.releaseBookedRange(bookingId);
+        return ResponseEntity.noContent().build();
+    }
+}
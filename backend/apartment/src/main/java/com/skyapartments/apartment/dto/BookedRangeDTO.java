@@ -0,0 +1,53 @@
+package com.skyapartments.apartment.dto;
+
+import java.time.LocalDate;
+
+public class BookedRangeDTO {
+
+    private Long bookingId;
+    private Long apartmentId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    public BookedRangeDTO() {
+    }
+
+    public BookedRangeDTO(Long bookingId, Long apartmentId, LocalDate startDate, LocalDate endDate) {
+        this.bookingId = bookingId;
+        this.apartmentId = apartmentId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public Long getApartmentId() {
+        return apartmentId;
+    }
+
+    public void setApartmentId(Long apartmentId) {
+        this.apartmentId = apartmentId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+}
@@ -1,5 +1,7 @@
 package com.skyapartments.apartment.repository;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -44,4 +46,12 @@ public interface ApartmentRepository extends JpaRepository<Apartment, Long>{
 
     Optional<Apartment> findByNameAndIdNot(String name, Long id);
 
+    interface PriceView {
+        Long getId();
+        BigDecimal getPrice();
+    }
+
+    @Query("SELECT a.id AS id, a.price AS price FROM Apartment a WHERE a.id IN :ids")
+    List<PriceView> findPricesByIdIn(@Param("ids") Set<Long> ids);
+
 }
@@ -1,25 +1,36 @@
 package com.skyapartments.apartment.repository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Set;
 
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import com.skyapartments.apartment.config.FeignTracingConfig;
+import com.skyapartments.apartment.dto.BookedRangeDTO;
+import com.skyapartments.common.feign.FeignResilienceConfig;
+import com.skyapartments.common.feign.FeignTransportConfig;
+import com.skyapartments.common.http.IdBitmapHttpMessageConverter;
 
 
-@FeignClient(name = "booking", path = "/api/v1/bookings/private", configuration = FeignTracingConfig.class)
+@FeignClient(name = "booking", path = "/api/v1/bookings/private", configuration = { FeignTracingConfig.class, FeignTransportConfig.class, FeignResilienceConfig.class })
 public interface BookingClient {
 
-    @GetMapping("/unavailable")
+    // Prefers the id bitmap; a booking service that only speaks JSON still answers with JSON
+    @GetMapping(value = "/unavailable",
+        produces = { IdBitmapHttpMessageConverter.MEDIA_TYPE_VALUE, MediaType.APPLICATION_JSON_VALUE })
     Set<Long> getUnavailableApartments(
         @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
         @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
     );
 
+    @GetMapping("/booked-ranges")
+    List<BookedRangeDTO> getBookedRanges();
+
     @GetMapping("/apartment/{apartmentId}")
     Boolean hasBookings (@RequestParam("apartmentId") Long apartmentId);
 }
@@ -1,14 +0,0 @@
-package com.skyapartments.apartment.repository;
-
-import org.springframework.cloud.openfeign.FeignClient;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestParam;
-
-import com.skyapartments.apartment.config.FeignTracingConfig;
-import com.skyapartments.apartment.dto.UserDTO;
-
-@FeignClient(name = "user", path = "/api/v1/users/private", configuration = FeignTracingConfig.class)
-public interface UserClient {
-    @GetMapping("/email")
-    UserDTO findByEmail(@RequestParam String email);
-}
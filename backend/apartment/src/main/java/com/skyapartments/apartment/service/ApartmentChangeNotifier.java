@@ -0,0 +1,91 @@
+package com.skyapartments.apartment.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestClient;
+
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Tells the booking and review services that an apartment changed, so they drop it from their
+ * apartment caches. Every instance keeps its own cache, so the notification goes to each instance
+ * registered in discovery rather than through the load balancer.
+ *
+ * Notifications leave after the transaction commits, on a single background thread. A lost one
+ * is not retried: the caches expire their entries after a short TTL anyway.
+ */
+@Component
+public class ApartmentChangeNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(ApartmentChangeNotifier.class);
+
+    // Service id and invalidation endpoint of each service caching apartments
+    private static final Map<String, String> SUBSCRIBERS = Map.of(
+        "booking", "/api/v1/bookings/private/apartment-cache/{apartmentId}",
+        "review", "/api/v1/reviews/private/apartment-cache/{apartmentId}");
+
+    private final DiscoveryClient discoveryClient;
+    private final RestClient restClient;
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "apartment-change-notifier");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ApartmentChangeNotifier(DiscoveryClient discoveryClient, RestClient.Builder restClientBuilder) {
+        this.discoveryClient = discoveryClient;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofSeconds(1));
+        requestFactory.setReadTimeout(Duration.ofSeconds(2));
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+    }
+
+    public void changed(Long apartmentId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sender.execute(() -> broadcast(apartmentId));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sender.execute(() -> broadcast(apartmentId));
+            }
+        });
+    }
+
+    private void broadcast(Long apartmentId) {
+        SUBSCRIBERS.forEach((serviceId, path) -> {
+            for (ServiceInstance instance : discoveryClient.getInstances(serviceId)) {
+                try {
+                    restClient.delete()
+                        .uri(instance.getUri() + path, apartmentId)
+                        .retrieve()
+                        .toBodilessEntity();
+                } catch (Exception e) {
+                    Metrics.counter("apartment.change.notify.failed", "service", serviceId).increment();
+                    log.warn("Could not invalidate apartment {} in {} at {}: {}",
+                        apartmentId, serviceId, instance.getUri(), e.getMessage());
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        sender.shutdown();
+        sender.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
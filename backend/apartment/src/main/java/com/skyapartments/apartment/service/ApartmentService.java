@@ -1,7 +1,11 @@
 package com.skyapartments.apartment.service;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.springframework.stereotype.Service;
@@ -9,6 +13,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.skyapartments.apartment.dto.ApartmentDTO;
 import com.skyapartments.apartment.dto.ApartmentRequestDTO;
+import com.skyapartments.apartment.dto.BookedRangeDTO;
 import com.skyapartments.apartment.exception.BusinessValidationException;
 import com.skyapartments.apartment.exception.ResourceNotFoundException;
 import com.skyapartments.apartment.model.Apartment;
@@ -26,11 +31,15 @@ public class ApartmentService {
     private final ApartmentRepository apartmentRepository;
     private final ImageService imageService;
     private final BookingClient bookingClient;
+    private final AvailabilityCalendar availabilityCalendar;
+    private final ApartmentChangeNotifier changeNotifier;
 
-    public ApartmentService (ApartmentRepository apartmentRepository, ImageService imageService, BookingClient bookingClient) {
+    public ApartmentService (ApartmentRepository apartmentRepository, ImageService imageService, BookingClient bookingClient, AvailabilityCalendar availabilityCalendar, ApartmentChangeNotifier changeNotifier) {
         this.apartmentRepository = apartmentRepository;
         this.imageService = imageService;
         this.bookingClient = bookingClient;
+        this.availabilityCalendar = availabilityCalendar;
+        this.changeNotifier = changeNotifier;
     }
 
     public Page<ApartmentDTO> getAllApartments(Pageable pageable) {
@@ -101,7 +110,9 @@ public class ApartmentService {
                 }
             }
         }
-        return new ApartmentDTO(apartmentRepository.save(apartment));
+        ApartmentDTO updated = new ApartmentDTO(apartmentRepository.save(apartment));
+        changeNotifier.changed(id);
+        return updated;
     }
 
     public void deleteApartment(Long id) {
@@ -120,6 +131,7 @@ public class ApartmentService {
             }
         }
         apartmentRepository.deleteById(id);
+        changeNotifier.changed(id);
     }
     
     public Page<ApartmentDTO> searchApartments(
@@ -134,7 +146,9 @@ public class ApartmentService {
         throw new BusinessValidationException("End date must be after start date");
         }
         if (startDate != null && endDate != null) {
-            unavailable = bookingClient.getUnavailableApartments(startDate, endDate);
+            unavailable = availabilityCalendar.covers(startDate)
+                ? availabilityCalendar.unavailableApartments(startDate, endDate)
+                : bookingClient.getUnavailableApartments(startDate, endDate);
         }
 
         int serviceCount = (services != null) ? services.size() : 0;
@@ -149,6 +163,28 @@ public class ApartmentService {
                 .map(ApartmentDTO::new);
     }
 
+    public Map<Long, BigDecimal> getPrices(Set<Long> ids) {
+        Map<Long, BigDecimal> prices = new HashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return prices;
+        }
+        for (ApartmentRepository.PriceView apartment : apartmentRepository.findPricesByIdIn(ids)) {
+            prices.put(apartment.getId(), apartment.getPrice());
+        }
+        return prices;
+    }
+
+    public long countApartments() {
+        return apartmentRepository.count();
+    }
+
+    public List<ApartmentDTO> getApartmentsByIds(Set<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return apartmentRepository.findAllById(ids).stream().map(ApartmentDTO::new).toList();
+    }
+
     public Set<String> getAllServices() {
         return apartmentRepository.findDistinctServices();
     }
@@ -157,8 +193,20 @@ public class ApartmentService {
         Apartment apartment = apartmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Apartment not found"));
 
+        if (availabilityCalendar.covers(startDate)) {
+            return !availabilityCalendar.isBooked(id, startDate, endDate);
+        }
         Set<Long> unavailable = bookingClient.getUnavailableApartments(startDate, endDate);
         return !unavailable.contains(id);
     }
 
+    public void recordBookedRange(Long bookingId, BookedRangeDTO range) {
+        range.setBookingId(bookingId);
+        availabilityCalendar.put(range);
+    }
+
+    public void releaseBookedRange(Long bookingId) {
+        availabilityCalendar.remove(bookingId);
+    }
+
 }
@@ -0,0 +1,202 @@
+package com.skyapartments.apartment.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.skyapartments.apartment.dto.BookedRangeDTO;
+import com.skyapartments.apartment.repository.BookingClient;
+
+/**
+ * Read-only copy of the booking service's calendar, so date filters are answered without a
+ * remote call. It is loaded from the booking service's snapshot of current and future stays
+ * and kept current by the changes the booking service pushes after every booking write.
+ *
+ * The copy may briefly lag behind (a lost notification, or a change delivered to another
+ * instance) until the next periodic reload. That only affects searches: the booking service
+ * still checks availability itself before accepting a booking.
+ */
+@Component
+public class AvailabilityCalendar {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityCalendar.class);
+
+    private final BookingClient bookingClient;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Ranges ranges = new Ranges();
+    // Changes received while a snapshot is being fetched, replayed on top of it
+    private List<Consumer<Ranges>> pendingChanges;
+    private LocalDate loadedFrom;
+
+    public AvailabilityCalendar(BookingClient bookingClient) {
+        this.bookingClient = bookingClient;
+    }
+
+    @Scheduled(fixedDelayString = "${apartment.availability.reload-interval-ms:60000}")
+    public synchronized void reload() {
+        LocalDate today = LocalDate.now();
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Ranges loaded = new Ranges();
+        try {
+            bookingClient.getBookedRanges().forEach(loaded::put);
+        } catch (Exception e) {
+            log.warn("Could not load the booking calendar, searches keep the previous state: {}", e.getMessage());
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingChanges.forEach(change -> change.accept(loaded));
+            pendingChanges = null;
+            ranges = loaded;
+            loadedFrom = today;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the calendar can answer for stays starting on the given day. Stays that ended
+     * before the last snapshot are not kept, so earlier days must ask the booking service.
+     */
+    public boolean covers(LocalDate startDate) {
+        lock.readLock().lock();
+        try {
+            return loadedFrom != null && !startDate.isBefore(loadedFrom);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Same rule as the booking service: a stay blocks the range when it starts before its end and ends after its start
+    public Set<Long> unavailableApartments(LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            Set<Long> unavailable = new HashSet<>();
+            ranges.byApartment.forEach((apartmentId, stays) -> {
+                if (overlaps(stays, startDate, endDate)) {
+                    unavailable.add(apartmentId);
+                }
+            });
+            return unavailable;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isBooked(Long apartmentId, LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            NavigableSet<Stay> stays = ranges.byApartment.get(apartmentId);
+            return stays != null && overlaps(stays, startDate, endDate);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(BookedRangeDTO range) {
+        apply(calendar -> calendar.put(range));
+    }
+
+    public void remove(Long bookingId) {
+        apply(calendar -> calendar.remove(bookingId));
+    }
+
+    private void apply(Consumer<Ranges> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(ranges);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Stays of one apartment never overlap, so the one starting last before endDate is also
+     * the one ending last among them: it is the only candidate to check.
+     */
+    private static boolean overlaps(NavigableSet<Stay> stays, LocalDate startDate, LocalDate endDate) {
+        Stay candidate = stays.lower(new Stay(Long.MIN_VALUE, endDate, endDate));
+        return candidate != null && candidate.endDate.isAfter(startDate);
+    }
+
+    private static final class Stay {
+
+        private static final Comparator<Stay> ORDER = Comparator
+                .comparing((Stay stay) -> stay.startDate)
+                .thenComparing(stay -> stay.bookingId);
+
+        private final Long bookingId;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+
+        private Stay(Long bookingId, LocalDate startDate, LocalDate endDate) {
+            this.bookingId = bookingId;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+    }
+
+    private static final class Ranges {
+
+        private final Map<Long, Stay> byBooking = new HashMap<>();
+        private final Map<Long, Long> apartmentByBooking = new HashMap<>();
+        private final Map<Long, NavigableSet<Stay>> byApartment = new HashMap<>();
+
+        void put(BookedRangeDTO range) {
+            if (range.getBookingId() == null || range.getApartmentId() == null
+                    || range.getStartDate() == null || range.getEndDate() == null) {
+                return;
+            }
+            remove(range.getBookingId());
+            Stay stay = new Stay(range.getBookingId(), range.getStartDate(), range.getEndDate());
+            byBooking.put(stay.bookingId, stay);
+            apartmentByBooking.put(stay.bookingId, range.getApartmentId());
+            byApartment.computeIfAbsent(range.getApartmentId(), id -> new TreeSet<>(Stay.ORDER)).add(stay);
+        }
+
+        void remove(Long bookingId) {
+            Stay previous = byBooking.remove(bookingId);
+            if (previous == null) {
+                return;
+            }
+            Long apartmentId = apartmentByBooking.remove(bookingId);
+            NavigableSet<Stay> stays = byApartment.get(apartmentId);
+            stays.remove(previous);
+            if (stays.isEmpty()) {
+                byApartment.remove(apartmentId);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update)
+
+create table apartments (
+    id bigint not null auto_increment,
+    name varchar(255),
+    description varchar(255),
+    price decimal(38,2),
+    capacity integer not null,
+    primary key (id),
+    constraint uk_apartments_name unique (name)
+);
+
+create table apartment_images (
+    apartment_id bigint not null,
+    image_url varchar(255)
+);
+
+create index idx_apartment_images_apartment on apartment_images (apartment_id);
+
+alter table apartment_images
+    add constraint fk_apartment_images_apartment foreign key (apartment_id) references apartments (id);
+
+create table apartment_services (
+    apartment_id bigint not null,
+    services varchar(255) not null,
+    primary key (apartment_id, services)
+);
+
+alter table apartment_services
+    add constraint fk_apartment_services_apartment foreign key (apartment_id) references apartments (id);
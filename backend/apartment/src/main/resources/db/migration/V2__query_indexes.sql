@@ -0,0 +1,7 @@
+-- Indexes for the queries in ApartmentRepository
+
+-- Apartments offering a service, and the list of distinct services (findDistinctServices)
+create index idx_apartment_services_service on apartment_services (services, apartment_id);
+
+-- Catalog search is paged in price order (findAvailableWithOptionalFilters)
+create index idx_apartments_price on apartments (price);
@@ -0,0 +1,49 @@
+package com.skyapartments.apartment.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import com.skyapartments.apartment.model.Apartment;
+import com.skyapartments.apartment.repository.ApartmentRepository;
+import com.skyapartments.common.testutils.AbstractQueryPlanIntegrationTest;
+
+/**
+ * Checks that every repository query is answered from an index.
+ *
+ * The catalog search and findDistinctServices go through every apartment by design; for the
+ * search only the services lookup done per apartment is checked.
+ */
+public class ApartmentQueryPlanIntegrationTest extends AbstractQueryPlanIntegrationTest {
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Apartment.class)
+    @EnableJpaRepositories(basePackageClasses = ApartmentRepository.class)
+    static class RepositoriesOnly {
+    }
+
+    @Autowired
+    private ApartmentRepository apartmentRepository;
+
+    @Test
+    void apartmentQueries_ShouldUseIndexes() {
+        assertIndexed("existsByName", () -> apartmentRepository.existsByName("Sea view"));
+        assertIndexed("findByNameAndIdNot", () -> apartmentRepository.findByNameAndIdNot("Sea view", 1L));
+        assertIndexed("findPricesByIdIn", () -> apartmentRepository.findPricesByIdIn(Set.of(1L, 2L)));
+    }
+
+    @Test
+    void search_ShouldLookUpServicesByIndex() {
+        for (String plan : plans("findAvailableWithOptionalFilters", () -> apartmentRepository.findAvailableWithOptionalFilters(
+                Set.of("wifi", "parking"), 2, 2, Set.of(3L), PageRequest.of(1, 10)))) {
+            assertThat(plan).as("services read in full:%n%s", plan).doesNotContain("apartment_services.tableScan");
+        }
+    }
+}
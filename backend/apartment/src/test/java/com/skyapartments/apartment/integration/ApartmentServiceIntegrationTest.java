@@ -34,7 +34,9 @@ import com.skyapartments.apartment.exception.ResourceNotFoundException;
 import com.skyapartments.apartment.model.Apartment;
 import com.skyapartments.apartment.repository.ApartmentRepository;
 import com.skyapartments.apartment.repository.BookingClient;
+import com.skyapartments.apartment.service.ApartmentChangeNotifier;
 import com.skyapartments.apartment.service.ApartmentService;
+import com.skyapartments.apartment.service.AvailabilityCalendar;
 import com.skyapartments.apartment.service.ImageService;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -90,7 +92,7 @@ public class ApartmentServiceIntegrationTest {
     @BeforeEach
     void setUp() throws Exception {
         apartmentRepository.deleteAll();
-        apartmentService = new ApartmentService(apartmentRepository, imageService, bookingClient);
+        apartmentService = new ApartmentService(apartmentRepository, imageService, bookingClient, new AvailabilityCalendar(bookingClient), mock(ApartmentChangeNotifier.class));
         apt1 = new Apartment("Test Apartment 1", "Nice view", BigDecimal.valueOf(100.00), Set.of("WiFi", "Parking"), 4);
         apt1 = apartmentRepository.save(apt1);
         imageFile = new MockMultipartFile(
@@ -2,12 +2,15 @@ package com.skyapartments.apartment.unit;
 
 import com.skyapartments.apartment.dto.ApartmentDTO;
 import com.skyapartments.apartment.dto.ApartmentRequestDTO;
+import com.skyapartments.apartment.dto.BookedRangeDTO;
 import com.skyapartments.apartment.exception.BusinessValidationException;
 import com.skyapartments.apartment.exception.ResourceNotFoundException;
 import com.skyapartments.apartment.model.Apartment;
 import com.skyapartments.apartment.repository.ApartmentRepository;
 import com.skyapartments.apartment.repository.BookingClient;
+import com.skyapartments.apartment.service.ApartmentChangeNotifier;
 import com.skyapartments.apartment.service.ApartmentService;
+import com.skyapartments.apartment.service.AvailabilityCalendar;
 import com.skyapartments.apartment.service.ImageService;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -46,8 +49,10 @@ public class ApartmentServiceUnitTest {
     private ApartmentRepository apartmentRepository = mock(ApartmentRepository.class);
     private ImageService imageService = mock(ImageService.class);
     private BookingClient bookingClient = mock(BookingClient.class);
+    private AvailabilityCalendar availabilityCalendar = new AvailabilityCalendar(bookingClient);
+    private ApartmentChangeNotifier changeNotifier = mock(ApartmentChangeNotifier.class);
     public ApartmentServiceUnitTest() {
-        apartmentService = new ApartmentService(apartmentRepository, imageService, bookingClient);
+        apartmentService = new ApartmentService(apartmentRepository, imageService, bookingClient, availabilityCalendar, changeNotifier);
     }
 
     @Test
@@ -211,6 +216,7 @@ public class ApartmentServiceUnitTest {
         assertThat(ex.getMessage()).isEqualTo("An apartment with this name already exists");
 
         verify(apartmentRepository, never()).save(any());
+        verify(changeNotifier, never()).changed(anyLong());
     }
 
     @Test
@@ -274,6 +280,7 @@ public class ApartmentServiceUnitTest {
         assertThat(result.getCapacity()).isEqualTo(3);
         verify(imageService, times(1)).deleteImage(anyString());
         verify(imageService, never()).saveImage(any(), any());
+        verify(changeNotifier, times(1)).changed(1L);
     }
 
     @Test
@@ -366,6 +373,7 @@ public class ApartmentServiceUnitTest {
         // then
         verify(imageService, times(1)).deleteImage("img1.jpg");
         verify(apartmentRepository, times(1)).deleteById(1L);
+        verify(changeNotifier, times(1)).changed(1L);
     }
 
     @Test
@@ -584,5 +592,46 @@ public class ApartmentServiceUnitTest {
         verify(apartmentRepository, times(1)).findById(apartmentId);
         verify(bookingClient, times(1)).getUnavailableApartments(start, end);
     }
+
+    @Test
+    void checkAvailability_ShouldUseLocalCalendar_WhenCalendarIsLoaded() {
+        // given
+        Long apartmentId = 1L;
+        LocalDate start = LocalDate.now().plusDays(10);
+        LocalDate end = LocalDate.now().plusDays(12);
+
+        Apartment apartment = new Apartment();
+        apartment.setId(apartmentId);
+
+        when(apartmentRepository.findById(apartmentId)).thenReturn(Optional.of(apartment));
+        when(bookingClient.getBookedRanges()).thenReturn(List.of(new BookedRangeDTO(7L, apartmentId, start.plusDays(1), start.plusDays(4))));
+        availabilityCalendar.reload();
+
+        // when
+        Boolean available = apartmentService.checkAvailability(apartmentId, start, end);
+
+        // then
+        assertThat(available).isFalse();
+        verify(bookingClient, never()).getUnavailableApartments(any(), any());
+    }
+
+    @Test
+    void getApartmentsByIds_ShouldReturnApartmentsFromSingleQuery() {
+        // given
+        Apartment apt1 = new Apartment("Test Apartment 1", "Nice view", BigDecimal.valueOf(100.0), Set.of("WiFi"), 4);
+        apt1.setId(1L);
+        Apartment apt2 = new Apartment("Test Apartment 2", "Cozy place", BigDecimal.valueOf(150.0), Set.of("WiFi"), 2);
+        apt2.setId(2L);
+
+        when(apartmentRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(apt1, apt2));
+
+        // when
+        List<ApartmentDTO> apartments = apartmentService.getApartmentsByIds(Set.of(1L, 2L));
+
+        // then
+        assertThat(apartments).extracting(ApartmentDTO::getId).containsExactlyInAnyOrder(1L, 2L);
+        verify(apartmentRepository, times(1)).findAllById(Set.of(1L, 2L));
+        verify(apartmentRepository, never()).findById(anyLong());
+    }
     
 }
@@ -0,0 +1,95 @@
+package com.skyapartments.apartment.unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.skyapartments.apartment.dto.BookedRangeDTO;
+import com.skyapartments.apartment.repository.BookingClient;
+import com.skyapartments.apartment.service.AvailabilityCalendar;
+
+public class AvailabilityCalendarUnitTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private BookingClient bookingClient = mock(BookingClient.class);
+    private AvailabilityCalendar calendar = new AvailabilityCalendar(bookingClient);
+
+    @Test
+    void covers_ShouldBeFalse_UntilSnapshotIsLoaded() {
+        assertThat(calendar.covers(TODAY)).isFalse();
+
+        when(bookingClient.getBookedRanges()).thenReturn(List.of());
+        calendar.reload();
+
+        assertThat(calendar.covers(TODAY)).isTrue();
+        assertThat(calendar.covers(TODAY.minusDays(1))).isFalse();
+    }
+
+    @Test
+    void reload_ShouldKeepPreviousState_WhenBookingServiceFails() {
+        when(bookingClient.getBookedRanges()).thenReturn(List.of(range(1L, 10L, 5, 8)));
+        calendar.reload();
+        when(bookingClient.getBookedRanges()).thenThrow(new RuntimeException("booking is down"));
+
+        calendar.reload();
+
+        assertThat(calendar.covers(TODAY)).isTrue();
+        assertThat(calendar.isBooked(10L, day(6), day(7))).isTrue();
+    }
+
+    @Test
+    void unavailableApartments_ShouldMatchBookingServiceRule() {
+        when(bookingClient.getBookedRanges()).thenReturn(List.of(
+            range(1L, 10L, 5, 8),
+            range(2L, 20L, 10, 12),
+            range(3L, 30L, 1, 2)));
+        calendar.reload();
+
+        // A stay touching the searched range only on its edges does not block it
+        assertThat(calendar.unavailableApartments(day(8), day(10))).isEmpty();
+        assertThat(calendar.unavailableApartments(day(7), day(11))).containsExactlyInAnyOrder(10L, 20L);
+        assertThat(calendar.unavailableApartments(day(0), day(30))).containsExactlyInAnyOrder(10L, 20L, 30L);
+    }
+
+    @Test
+    void put_ShouldMoveAnUpdatedStay_AndRemoveShouldReleaseIt() {
+        when(bookingClient.getBookedRanges()).thenReturn(List.of(range(1L, 10L, 5, 8)));
+        calendar.reload();
+
+        calendar.put(range(1L, 10L, 20, 22));
+        assertThat(calendar.isBooked(10L, day(6), day(7))).isFalse();
+        assertThat(calendar.isBooked(10L, day(21), day(23))).isTrue();
+
+        calendar.remove(1L);
+        assertThat(calendar.isBooked(10L, day(21), day(23))).isFalse();
+    }
+
+    @Test
+    void reload_ShouldReplayChangesReceivedWhileFetchingSnapshot() {
+        // The snapshot was read before booking 2 was created and booking 1 cancelled
+        when(bookingClient.getBookedRanges()).thenAnswer(invocation -> {
+            calendar.put(range(2L, 20L, 3, 4));
+            calendar.remove(1L);
+            return List.of(range(1L, 10L, 5, 8));
+        });
+
+        calendar.reload();
+
+        assertThat(calendar.isBooked(10L, day(5), day(8))).isFalse();
+        assertThat(calendar.isBooked(20L, day(3), day(4))).isTrue();
+    }
+
+    private static BookedRangeDTO range(Long bookingId, Long apartmentId, int startDay, int endDay) {
+        return new BookedRangeDTO(bookingId, apartmentId, day(startDay), day(endDay));
+    }
+
+    private static LocalDate day(int offset) {
+        return TODAY.plusDays(offset);
+    }
+}
@@ -0,0 +1,28 @@
+package com.skyapartments.api_gateway.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.skyapartments.security.jwt.InternalIdentity;
+import com.skyapartments.security.jwt.TokenVerifier;
+import com.skyapartments.security.jwt.ValidatedTokenCache;
+
+@Configuration
+public class EdgeAuthenticationConfiguration {
+
+    @Bean
+    public ValidatedTokenCache validatedTokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize) {
+        return new ValidatedTokenCache(maxSize);
+    }
+
+    @Bean
+    public TokenVerifier tokenVerifier(@Value("${jwt.secret}") String secret, ValidatedTokenCache validatedTokenCache) {
+        return new TokenVerifier(secret, validatedTokenCache);
+    }
+
+    @Bean
+    public InternalIdentity internalIdentity(@Value("${jwt.secret}") String secret) {
+        return new InternalIdentity(secret);
+    }
+}
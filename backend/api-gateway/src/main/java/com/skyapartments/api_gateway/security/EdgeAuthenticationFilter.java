@@ -0,0 +1,98 @@
+package com.skyapartments.api_gateway.security;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.skyapartments.security.jwt.InternalIdentity;
+import com.skyapartments.security.jwt.TokenType;
+import com.skyapartments.security.jwt.TokenVerifier;
+
+import io.jsonwebtoken.Claims;
+import reactor.core.publisher.Mono;
+
+/**
+ * Verifies the access token cookie of API requests once, at the edge. Requests with an invalid or
+ * expired token are rejected here; valid ones are forwarded with the signed identity header instead
+ * of the cookie, so the services do not verify the token again. Requests without a token go through
+ * unchanged and the services decide whether the endpoint is public.
+ *
+ * Auth endpoints are never rejected, so a stale cookie does not prevent logging in or refreshing it,
+ * and keep the cookie, which the user service reads there.
+ */
+@Component
+public class EdgeAuthenticationFilter implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(EdgeAuthenticationFilter.class);
+
+    private static final String API_PATH = "/api/";
+    private static final String AUTH_PATH = "/api/v1/auth/";
+
+    private final TokenVerifier tokenVerifier;
+    private final InternalIdentity internalIdentity;
+
+    public EdgeAuthenticationFilter(TokenVerifier tokenVerifier, InternalIdentity internalIdentity) {
+        this.tokenVerifier = tokenVerifier;
+        this.internalIdentity = internalIdentity;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().value();
+        // Only the gateway sets the identity header
+        ServerHttpRequest.Builder forwarded = request.mutate().headers(headers -> headers.remove(InternalIdentity.HEADER));
+
+        HttpCookie cookie = request.getCookies().getFirst(TokenType.ACCESS.cookieName);
+        if (path.startsWith(API_PATH) && cookie != null && !cookie.getValue().isEmpty()) {
+            try {
+                Claims claims = TokenVerifier.requireAccessToken(tokenVerifier.verify(cookie.getValue()));
+                forwarded.header(InternalIdentity.HEADER, internalIdentity.sign(
+                    claims.getSubject(), TokenVerifier.roles(claims), claims.getExpiration().toInstant()));
+                if (!path.startsWith(AUTH_PATH)) {
+                    forwarded.headers(headers -> removeCookie(headers, TokenType.ACCESS.cookieName));
+                }
+            } catch (RuntimeException e) {
+                if (!path.startsWith(AUTH_PATH)) {
+                    log.debug("Rejected access token on {}: {}", path, e.getMessage());
+                    exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                    return exchange.getResponse().setComplete();
+                }
+            }
+        }
+        return chain.filter(exchange.mutate().request(forwarded.build()).build());
+    }
+
+    private static void removeCookie(HttpHeaders headers, String name) {
+        List<String> kept = new ArrayList<>();
+        for (String header : headers.getOrEmpty(HttpHeaders.COOKIE)) {
+            for (String cookie : header.split(";")) {
+                String trimmed = cookie.trim();
+                if (!trimmed.isEmpty() && !trimmed.startsWith(name + "=")) {
+                    kept.add(trimmed);
+                }
+            }
+        }
+        if (kept.isEmpty()) {
+            headers.remove(HttpHeaders.COOKIE);
+        } else {
+            headers.set(HttpHeaders.COOKIE, String.join("; ", kept));
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -3,7 +3,7 @@ package com.skyapartments.api_gateway;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "jwt.secret=test-secret-key-of-at-least-thirty-two-bytes")
 class ApiGatewayApplicationTests {
 
 	@Test
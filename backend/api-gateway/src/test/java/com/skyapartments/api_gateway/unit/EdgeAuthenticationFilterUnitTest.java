@@ -0,0 +1,141 @@
+package com.skyapartments.api_gateway.unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.skyapartments.api_gateway.security.EdgeAuthenticationFilter;
+import com.skyapartments.security.jwt.InternalIdentity;
+import com.skyapartments.security.jwt.TokenType;
+import com.skyapartments.security.jwt.TokenVerifier;
+import com.skyapartments.security.jwt.ValidatedTokenCache;
+
+import io.jsonwebtoken.Jwts;
+import reactor.core.publisher.Mono;
+
+public class EdgeAuthenticationFilterUnitTest {
+
+    private static final String SECRET = "a-test-secret-that-is-long-enough-for-hmac-sha256";
+    private static final String EMAIL = "user@example.com";
+
+    private final InternalIdentity internalIdentity = new InternalIdentity(SECRET);
+    private final EdgeAuthenticationFilter filter =
+        new EdgeAuthenticationFilter(new TokenVerifier(SECRET, new ValidatedTokenCache(0)), internalIdentity);
+
+    private ServerHttpRequest forwarded;
+
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded = exchange.getRequest();
+        return Mono.empty();
+    };
+
+    @Test
+    @DisplayName("Should strip an identity header sent by the client")
+    void shouldStripClientIdentityHeader() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/bookings")
+            .header(InternalIdentity.HEADER, internalIdentity.sign("admin@example.com", List.of("ROLE_ADMIN"),
+                Instant.now().plusSeconds(60))));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(forwarded).isNotNull();
+        assertThat(forwarded.getHeaders().containsKey(InternalIdentity.HEADER)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid access token on the API")
+    void shouldRejectInvalidToken() {
+        String token = token(TokenType.ACCESS, "another-secret-that-is-long-enough-for-hmac-sha256", Duration.ofMinutes(5));
+        MockServerWebExchange exchange = exchange("/api/v1/bookings", token);
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(forwarded).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject an expired access token on the API")
+    void shouldRejectExpiredToken() {
+        MockServerWebExchange exchange = exchange("/api/v1/bookings", token(TokenType.ACCESS, SECRET, Duration.ofMinutes(-1)));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(forwarded).isNull();
+    }
+
+    @Test
+    @DisplayName("Should forward a valid token as a signed identity without the access token cookie")
+    void shouldForwardSignedIdentity() {
+        MockServerWebExchange exchange = exchange("/api/v1/bookings", token(TokenType.ACCESS, SECRET, Duration.ofMinutes(5)));
+
+        filter.filter(exchange, chain).block();
+
+        InternalIdentity.Identity identity = internalIdentity.verify(forwarded.getHeaders().getFirst(InternalIdentity.HEADER));
+        assertThat(identity.getSubject()).isEqualTo(EMAIL);
+        assertThat(identity.getRoles()).containsExactly("ROLE_USER");
+        assertThat(forwarded.getHeaders().getFirst(HttpHeaders.COOKIE)).isEqualTo("Theme=dark; Locale=es");
+    }
+
+    @Test
+    @DisplayName("Should never reject auth endpoints and keep their access token cookie")
+    void shouldPassAuthEndpoints() {
+        String expired = token(TokenType.ACCESS, SECRET, Duration.ofMinutes(-1));
+        MockServerWebExchange rejected = exchange("/api/v1/auth/refresh", expired);
+
+        filter.filter(rejected, chain).block();
+
+        assertThat(rejected.getResponse().getStatusCode()).isNull();
+        assertThat(forwarded.getHeaders().containsKey(InternalIdentity.HEADER)).isFalse();
+        assertThat(forwarded.getHeaders().getFirst(HttpHeaders.COOKIE)).contains(TokenType.ACCESS.cookieName + "=" + expired);
+
+        String valid = token(TokenType.ACCESS, SECRET, Duration.ofMinutes(5));
+        filter.filter(exchange("/api/v1/auth/logout", valid), chain).block();
+
+        assertThat(forwarded.getHeaders().containsKey(InternalIdentity.HEADER)).isTrue();
+        assertThat(forwarded.getHeaders().getFirst(HttpHeaders.COOKIE)).contains(TokenType.ACCESS.cookieName + "=" + valid);
+    }
+
+    @Test
+    @DisplayName("Should reject a refresh token sent as the access token")
+    void shouldRejectRefreshToken() {
+        MockServerWebExchange exchange = exchange("/api/v1/bookings", token(TokenType.REFRESH, SECRET, Duration.ofDays(7)));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(forwarded).isNull();
+    }
+
+    private static MockServerWebExchange exchange(String path, String token) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path)
+            .cookie(new HttpCookie("Theme", "dark"), new HttpCookie(TokenType.ACCESS.cookieName, token),
+                new HttpCookie("Locale", "es")));
+    }
+
+    private static String token(TokenType type, String secret, Duration validFor) {
+        return Jwts.builder()
+            .claim("roles", List.of("ROLE_USER"))
+            .claim("type", type.name())
+            .subject(EMAIL)
+            .expiration(new Date(System.currentTimeMillis() + validFor.toMillis()))
+            .signWith(new SecretKeySpec(secret.getBytes(), "HmacSHA256"))
+            .compact();
+    }
+}
@@ -0,0 +1,83 @@
+package com.skyapartments.booking.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.skyapartments.booking.service.EmailService;
+import com.skyapartments.booking.service.EmailTemplate;
+
+/**
+ * Compares rendering the booking emails with String.format against the precompiled templates.
+ * Run with: java -jar target/benchmarks.jar EmailTemplateBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    @Param({"CONFIRMATION", "UPDATE", "CANCELLATION", "CHECK_IN_REMINDER"})
+    public String template;
+
+    private String format;
+    private EmailTemplate compiled;
+    private Object[] args;
+
+    @Setup
+    public void setUp() {
+        switch (template) {
+            case "CONFIRMATION" -> format = EmailService.CONFIRMATION_TEMPLATE;
+            case "UPDATE" -> format = EmailService.UPDATE_TEMPLATE;
+            case "CANCELLATION" -> format = EmailService.CANCELLATION_TEMPLATE;
+            default -> format = EmailService.CHECK_IN_REMINDER_TEMPLATE;
+        }
+        compiled = EmailTemplate.compile(format);
+
+        LocalDate start = LocalDate.now().plusDays(1);
+        Object[] common = {"Jane Doe", 1234L, "Sky Loft Gran Via", start, start.plusDays(4), 2};
+        if (template.equals("CONFIRMATION") || template.equals("UPDATE")) {
+            args = new Object[] {common[0], common[1], common[2], common[3], common[4], common[5],
+                "CONFIRMED", new BigDecimal("480.50")};
+        } else {
+            args = common;
+        }
+    }
+
+    @Benchmark
+    public String stringFormat() {
+        return String.format(format, args);
+    }
+
+    @Benchmark
+    public String precompiled() {
+        return compiled.render(args);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(EmailTemplateBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
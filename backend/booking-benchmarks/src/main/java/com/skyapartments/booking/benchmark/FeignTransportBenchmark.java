@@ -0,0 +1,99 @@
+package com.skyapartments.booking.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.skyapartments.common.feign.FeignTransportConfig;
+import com.sun.net.httpserver.HttpServer;
+
+import feign.Client;
+import feign.Feign;
+import feign.RequestLine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Latency of a Feign call to a local stub server returning an apartment, with the default JDK
+ * transport and with the pooled OkHttp transport of FeignTransportConfig. Sample mode reports the
+ * percentiles; compare p0.99 under the concurrency of a busy service.
+ * Run with: java -jar target/benchmarks.jar FeignTransportBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(16)
+@Fork(1)
+public class FeignTransportBenchmark {
+
+    private static final byte[] APARTMENT = ("{\"id\":42,\"title\":\"Sky Loft Gran Via\",\"description\":\"" + "x".repeat(1500)
+        + "\",\"price\":120.00,\"capacity\":4,\"services\":[\"WIFI\",\"AIR_CONDITIONING\",\"KITCHEN\"]}")
+        .getBytes(StandardCharsets.UTF_8);
+
+    public interface StubClient {
+
+        @RequestLine("GET /api/v1/apartments/42")
+        String getApartment();
+    }
+
+    @Param({"jdk", "pooled"})
+    public String transport;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private StubClient client;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        server.createContext("/", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, APARTMENT.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(APARTMENT);
+            }
+        });
+        serverThreads = Executors.newFixedThreadPool(32);
+        server.setExecutor(serverThreads);
+        server.start();
+
+        // Defaults of feign.transport.*, except h2c: the JDK stub server does not speak HTTP/2
+        Client transportClient = transport.equals("pooled")
+            ? FeignTransportConfig.pooledClient("benchmark", 20, Duration.ofMinutes(5), 64, false, new SimpleMeterRegistry())
+            : new Client.Default(null, null);
+        client = Feign.builder()
+            .client(transportClient)
+            .target(StubClient.class, "http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Benchmark
+    public String getApartment() {
+        return client.getApartment();
+    }
+}
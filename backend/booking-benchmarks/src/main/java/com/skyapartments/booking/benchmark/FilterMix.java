@@ -0,0 +1,46 @@
+package com.skyapartments.booking.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.skyapartments.booking.model.ConditionType;
+import com.skyapartments.booking.model.DateType;
+import com.skyapartments.booking.model.Filter;
+
+/**
+ * Kinds of pricing filters the benchmarks are run against. Filters are built around the
+ * benchmarked stay so that most of them apply to it and their adjustments are really computed.
+ */
+public enum FilterMix {
+
+    EVERY_DAY,
+    DATE_RANGE_WEEK_DAYS,
+    LONG_STAY,
+    LAST_MINUTE;
+
+    private static final String[] WEEK_DAYS = {"5,6,7", "1,2,3,4", "6,7", "1,2,3,4,5,6,7"};
+
+    public List<Filter> filters(int count, LocalDate checkIn, LocalDate checkOut) {
+        List<Filter> filters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = i + 1L;
+            BigDecimal value = BigDecimal.valueOf(5 + i % 20);
+            boolean increment = i % 2 == 0;
+            Filter filter = switch (this) {
+                case EVERY_DAY -> new Filter(id, "Every day " + id, null, true, increment, value,
+                    DateType.EVERY_DAY, null, null, null, ConditionType.NONE, null, null);
+                case DATE_RANGE_WEEK_DAYS -> new Filter(id, "Season " + id, null, true, increment, value,
+                    DateType.DATE_RANGE_WEEK_DAYS, checkIn.minusDays(i % 30), checkOut.plusDays(i % 30),
+                    WEEK_DAYS[i % WEEK_DAYS.length], ConditionType.NONE, null, null);
+                case LONG_STAY -> new Filter(id, "Long stay " + id, null, true, false, value,
+                    DateType.EVERY_DAY, null, null, null, ConditionType.LONG_STAY, null, 1 + i % 7);
+                case LAST_MINUTE -> new Filter(id, "Last minute " + id, null, true, false, value,
+                    DateType.EVERY_DAY, null, null, null, ConditionType.LAST_MINUTE, 48 + i % 48, null);
+            };
+            filters.add(filter);
+        }
+        return filters;
+    }
+}
@@ -0,0 +1,62 @@
+package com.skyapartments.booking.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import com.skyapartments.security.jwt.JwtTokenProvider;
+import com.skyapartments.security.jwt.ValidatedTokenCache;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Validates the same access token on every request, as the JWT filter does for a logged in user,
+ * with and without the validated token cache.
+ * Run with: java -jar target/benchmarks.jar JwtValidationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "Xv5s7JxGg9YhQwD8M1lA0VhG7yJrL6hE9F1N8KxV2bW3ZpQxUsyR7Cj4KsE8YfHd";
+
+    private JwtTokenProvider uncached;
+    private JwtTokenProvider cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = new JwtTokenProvider(SECRET);
+        cached = new JwtTokenProvider(SECRET, new ValidatedTokenCache(10_000));
+        token = uncached.generateAccessToken(
+            new User("jane@example.com", "", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @Benchmark
+    public Claims verifyEveryTime() {
+        return uncached.validateToken(token);
+    }
+
+    @Benchmark
+    public Claims cachedValidation() {
+        return cached.validateToken(token);
+    }
+}
@@ -0,0 +1,124 @@
+package com.skyapartments.booking.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.skyapartments.booking.dto.FiltersByDateResponseDTO;
+import com.skyapartments.booking.model.Filter;
+import com.skyapartments.booking.repository.FilterRepository;
+import com.skyapartments.booking.service.FilterService;
+import com.skyapartments.booking.service.PricingEngine;
+
+/**
+ * Pricing hot path of the booking service, measured per stay:
+ * <ul>
+ *   <li>calculateCost: what BookingService.calculateCost runs for every booking and update.</li>
+ *   <li>isApplicableOnDate / meetsCondition: the per-filter checks, for every night of the stay.</li>
+ *   <li>getApplicableFiltersByDate: the nightly filter breakdown served to the frontend.</li>
+ * </ul>
+ * The filter repository is an in-memory stub, so only the pricing code is measured.
+ * Run with: java -jar target/benchmarks.jar PricingBenchmark [-p filterCount=100 -p nights=7]
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingBenchmark {
+
+    private static final BigDecimal BASE_PRICE = new BigDecimal("120.00");
+
+    @Param({"1", "10", "100", "500"})
+    public int filterCount;
+
+    @Param({"1", "7", "30", "90"})
+    public int nights;
+
+    @Param
+    public FilterMix mix;
+
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+    private List<Filter> filters;
+    private PricingEngine pricingEngine;
+    private FilterService filterService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Tomorrow, so LAST_MINUTE filters are within their anticipation window
+        checkIn = LocalDate.now().plusDays(1);
+        checkOut = checkIn.plusDays(nights);
+        filters = mix.filters(filterCount, checkIn, checkOut);
+
+        FilterRepository filterRepository = inMemoryRepository(filters);
+        pricingEngine = new PricingEngine(filterRepository);
+        filterService = new FilterService(filterRepository, pricingEngine);
+        // Compile the rules once, as a running service would have
+        pricingEngine.currentRules();
+    }
+
+    @Benchmark
+    public BigDecimal calculateCost() {
+        return pricingEngine.calculateCost(BASE_PRICE, checkIn, checkOut);
+    }
+
+    @Benchmark
+    public int isApplicableOnDate() {
+        int matches = 0;
+        for (LocalDate night = checkIn; night.isBefore(checkOut); night = night.plusDays(1)) {
+            for (Filter filter : filters) {
+                if (filter.isApplicableOnDate(night)) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int meetsCondition() {
+        int matches = 0;
+        for (LocalDate night = checkIn; night.isBefore(checkOut); night = night.plusDays(1)) {
+            for (Filter filter : filters) {
+                if (filter.meetsCondition(checkIn, checkOut)) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public FiltersByDateResponseDTO getApplicableFiltersByDate() {
+        return filterService.getApplicableFiltersByDate(checkIn, checkOut);
+    }
+
+    // Only the queries used by pricing are answered; anything else fails loudly
+    private static FilterRepository inMemoryRepository(List<Filter> filters) {
+        return (FilterRepository) Proxy.newProxyInstance(
+            FilterRepository.class.getClassLoader(),
+            new Class<?>[] {FilterRepository.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "findByActivatedTrueOrderByIdAsc", "findByActivatedTrue" -> filters;
+                case "toString" -> "InMemoryFilterRepository";
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.context.annotation.Configuration;
 
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
+import io.micrometer.tracing.Span;
 import io.micrometer.tracing.Tracer;
 import io.micrometer.tracing.propagation.Propagator;
 
@@ -23,7 +24,11 @@ public class FeignTracingConfig {
     public RequestInterceptor feignRequestInterceptor() {
         return requestTemplate -> {
             // Inyecta el contexto de tracing actual en los headers
-            propagator.inject(tracer.currentSpan().context(), requestTemplate, RequestTemplate::header);
+            Span span = tracer.currentSpan();
+            // Background threads (e.g. availability notifications) run without a span
+            if (span != null) {
+                propagator.inject(span.context(), requestTemplate, RequestTemplate::header);
+            }
         };
     }
 }
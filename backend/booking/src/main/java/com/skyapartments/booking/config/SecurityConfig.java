@@ -11,8 +11,8 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
-import com.skyapartments.booking.security.jwt.JwtRequestFilter;
-import com.skyapartments.booking.security.jwt.UnauthorizedHandlerJwt;
+import com.skyapartments.security.jwt.JwtRequestFilter;
+import com.skyapartments.security.jwt.UnauthorizedHandlerJwt;
 
 @Configuration
 public class SecurityConfig {
@@ -41,6 +41,9 @@ public class SecurityConfig {
                 .requestMatchers("/api/v1/bookings/private/**").permitAll()
 
                 // PRIVATE ENDPOINTS
+                .requestMatchers(HttpMethod.GET, "/api/v1/bookings/export").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/v1/bookings/import").hasRole("ADMIN")
+                .requestMatchers("/api/v1/bookings/stats", "/api/v1/bookings/stats/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/v1/bookings/user/*").hasAnyRole("USER", "ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/v1/bookings/apartment/*").hasAnyRole("ADMIN")
                 .requestMatchers(HttpMethod.POST, "/api/v1/bookings").hasRole("USER")
@@ -0,0 +1,66 @@
+package com.skyapartments.booking.controller;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.skyapartments.booking.dto.BookingImportResultDTO;
+import com.skyapartments.booking.exception.BusinessValidationException;
+import com.skyapartments.booking.service.BookingBulkService;
+import com.skyapartments.booking.service.BookingBulkService.Format;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Request and response bodies are streamed, never held in memory as a whole
+@RestController
+@RequestMapping("/api/v1/bookings")
+public class BookingBulkController {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final BookingBulkService bookingBulkService;
+
+    public BookingBulkController(BookingBulkService bookingBulkService) {
+        this.bookingBulkService = bookingBulkService;
+    }
+
+    @GetMapping("/export")
+    public void exportBookings(
+            @Parameter(description = "ndjson (default) or csv") @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+
+        Format exportFormat = parseFormat(format);
+        response.setContentType(exportFormat == Format.CSV ? TEXT_CSV_VALUE : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"bookings." + exportFormat.name().toLowerCase(Locale.ROOT) + "\"");
+        bookingBulkService.export(exportFormat, response.getOutputStream());
+    }
+
+    @PostMapping(value = "/import", consumes = { MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE })
+    public ResponseEntity<BookingImportResultDTO> importBookings(HttpServletRequest request) throws IOException {
+        Format format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))
+            ? Format.CSV
+            : Format.NDJSON;
+        BookingImportResultDTO result = bookingBulkService.importBookings(format, request.getInputStream());
+        return ResponseEntity.ok(result);
+    }
+
+    private static Format parseFormat(String format) {
+        try {
+            return Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessValidationException("Unsupported format " + format + ", expected ndjson or csv");
+        }
+    }
+}
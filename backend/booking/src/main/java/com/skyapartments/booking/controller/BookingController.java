@@ -1,6 +1,7 @@
 package com.skyapartments.booking.controller;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 
@@ -8,10 +9,10 @@ import java.net.URI;
 
 import static org.springframework.web.servlet.support.ServletUriComponentsBuilder.fromCurrentRequest;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,13 +20,22 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.skyapartments.booking.dto.BookedRangeDTO;
+import com.skyapartments.booking.dto.BookingCursor;
 import com.skyapartments.booking.dto.BookingDTO;
 import com.skyapartments.booking.dto.BookingRequestDTO;
+import com.skyapartments.booking.dto.PriceCalendarDTO;
+import com.skyapartments.booking.dto.QuoteDTO;
+import com.skyapartments.booking.dto.QuoteRequestDTO;
 import com.skyapartments.booking.service.BookingService;
+import com.skyapartments.booking.service.IdempotencyCache;
+import com.skyapartments.booking.service.PriceCalendarService;
+import com.skyapartments.common.http.IdBitmapHttpMessageConverter;
 
 import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -36,55 +46,101 @@ import jakarta.validation.Valid;
 @RequestMapping("/api/v1/bookings")
 public class BookingController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
+    private final PriceCalendarService priceCalendarService;
+    private final IdempotencyCache idempotencyCache;
 
-    public BookingController (BookingService bookingService) {
+    public BookingController (BookingService bookingService, PriceCalendarService priceCalendarService, IdempotencyCache idempotencyCache) {
         this.bookingService = bookingService;
+        this.priceCalendarService = priceCalendarService;
+        this.idempotencyCache = idempotencyCache;
     }
 
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<BookingDTO>> getBookingsByUserId(
         @PathVariable Long userId,
-        @Parameter(description = "Number of page. Default 0 (first page)") @RequestParam(defaultValue = "0") int page,
+        @Parameter(description = "Number of page. Default 0 (first page). Ignored when a cursor is given") @RequestParam(defaultValue = "0") int page,
         @Parameter(description = "Number of apartments per page") @RequestParam(defaultValue = "10") int pageSize,
+        @Parameter(description = "X-Next-Cursor header of the previous page") @RequestParam(required = false) String cursor,
         HttpServletRequest request) {
 
         String userEmail = request.getUserPrincipal().getName();
-        Pageable pageable = PageRequest.of(page, pageSize);
 
-        Page<BookingDTO> bookings = bookingService.getBookingsByUserId(userId, pageable, userEmail);
-        
-        if (bookings.isEmpty()) {
-            return ResponseEntity.noContent().build();
-        }
-        return ResponseEntity.ok(bookings.getContent());
+        Slice<BookingDTO> bookings = cursor == null
+            ? bookingService.getBookingsByUserId(userId, PageRequest.of(page, pageSize), userEmail)
+            : bookingService.getBookingsByUserId(userId, BookingCursor.decode(cursor), pageSize, userEmail);
+        return toResponse(bookings);
     }
 
     @GetMapping("/apartment/{apartmentId}")
     public ResponseEntity<List<BookingDTO>> getBookingsByApartmentId(
         @PathVariable Long apartmentId,
-        @Parameter(description = "Number of page. Default 0 (first page)") @RequestParam(defaultValue = "0") int page,
-        @Parameter(description = "Number of apartments per page") @RequestParam(defaultValue = "10") int pageSize) {
-        
-        Pageable pageable = PageRequest.of(page, pageSize);
+        @Parameter(description = "Number of page. Default 0 (first page). Ignored when a cursor is given") @RequestParam(defaultValue = "0") int page,
+        @Parameter(description = "Number of apartments per page") @RequestParam(defaultValue = "10") int pageSize,
+        @Parameter(description = "X-Next-Cursor header of the previous page") @RequestParam(required = false) String cursor) {
+
+        Slice<BookingDTO> bookings = cursor == null
+            ? bookingService.getBookingsByApartmentId(apartmentId, PageRequest.of(page, pageSize))
+            : bookingService.getBookingsByApartmentId(apartmentId, BookingCursor.decode(cursor), pageSize);
+        return toResponse(bookings);
+    }
 
-        Page<BookingDTO> bookings = bookingService.getBookingsByApartmentId(apartmentId, pageable);
+    /*
+     * When there are more bookings, X-Next-Cursor points right after the last one returned.
+     * Following it costs the same at any depth, unlike growing page numbers.
+     */
+    private static ResponseEntity<List<BookingDTO>> toResponse(Slice<BookingDTO> bookings) {
         if (bookings.isEmpty()) {
             return ResponseEntity.noContent().build();
         }
-        return ResponseEntity.ok(bookings.getContent());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bookings.hasNext()) {
+            BookingDTO last = bookings.getContent().get(bookings.getNumberOfElements() - 1);
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.after(last).encode());
+        }
+        return response.body(bookings.getContent());
+    }
+
+    @GetMapping("/apartment/{apartmentId}/calendar")
+    public ResponseEntity<PriceCalendarDTO> getPriceCalendar(
+            @PathVariable Long apartmentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        PriceCalendarDTO calendar = priceCalendarService.getCalendar(apartmentId, startDate, endDate);
+        return ResponseEntity.ok(calendar);
     }
 
     @PostMapping
-    public ResponseEntity<BookingDTO> createBooking(@Valid @RequestBody BookingRequestDTO booking, HttpServletRequest request) {
+    public ResponseEntity<BookingDTO> createBooking(
+            @Valid @RequestBody BookingRequestDTO booking,
+            @Parameter(description = "Client generated key; retries with the same key return the original booking")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            HttpServletRequest request) {
         String userEmail = request.getUserPrincipal().getName();
-        BookingDTO newBooking = bookingService.createBooking(booking, userEmail);
+        BookingDTO newBooking;
+        if (idempotencyKey == null) {
+            newBooking = bookingService.createBooking(booking, userEmail);
+        } else {
+            List<Object> fingerprint = Arrays.asList(booking.getUserId(), booking.getApartmentId(),
+                booking.getStartDate(), booking.getEndDate(), booking.getGuests());
+            newBooking = idempotencyCache.execute(userEmail, idempotencyKey, fingerprint,
+                () -> bookingService.createBooking(booking, userEmail));
+        }
 
         URI location = fromCurrentRequest().path("/{id}").buildAndExpand(newBooking.getId()).toUri();
 
         return ResponseEntity.created(location).body(newBooking);
     }
 
+    @PostMapping("/quotes")
+    public ResponseEntity<List<QuoteDTO>> getQuotes(@RequestBody List<QuoteRequestDTO> quoteRequests) {
+        List<QuoteDTO> quotes = bookingService.getQuotes(quoteRequests);
+        return ResponseEntity.ok(quotes);
+    }
+
     @DeleteMapping("/{bookingId}")
     public ResponseEntity<BookingDTO> cancelBooking(@PathVariable Long bookingId, HttpServletRequest request) {
         String userEmail = request.getUserPrincipal().getName();
@@ -104,7 +160,9 @@ public class BookingController {
         return ResponseEntity.ok(updatedBooking);
     }
 
-    @GetMapping("/private/unavailable")
+    // JSON by default; callers asking for the id bitmap get the compact binary form
+    @GetMapping(value = "/private/unavailable",
+        produces = { MediaType.APPLICATION_JSON_VALUE, IdBitmapHttpMessageConverter.MEDIA_TYPE_VALUE })
     @Hidden
     public Set<Long> findUnavailableApartments(
             @RequestParam LocalDate startDate,
@@ -113,6 +171,13 @@ public class BookingController {
         return bookingService.getUnavailableApartments(startDate, endDate);
     }
 
+    // Snapshot of current and future stays, loaded by the apartment service's calendar
+    @GetMapping("/private/booked-ranges")
+    @Hidden
+    public List<BookedRangeDTO> getBookedRanges() {
+        return bookingService.getBookedRanges();
+    }
+
     @Hidden
     @GetMapping("/private/active/user/{userId}/apartment/{apartmentId}")
     public ResponseEntity<List<BookingDTO>> getActiveBookingsByUserAndApartment(
@@ -132,6 +197,5 @@ public class BookingController {
         Boolean hasBookings = bookingService.hasBookings(apartmentId);
         return ResponseEntity.ok(hasBookings);
     }
-    
-}
 
+}
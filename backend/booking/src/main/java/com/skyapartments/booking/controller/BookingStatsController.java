@@ -0,0 +1,65 @@
+package com.skyapartments.booking.controller;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.skyapartments.booking.dto.StayStatsReportDTO;
+import com.skyapartments.booking.exception.BusinessValidationException;
+import com.skyapartments.booking.service.StayStatistics;
+import com.skyapartments.booking.service.StayStatistics.Granularity;
+
+import io.swagger.v3.oas.annotations.Parameter;
+
+@RestController
+@RequestMapping("/api/v1/bookings/stats")
+public class BookingStatsController {
+
+    private final StayStatistics stayStatistics;
+
+    public BookingStatsController(StayStatistics stayStatistics) {
+        this.stayStatistics = stayStatistics;
+    }
+
+    @GetMapping
+    public ResponseEntity<StayStatsReportDTO> getStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "day (default) or month") @RequestParam(defaultValue = "day") String granularity) {
+
+        return ResponseEntity.ok(stayStatistics.report(null, startDate, endDate, parseGranularity(granularity)));
+    }
+
+    @GetMapping("/apartment/{apartmentId}")
+    public ResponseEntity<StayStatsReportDTO> getApartmentStats(
+            @PathVariable Long apartmentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "day (default) or month") @RequestParam(defaultValue = "day") String granularity) {
+
+        return ResponseEntity.ok(stayStatistics.report(apartmentId, startDate, endDate, parseGranularity(granularity)));
+    }
+
+    // Recomputes the figures from the booking table, e.g. after bookings were changed directly in the database
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuildStats() {
+        stayStatistics.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+
+    private static Granularity parseGranularity(String granularity) {
+        try {
+            return Granularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessValidationException("Unsupported granularity " + granularity + ", expected day or month");
+        }
+    }
+}
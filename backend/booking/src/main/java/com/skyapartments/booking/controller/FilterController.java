@@ -96,7 +96,9 @@ public class FilterController {
     @GetMapping("/applicable")
     public ResponseEntity<?> getApplicableFilters(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @Parameter(description = "'nights' lists the filters of every night; 'ranges' lists each filter once with the nights it covers")
+            @RequestParam(defaultValue = "nights") String view) {
         
         // Validations
         if (checkIn.isAfter(checkOut) || checkIn.isEqual(checkOut)) {
@@ -109,6 +111,14 @@ public class FilterController {
                 .body("Check-in date cannot be in the past");
         }
         
+        if (view.equals("ranges")) {
+            return ResponseEntity.ok(filterService.getApplicableFilterRanges(checkIn, checkOut));
+        }
+        if (!view.equals("nights")) {
+            return ResponseEntity.badRequest()
+                .body("View must be 'nights' or 'ranges'");
+        }
+
         FiltersByDateResponseDTO response = filterService.getApplicableFiltersByDate(checkIn, checkOut);
         return ResponseEntity.ok(response);
     }
@@ -0,0 +1,51 @@
+package com.skyapartments.booking.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import com.skyapartments.booking.exception.BusinessValidationException;
+
+/**
+ * Position in a booking history sorted by start date and id, newest first. Clients get it as an
+ * opaque string and send it back to read the bookings that come after it.
+ */
+public final class BookingCursor {
+
+    private final LocalDate startDate;
+    private final Long id;
+
+    public BookingCursor(LocalDate startDate, Long id) {
+        this.startDate = startDate;
+        this.id = id;
+    }
+
+    public static BookingCursor after(BookingDTO booking) {
+        return new BookingCursor(booking.getStartDate(), booking.getId());
+    }
+
+    public static BookingCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            return new BookingCursor(LocalDate.ofEpochDay(Long.parseLong(parts[0])), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new BusinessValidationException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String value = startDate.toEpochDay() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
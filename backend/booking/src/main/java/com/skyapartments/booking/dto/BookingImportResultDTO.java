@@ -0,0 +1,37 @@
+package com.skyapartments.booking.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingImportResultDTO {
+
+    // Only the first rejections are described, so a bad file cannot fill the response
+    public static final int MAX_ERRORS = 100;
+
+    private long imported;
+    private long rejected;
+    private List<String> errors = new ArrayList<>();
+
+    public void addImported(int count) {
+        imported += count;
+    }
+
+    public void reject(long line, String reason) {
+        rejected++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add("Line " + line + ": " + reason);
+        }
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
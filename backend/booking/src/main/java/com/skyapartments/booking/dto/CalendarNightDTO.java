@@ -0,0 +1,32 @@
+package com.skyapartments.booking.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class CalendarNightDTO {
+
+    private LocalDate date;
+    private BigDecimal price;
+    private boolean available;
+
+    public CalendarNightDTO() {
+    }
+
+    public CalendarNightDTO(LocalDate date, BigDecimal price, boolean available) {
+        this.date = date;
+        this.price = price;
+        this.available = available;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+}
@@ -0,0 +1,25 @@
+package com.skyapartments.booking.dto;
+
+import java.util.List;
+
+public class FilterNightRangesDTO {
+
+    private FilterDTO filter;
+    private List<NightRangeDTO> nights;
+
+    public FilterNightRangesDTO() {
+    }
+
+    public FilterNightRangesDTO(FilterDTO filter, List<NightRangeDTO> nights) {
+        this.filter = filter;
+        this.nights = nights;
+    }
+
+    public FilterDTO getFilter() {
+        return filter;
+    }
+
+    public List<NightRangeDTO> getNights() {
+        return nights;
+    }
+}
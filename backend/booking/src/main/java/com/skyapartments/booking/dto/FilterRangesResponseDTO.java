@@ -0,0 +1,43 @@
+package com.skyapartments.booking.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Compact alternative to {@link FiltersByDateResponseDTO}: each applicable filter appears
+ * once, with the night ranges of the stay it applies to.
+ */
+public class FilterRangesResponseDTO {
+
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private int totalNights;
+    private List<FilterNightRangesDTO> filters;
+
+    public FilterRangesResponseDTO() {
+    }
+
+    public FilterRangesResponseDTO(LocalDate checkInDate, LocalDate checkOutDate,
+                                   int totalNights, List<FilterNightRangesDTO> filters) {
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.totalNights = totalNights;
+        this.filters = filters;
+    }
+
+    public LocalDate getCheckInDate() {
+        return checkInDate;
+    }
+
+    public LocalDate getCheckOutDate() {
+        return checkOutDate;
+    }
+
+    public int getTotalNights() {
+        return totalNights;
+    }
+
+    public List<FilterNightRangesDTO> getFilters() {
+        return filters;
+    }
+}
@@ -0,0 +1,26 @@
+package com.skyapartments.booking.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class NightPriceDTO {
+
+    private LocalDate date;
+    private BigDecimal price;
+
+    public NightPriceDTO() {
+    }
+
+    public NightPriceDTO(LocalDate date, BigDecimal price) {
+        this.date = date;
+        this.price = price;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+}
@@ -0,0 +1,26 @@
+package com.skyapartments.booking.dto;
+
+import java.time.LocalDate;
+
+public class NightRangeDTO {
+
+    // First and last night of the range, both included
+    private LocalDate from;
+    private LocalDate to;
+
+    public NightRangeDTO() {
+    }
+
+    public NightRangeDTO(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+}
@@ -0,0 +1,38 @@
+package com.skyapartments.booking.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class PriceCalendarDTO {
+
+    private Long apartmentId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<CalendarNightDTO> nights;
+
+    public PriceCalendarDTO() {
+    }
+
+    public PriceCalendarDTO(Long apartmentId, LocalDate startDate, LocalDate endDate, List<CalendarNightDTO> nights) {
+        this.apartmentId = apartmentId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.nights = nights;
+    }
+
+    public Long getApartmentId() {
+        return apartmentId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public List<CalendarNightDTO> getNights() {
+        return nights;
+    }
+}
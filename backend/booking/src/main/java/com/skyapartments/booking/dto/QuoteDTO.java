@@ -0,0 +1,51 @@
+package com.skyapartments.booking.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class QuoteDTO {
+
+    private Long apartmentId;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+    private int totalNights;
+    private BigDecimal totalCost;
+    private List<NightPriceDTO> nights;
+
+    public QuoteDTO() {
+    }
+
+    public QuoteDTO(Long apartmentId, LocalDate checkIn, LocalDate checkOut, BigDecimal totalCost, List<NightPriceDTO> nights) {
+        this.apartmentId = apartmentId;
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+        this.totalNights = nights.size();
+        this.totalCost = totalCost;
+        this.nights = nights;
+    }
+
+    public Long getApartmentId() {
+        return apartmentId;
+    }
+
+    public LocalDate getCheckIn() {
+        return checkIn;
+    }
+
+    public LocalDate getCheckOut() {
+        return checkOut;
+    }
+
+    public int getTotalNights() {
+        return totalNights;
+    }
+
+    public BigDecimal getTotalCost() {
+        return totalCost;
+    }
+
+    public List<NightPriceDTO> getNights() {
+        return nights;
+    }
+}
@@ -0,0 +1,43 @@
+package com.skyapartments.booking.dto;
+
+import java.time.LocalDate;
+
+public class QuoteRequestDTO {
+
+    private Long apartmentId;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    public QuoteRequestDTO() {
+    }
+
+    public QuoteRequestDTO(Long apartmentId, LocalDate checkIn, LocalDate checkOut) {
+        this.apartmentId = apartmentId;
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+    }
+
+    public Long getApartmentId() {
+        return apartmentId;
+    }
+
+    public void setApartmentId(Long apartmentId) {
+        this.apartmentId = apartmentId;
+    }
+
+    public LocalDate getCheckIn() {
+        return checkIn;
+    }
+
+    public void setCheckIn(LocalDate checkIn) {
+        this.checkIn = checkIn;
+    }
+
+    public LocalDate getCheckOut() {
+        return checkOut;
+    }
+
+    public void setCheckOut(LocalDate checkOut) {
+        this.checkOut = checkOut;
+    }
+}
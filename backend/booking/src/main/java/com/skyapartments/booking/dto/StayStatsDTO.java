@@ -0,0 +1,93 @@
+package com.skyapartments.booking.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Occupancy and revenue of a period, both dates included. The average daily rate is the revenue
+ * per booked night.
+ */
+public class StayStatsDTO {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private long availableNights;
+    private long bookedNights;
+    private BigDecimal occupancyRate;
+    private BigDecimal revenue;
+    private BigDecimal averageDailyRate;
+
+    public StayStatsDTO() {
+    }
+
+    public StayStatsDTO(LocalDate startDate, LocalDate endDate, long availableNights, long bookedNights, BigDecimal revenue) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.availableNights = availableNights;
+        this.bookedNights = bookedNights;
+        this.occupancyRate = availableNights == 0
+            ? BigDecimal.ZERO.setScale(4)
+            : BigDecimal.valueOf(bookedNights).divide(BigDecimal.valueOf(availableNights), 4, RoundingMode.HALF_UP);
+        this.revenue = revenue;
+        this.averageDailyRate = bookedNights == 0
+            ? BigDecimal.ZERO.setScale(2)
+            : revenue.divide(BigDecimal.valueOf(bookedNights), 2, RoundingMode.HALF_UP);
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public long getAvailableNights() {
+        return availableNights;
+    }
+
+    public void setAvailableNights(long availableNights) {
+        this.availableNights = availableNights;
+    }
+
+    public long getBookedNights() {
+        return bookedNights;
+    }
+
+    public void setBookedNights(long bookedNights) {
+        this.bookedNights = bookedNights;
+    }
+
+    public BigDecimal getOccupancyRate() {
+        return occupancyRate;
+    }
+
+    public void setOccupancyRate(BigDecimal occupancyRate) {
+        this.occupancyRate = occupancyRate;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    public BigDecimal getAverageDailyRate() {
+        return averageDailyRate;
+    }
+
+    public void setAverageDailyRate(BigDecimal averageDailyRate) {
+        this.averageDailyRate = averageDailyRate;
+    }
+}
@@ -0,0 +1,44 @@
+package com.skyapartments.booking.dto;
+
+import java.util.List;
+
+public class StayStatsReportDTO {
+
+    // Null when the report covers every apartment
+    private Long apartmentId;
+    private StayStatsDTO total;
+    private List<StayStatsDTO> periods;
+
+    public StayStatsReportDTO() {
+    }
+
+    public StayStatsReportDTO(Long apartmentId, StayStatsDTO total, List<StayStatsDTO> periods) {
+        this.apartmentId = apartmentId;
+        this.total = total;
+        this.periods = periods;
+    }
+
+    public Long getApartmentId() {
+        return apartmentId;
+    }
+
+    public void setApartmentId(Long apartmentId) {
+        this.apartmentId = apartmentId;
+    }
+
+    public StayStatsDTO getTotal() {
+        return total;
+    }
+
+    public void setTotal(StayStatsDTO total) {
+        this.total = total;
+    }
+
+    public List<StayStatsDTO> getPeriods() {
+        return periods;
+    }
+
+    public void setPeriods(List<StayStatsDTO> periods) {
+        this.periods = periods;
+    }
+}
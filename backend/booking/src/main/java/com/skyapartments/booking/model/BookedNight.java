@@ -0,0 +1,105 @@
+package com.skyapartments.booking.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+/**
+ * One night of an apartment held by a booking. The primary key (apartment_id, night) lets the
+ * database reject two bookings holding the same night.
+ */
+@Entity
+@Table(name = "booked_night", indexes = {
+    @Index(name = "idx_booked_night_booking", columnList = "booking_id")
+})
+public class BookedNight implements Persistable<BookedNight.Key> {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    // Ids are assigned, so tell Spring Data to persist instead of merging (which would select first)
+    @Transient
+    private boolean isNew = true;
+
+    public BookedNight() {
+    }
+
+    public BookedNight(Long apartmentId, LocalDate night, Long bookingId) {
+        this.id = new Key(apartmentId, night);
+        this.bookingId = bookingId;
+    }
+
+    @Override
+    public Key getId() {
+        return id;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Column(name = "apartment_id", nullable = false)
+        private Long apartmentId;
+
+        @Column(nullable = false)
+        private LocalDate night;
+
+        public Key() {
+        }
+
+        public Key(Long apartmentId, LocalDate night) {
+            this.apartmentId = apartmentId;
+            this.night = night;
+        }
+
+        public Long getApartmentId() {
+            return apartmentId;
+        }
+
+        public LocalDate getNight() {
+            return night;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return Objects.equals(apartmentId, other.apartmentId) && Objects.equals(night, other.night);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(apartmentId, night);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.skyapartments.booking.model;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    DEAD
+}
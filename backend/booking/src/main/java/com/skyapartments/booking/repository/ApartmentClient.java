@@ -1,14 +1,41 @@
 package com.skyapartments.booking.repository;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.skyapartments.booking.config.FeignTracingConfig;
 import com.skyapartments.booking.dto.ApartmentDTO;
+import com.skyapartments.booking.dto.BookedRangeDTO;
+import com.skyapartments.common.feign.FeignResilienceConfig;
+import com.skyapartments.common.feign.FeignTransportConfig;
 
-@FeignClient(name = "apartment", path = "/api/v1/apartments", configuration = FeignTracingConfig.class)
+@FeignClient(name = "apartment", path = "/api/v1/apartments", configuration = { FeignTracingConfig.class, FeignTransportConfig.class, FeignResilienceConfig.class })
 public interface ApartmentClient {
     @GetMapping("/{id}")
     ApartmentDTO getApartment(@PathVariable("id") Long apartmentId);
+
+    @GetMapping("/private/prices")
+    Map<Long, BigDecimal> getPrices(@RequestParam("ids") Set<Long> apartmentIds);
+
+    @GetMapping("/private/batch")
+    List<ApartmentDTO> getApartments(@RequestParam("ids") Set<Long> apartmentIds);
+
+    @GetMapping("/private/count")
+    long countApartments();
+
+    @PutMapping("/private/availability/{bookingId}")
+    void bookedRangeChanged(@PathVariable("bookingId") Long bookingId, @RequestBody BookedRangeDTO range);
+
+    @DeleteMapping("/private/availability/{bookingId}")
+    void bookedRangeReleased(@PathVariable("bookingId") Long bookingId);
 }
@@ -0,0 +1,27 @@
+package com.skyapartments.booking.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.skyapartments.booking.model.BookedNight;
+
+import jakarta.transaction.Transactional;
+
+@Repository
+public interface BookedNightRepository extends JpaRepository<BookedNight, BookedNight.Key> {
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM BookedNight n WHERE n.bookingId = :bookingId")
+    int deleteByBookingId(@Param("bookingId") Long bookingId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM booked_night WHERE night < :today LIMIT :limit", nativeQuery = true)
+    int deleteNightsBefore(@Param("today") LocalDate today, @Param("limit") int limit);
+}
@@ -4,24 +4,65 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.skyapartments.booking.dto.BookedRangeDTO;
 import com.skyapartments.booking.model.Booking;
 import com.skyapartments.booking.model.BookingState;
 
+import jakarta.transaction.Transactional;
+
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    Page<Booking> findByUserIdOrderByStartDateDesc(Long userId, Pageable pageable);
+    // Histories are read as slices (no count query), in the order the keyset queries below continue
+    Slice<Booking> findByUserIdOrderByStartDateDescIdDesc(Long userId, Pageable pageable);
 
-    Page<Booking> findByApartmentIdOrderByStartDateDesc(Long apartmentId, Pageable pageable);
+    Slice<Booking> findByApartmentIdOrderByStartDateDescIdDesc(Long apartmentId, Pageable pageable);
 
-    List<Booking> findByApartmentIdAndStateNot(Long apartmentId, BookingState state);
+    @Query("""
+        SELECT b
+        FROM Booking b
+        WHERE b.userId = :userId
+        AND (b.startDate < :startDate OR (b.startDate = :startDate AND b.id < :id))
+        ORDER BY b.startDate DESC, b.id DESC
+    """)
+    Slice<Booking> findByUserIdBefore(@Param("userId") Long userId,
+                                      @Param("startDate") LocalDate startDate,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+
+    @Query("""
+        SELECT b
+        FROM Booking b
+        WHERE b.apartmentId = :apartmentId
+        AND (b.startDate < :startDate OR (b.startDate = :startDate AND b.id < :id))
+        ORDER BY b.startDate DESC, b.id DESC
+    """)
+    Slice<Booking> findByApartmentIdBefore(@Param("apartmentId") Long apartmentId,
+                                           @Param("startDate") LocalDate startDate,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    @Query("""
+        SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END
+        FROM Booking b
+        WHERE b.apartmentId = :apartmentId
+        AND b.state <> 'CANCELLED'
+        AND b.startDate <= :endDate
+        AND b.endDate >= :startDate
+        AND (:excludedId IS NULL OR b.id <> :excludedId)
+    """)
+    boolean existsOverlapping(@Param("apartmentId") Long apartmentId,
+                              @Param("startDate") LocalDate startDate,
+                              @Param("endDate") LocalDate endDate,
+                              @Param("excludedId") Long excludedId);
 
     @Query("""
         SELECT b.apartmentId
@@ -33,7 +74,47 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Set<Long> findUnavailableApartments(@Param("startDate") LocalDate startDate,
                                         @Param("endDate") LocalDate endDate);
 
-    List<Booking> findByEndDateBeforeAndState(LocalDate today, BookingState state);
+    @Query("""
+        SELECT new com.skyapartments.booking.dto.BookedRangeDTO(b.id, b.apartmentId, b.startDate, b.endDate)
+        FROM Booking b
+        WHERE b.state <> 'CANCELLED'
+        AND b.endDate >= :today
+    """)
+    List<BookedRangeDTO> findBookedRangesEndingFrom(@Param("today") LocalDate today);
+
+    @Query("""
+        SELECT new com.skyapartments.booking.dto.BookedRangeDTO(b.id, b.apartmentId, b.startDate, b.endDate)
+        FROM Booking b
+        WHERE b.apartmentId = :apartmentId
+        AND b.state <> 'CANCELLED'
+        AND b.endDate >= :today
+    """)
+    List<BookedRangeDTO> findBookedRangesOfApartmentEndingFrom(@Param("apartmentId") Long apartmentId,
+                                                               @Param("today") LocalDate today);
+
+    /*
+     * Completes at most 'limit' ended bookings in one statement and its own transaction,
+     * so a large backlog is processed in bounded chunks without loading any entity.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        UPDATE booking
+        SET state = 'COMPLETED'
+        WHERE state = 'CONFIRMED'
+        AND end_date < :today
+        LIMIT :limit
+    """, nativeQuery = true)
+    int completeEndedBefore(@Param("today") LocalDate today, @Param("limit") int limit);
+
+    @Query("""
+        SELECT b
+        FROM Booking b
+        WHERE b.state = 'CONFIRMED'
+        AND b.endDate >= :today
+        AND NOT EXISTS (SELECT n FROM BookedNight n WHERE n.bookingId = b.id)
+    """)
+    List<Booking> findActiveWithoutBookedNights(@Param("today") LocalDate today);
 
     List<Booking> findByUserIdAndApartmentIdAndState(Long userId, Long apartmentId, BookingState cancelled);
 
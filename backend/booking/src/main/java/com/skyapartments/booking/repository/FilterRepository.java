@@ -3,7 +3,10 @@ package com.skyapartments.booking.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.skyapartments.booking.model.Filter;
 import java.util.List;
@@ -17,4 +20,18 @@ public interface FilterRepository extends JpaRepository<Filter, Long>{
     
     List<Filter> findByActivatedTrueOrderByIdAsc();
 
+    /**
+     * Version of the filters shared by all instances, see {@link #bumpPricingVersion()}.
+     */
+    @Query(value = "SELECT version FROM pricing_version WHERE id = 1", nativeQuery = true)
+    Long findPricingVersion();
+
+    /**
+     * Tells every instance that the filters changed and their compiled rules are stale.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE pricing_version SET version = version + 1 WHERE id = 1", nativeQuery = true)
+    int bumpPricingVersion();
+
 }
@@ -0,0 +1,62 @@
+package com.skyapartments.booking.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.skyapartments.booking.model.OutboxEmail;
+import com.skyapartments.booking.model.OutboxStatus;
+
+import jakarta.transaction.Transactional;
+
+@Repository
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+    @Query("""
+        SELECT e.id
+        FROM OutboxEmail e
+        WHERE e.status = 'PENDING'
+        AND e.nextAttemptAt <= :now
+        ORDER BY e.id
+    """)
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /*
+     * Takes a lease on a due email by pushing its next attempt forward. Only one caller
+     * can win it; if the worker dies the email becomes due again when the lease expires.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE OutboxEmail e
+        SET e.nextAttemptAt = :leaseUntil, e.attempts = e.attempts + 1
+        WHERE e.id = :id
+        AND e.status = 'PENDING'
+        AND e.nextAttemptAt <= :now
+    """)
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /*
+     * Records the outcome of an attempt. Every claim bumps the attempts, so the update only
+     * applies while the lease of that attempt is still the latest: a worker whose lease expired
+     * mid-send cannot overwrite the attempt that took the email over.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE OutboxEmail e
+        SET e.status = :status, e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError, e.sentDate = :sentDate
+        WHERE e.id = :id
+        AND e.attempts = :attempts
+        AND e.status = 'PENDING'
+    """)
+    int complete(@Param("id") Long id, @Param("attempts") int attempts, @Param("status") OutboxStatus status,
+                 @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("lastError") String lastError,
+                 @Param("sentDate") LocalDateTime sentDate);
+}
@@ -1,5 +1,8 @@
 package com.skyapartments.booking.repository;
 
+import java.util.List;
+import java.util.Set;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -7,8 +10,10 @@ import org.springframework.web.bind.annotation.RequestParam;
 
 import com.skyapartments.booking.config.FeignTracingConfig;
 import com.skyapartments.booking.dto.UserDTO;
+import com.skyapartments.common.feign.FeignResilienceConfig;
+import com.skyapartments.common.feign.FeignTransportConfig;
 
-@FeignClient(name = "user", path = "/api/v1/users/private", configuration = FeignTracingConfig.class)
+@FeignClient(name = "user", path = "/api/v1/users/private", configuration = { FeignTracingConfig.class, FeignTransportConfig.class, FeignResilienceConfig.class })
 public interface UserClient {
 
     @GetMapping
@@ -19,4 +24,7 @@ public interface UserClient {
 
     @GetMapping("/{id}")
     UserDTO getUser(@PathVariable("id") Long userId);
+
+    @GetMapping("/batch")
+    List<UserDTO> getUsers(@RequestParam("ids") Set<Long> userIds);
 }
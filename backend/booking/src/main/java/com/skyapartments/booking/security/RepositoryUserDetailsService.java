@@ -1,46 +0,0 @@
-package com.skyapartments.booking.security;
-
-import java.util.ArrayList;
-import java.util.List;
-
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.stereotype.Service;
-
-import com.skyapartments.booking.dto.UserDTO;
-import com.skyapartments.booking.repository.UserClient;
-
-@Service
-public class RepositoryUserDetailsService implements UserDetailsService {
-
-    @Autowired
-    private UserClient userClient;
-
-    @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        
-        UserDTO user = userClient.findByEmail(email);
-        if (user == null) {
-            throw new UsernameNotFoundException("User not found");
-        }
-
-        List<GrantedAuthority> roles = new ArrayList<>();
-        for (String role : user.getRoles()) {
-            String roleWithPrefix = "ROLE_" + role;
-            roles.add(new SimpleGrantedAuthority(roleWithPrefix));
-        }
-
-        UserDetails userDetails = new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                "",
-                roles
-        );
-        
-        return userDetails;
-    }
-}
-
@@ -0,0 +1,230 @@
+package com.skyapartments.booking.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.skyapartments.booking.dto.BookedRangeDTO;
+import com.skyapartments.booking.model.Booking;
+import com.skyapartments.booking.repository.BookingRepository;
+
+/**
+ * In-memory calendar of the stays of every apartment that have not ended yet, used to answer
+ * overlap checks with a floor lookup instead of scanning the apartment's history.
+ * Changes are applied only once the surrounding transaction commits.
+ *
+ * A free answer is trusted: stays booked meanwhile through another instance are caught by the
+ * night ledger, whose claim runs in the same transaction as the booking, and the caller reloads
+ * the calendar when it rejects. A busy answer is confirmed with a date-bounded query, since the
+ * stay may have been cancelled or moved elsewhere; a calendar found stale is reloaded. Calendars
+ * are also reloaded once older than max-age, which bounds how long the price calendar can show
+ * nights freed through another instance as unavailable.
+ */
+@Component
+public class AvailabilityIndex {
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private final BookingRepository bookingRepository;
+    private final long maxAgeNanos;
+    private final Map<Long, ApartmentCalendar> calendars = new ConcurrentHashMap<>();
+
+    public AvailabilityIndex(BookingRepository bookingRepository,
+                             @Value("${booking.availability-index.max-age:5m}") Duration maxAge) {
+        this.bookingRepository = bookingRepository;
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        Map<Long, ApartmentCalendar> loaded = new HashMap<>();
+        for (BookedRangeDTO range : bookingRepository.findBookedRangesEndingFrom(LocalDate.now())) {
+            loaded.computeIfAbsent(range.getApartmentId(), id -> new ApartmentCalendar()).put(range);
+        }
+        // Calendars loaded lazily while warming up are already current
+        loaded.forEach(calendars::putIfAbsent);
+    }
+
+    public boolean isAvailable(Long apartmentId, LocalDate startDate, LocalDate endDate) {
+        return isAvailable(apartmentId, startDate, endDate, null);
+    }
+
+    public boolean isAvailable(Long apartmentId, LocalDate startDate, LocalDate endDate, Long ignoredBookingId) {
+        if (!calendarOf(apartmentId).overlaps(startDate, endDate, ignoredBookingId)) {
+            return true;
+        }
+        if (bookingRepository.existsOverlapping(apartmentId, startDate, endDate, ignoredBookingId)) {
+            return false;
+        }
+        // The stay was cancelled or moved through another instance
+        reload(apartmentId);
+        return true;
+    }
+
+    /**
+     * Drops the apartment's calendar, which is loaded again from the database on next access.
+     */
+    public void reload(Long apartmentId) {
+        calendars.remove(apartmentId);
+    }
+
+    /**
+     * Forgets the stays that ended before the given day; no new stay can overlap them.
+     */
+    public void dropEndedBefore(LocalDate today) {
+        calendars.values().forEach(calendar -> calendar.removeEndedBefore(today));
+    }
+
+    /**
+     * Version of the apartment's calendar, changed by every stay registered or released.
+     */
+    public long getVersion(Long apartmentId) {
+        return calendarOf(apartmentId).version;
+    }
+
+    /**
+     * Marks the nights, counted from firstNight, on which a one-night stay would be rejected.
+     */
+    public BitSet unavailableNights(Long apartmentId, LocalDate firstNight, int nights) {
+        return calendarOf(apartmentId).unavailableNights(firstNight.toEpochDay(), nights);
+    }
+
+    public void register(Booking booking) {
+        Long apartmentId = booking.getApartmentId();
+        Stay stay = new Stay(booking.getId(), booking.getStartDate(), booking.getEndDate());
+        afterCommit(() -> calendarOf(apartmentId).put(stay));
+    }
+
+    public void release(Booking booking) {
+        Long apartmentId = booking.getApartmentId();
+        Long bookingId = booking.getId();
+        afterCommit(() -> calendarOf(apartmentId).remove(bookingId));
+    }
+
+    private ApartmentCalendar calendarOf(Long apartmentId) {
+        long now = System.nanoTime();
+        return calendars.compute(apartmentId, (id, calendar) -> {
+            if (calendar != null && now - calendar.loadedAt < maxAgeNanos) {
+                return calendar;
+            }
+            ApartmentCalendar loaded = new ApartmentCalendar();
+            bookingRepository.findBookedRangesOfApartmentEndingFrom(id, LocalDate.now()).forEach(loaded::put);
+            return loaded;
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class Stay {
+
+        private static final Comparator<Stay> ORDER = Comparator
+                .comparing((Stay stay) -> stay.startDate)
+                .thenComparing(stay -> stay.bookingId);
+
+        private final Long bookingId;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+
+        private Stay(Long bookingId, LocalDate startDate, LocalDate endDate) {
+            this.bookingId = bookingId;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+    }
+
+    private static final class ApartmentCalendar {
+
+        private final NavigableSet<Stay> stays = new TreeSet<>(Stay.ORDER);
+        private final Map<Long, Stay> staysById = new HashMap<>();
+        private final long loadedAt = System.nanoTime();
+        private volatile long version = VERSIONS.incrementAndGet();
+
+        synchronized void put(BookedRangeDTO range) {
+            put(new Stay(range.getBookingId(), range.getStartDate(), range.getEndDate()));
+        }
+
+        synchronized void put(Stay stay) {
+            if (stay.bookingId == null || stay.startDate == null || stay.endDate == null) {
+                return;
+            }
+            remove(stay.bookingId);
+            stays.add(stay);
+            staysById.put(stay.bookingId, stay);
+            version = VERSIONS.incrementAndGet();
+        }
+
+        synchronized void remove(Long bookingId) {
+            Stay previous = staysById.remove(bookingId);
+            if (previous != null) {
+                stays.remove(previous);
+                version = VERSIONS.incrementAndGet();
+            }
+        }
+
+        synchronized void removeEndedBefore(LocalDate today) {
+            if (stays.removeIf(stay -> stay.endDate.isBefore(today))) {
+                staysById.values().removeIf(stay -> stay.endDate.isBefore(today));
+                version = VERSIONS.incrementAndGet();
+            }
+        }
+
+        /*
+         * Stays never overlap each other, so the one starting last on or before endDate
+         * is also the one ending last among them: it is the only candidate to check.
+         */
+        synchronized boolean overlaps(LocalDate startDate, LocalDate endDate, Long ignoredBookingId) {
+            Stay probe = new Stay(Long.MAX_VALUE, endDate, endDate);
+            for (Stay stay : stays.headSet(probe, true).descendingSet()) {
+                if (stay.bookingId.equals(ignoredBookingId)) {
+                    continue;
+                }
+                return !stay.endDate.isBefore(startDate);
+            }
+            return false;
+        }
+
+        synchronized BitSet unavailableNights(long firstNight, int nights) {
+            long lastNight = firstNight + nights - 1;
+            BitSet unavailable = new BitSet(nights);
+            // A stay blocks check-in from the day before it starts up to its end date
+            Stay probe = new Stay(Long.MAX_VALUE, LocalDate.ofEpochDay(lastNight + 1), null);
+            for (Stay stay : stays.headSet(probe, true).descendingSet()) {
+                long end = stay.endDate.toEpochDay();
+                if (end < firstNight) {
+                    break;
+                }
+                long from = Math.max(stay.startDate.toEpochDay() - 1, firstNight);
+                long to = Math.min(end, lastNight);
+                if (from <= to) {
+                    unavailable.set((int) (from - firstNight), (int) (to - firstNight) + 1);
+                }
+            }
+            return unavailable;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.skyapartments.booking.service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.skyapartments.booking.dto.BookedRangeDTO;
+import com.skyapartments.booking.model.Booking;
+import com.skyapartments.booking.repository.ApartmentClient;
+
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes booked ranges to the apartment service, which keeps its own copy of the calendar
+ * for searches. Notifications leave after the transaction commits, one at a time and in
+ * order, so they never delay the booking request.
+ *
+ * A lost notification is not retried here: the apartment service periodically reloads the
+ * full snapshot from /private/booked-ranges.
+ */
+@Component
+public class AvailabilityNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityNotifier.class);
+
+    private final ApartmentClient apartmentClient;
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "availability-notifier");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AvailabilityNotifier(ApartmentClient apartmentClient) {
+        this.apartmentClient = apartmentClient;
+    }
+
+    public void booked(Booking booking) {
+        BookedRangeDTO range = new BookedRangeDTO(booking.getId(), booking.getApartmentId(),
+            booking.getStartDate(), booking.getEndDate());
+        afterCommit(() -> apartmentClient.bookedRangeChanged(range.getBookingId(), range));
+    }
+
+    public void released(Booking booking) {
+        Long bookingId = booking.getId();
+        afterCommit(() -> apartmentClient.bookedRangeReleased(bookingId));
+    }
+
+    private void afterCommit(Runnable notification) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(notification);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send(notification);
+            }
+        });
+    }
+
+    private void send(Runnable notification) {
+        sender.execute(() -> {
+            try {
+                notification.run();
+            } catch (Exception e) {
+                Metrics.counter("booking.availability.notify.failed").increment();
+                log.warn("Could not notify the apartment service of a booking change: {}", e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        sender.shutdown();
+        sender.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,434 @@
+package com.skyapartments.booking.service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.skyapartments.booking.dto.BookingImportResultDTO;
+import com.skyapartments.booking.dto.BookingRecordDTO;
+import com.skyapartments.booking.exception.BusinessValidationException;
+import com.skyapartments.booking.model.Booking;
+import com.skyapartments.booking.model.BookingState;
+
+/**
+ * Bulk export and import of bookings for administrators, as NDJSON or CSV.
+ *
+ * The export streams the booking table from the database cursor straight to the response, so its
+ * memory does not depend on the number of rows. The import reads its input line by line and writes
+ * it in chunks, each one in its own transaction with a single JDBC batch. Rows are checked like new
+ * bookings (dates and overlaps, also with earlier rows of the file); rejected rows are reported and
+ * skipped. The apartment service picks up imported stays on its next calendar reload.
+ */
+@Service
+public class BookingBulkService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final List<String> COLUMNS = List.of(
+        "id", "userId", "apartmentId", "startDate", "endDate", "cost", "state", "guests", "createdDate");
+
+    private static final String EXPORT_SQL = """
+        SELECT id, user_id, apartment_id, start_date, end_date, cost, state, guests, created_date
+        FROM booking
+        ORDER BY id
+        """;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO booking (user_id, apartment_id, start_date, end_date, cost, state, guests, created_date)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final String STAYS_OVERLAPPING_SQL = """
+        SELECT start_date, end_date
+        FROM booking
+        WHERE apartment_id = ? AND state <> 'CANCELLED' AND start_date <= ? AND end_date >= ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader recordReader;
+    private final ObjectWriter recordWriter;
+    private final AvailabilityIndex availabilityIndex;
+    private final NightLedger nightLedger;
+    private final StayStatistics stayStatistics;
+    private final int batchSize;
+
+    public BookingBulkService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                              AvailabilityIndex availabilityIndex, NightLedger nightLedger, StayStatistics stayStatistics,
+                              @Value("${booking.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recordReader = objectMapper.readerFor(BookingRecordDTO.class);
+        this.recordWriter = objectMapper.writerFor(BookingRecordDTO.class);
+        this.availabilityIndex = availabilityIndex;
+        this.nightLedger = nightLedger;
+        this.stayStatistics = stayStatistics;
+        this.batchSize = batchSize;
+    }
+
+    public void export(Format format, OutputStream output) throws IOException {
+        if (format == Format.CSV) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            writer.write(String.join(",", COLUMNS));
+            writer.write('\n');
+            streamRecords(record -> {
+                writer.write(toCsv(record));
+                writer.write('\n');
+            });
+            writer.flush();
+        } else {
+            OutputStream buffered = new BufferedOutputStream(output);
+            streamRecords(record -> {
+                buffered.write(recordWriter.writeValueAsBytes(record));
+                buffered.write('\n');
+            });
+            buffered.flush();
+        }
+    }
+
+    public BookingImportResultDTO importBookings(Format format, InputStream input) throws IOException {
+        BookingImportResultDTO result = new BookingImportResultDTO();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        Map<String, Integer> csvColumns = null;
+        if (format == Format.CSV) {
+            String header = reader.readLine();
+            if (header == null) {
+                return result;
+            }
+            lineNumber++;
+            csvColumns = parseHeader(header);
+        }
+
+        List<Row> chunk = new ArrayList<>(batchSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                BookingRecordDTO record = csvColumns != null ? fromCsv(line, csvColumns) : recordReader.readValue(line);
+                chunk.add(new Row(lineNumber, toBooking(record)));
+            } catch (BusinessValidationException e) {
+                result.reject(lineNumber, e.getMessage());
+            } catch (JsonProcessingException | DateTimeParseException | IllegalArgumentException e) {
+                result.reject(lineNumber, "Malformed booking");
+            }
+            if (chunk.size() == batchSize) {
+                write(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, result);
+        }
+        return result;
+    }
+
+    private void streamRecords(RecordConsumer consumer) throws IOException {
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                // Tells MySQL Connector/J to stream rows as they are read instead of buffering the whole result
+                statement.setFetchSize(Integer.MIN_VALUE);
+                return statement;
+            }, (ResultSet rows) -> {
+                try {
+                    consumer.accept(toRecord(rows));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /*
+     * Writes a chunk in one transaction. If a booking made meanwhile takes nights of the chunk, the
+     * whole transaction is rolled back, so the rows are written again one at a time to isolate it.
+     */
+    private void write(List<Row> chunk, BookingImportResultDTO result) {
+        try {
+            tally(transactionTemplate.execute(status -> insert(chunk)), chunk, result);
+        } catch (BusinessValidationException e) {
+            for (Row row : chunk) {
+                try {
+                    tally(transactionTemplate.execute(status -> insert(List.of(row))), List.of(row), result);
+                } catch (BusinessValidationException conflict) {
+                    result.reject(row.line, conflict.getMessage());
+                }
+            }
+        }
+    }
+
+    private static void tally(Integer inserted, List<Row> rows, BookingImportResultDTO result) {
+        result.addImported(inserted);
+        for (Row row : rows) {
+            if (row.rejection != null) {
+                result.reject(row.line, row.rejection);
+            }
+        }
+    }
+
+    private int insert(List<Row> rows) {
+        Map<Long, List<LocalDate[]>> stays = staysOf(rows);
+        List<Booking> accepted = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            row.rejection = overlaps(row.booking, stays) ? "The apartment is not available for the selected dates" : null;
+            if (row.rejection == null) {
+                accepted.add(row.booking);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement statement, int i) throws SQLException {
+                    Booking booking = accepted.get(i);
+                    statement.setLong(1, booking.getUserId());
+                    statement.setLong(2, booking.getApartmentId());
+                    statement.setObject(3, booking.getStartDate());
+                    statement.setObject(4, booking.getEndDate());
+                    statement.setBigDecimal(5, booking.getCost());
+                    statement.setString(6, booking.getState().name());
+                    statement.setInt(7, booking.getGuests());
+                    statement.setObject(8, booking.getCreatedDate());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return accepted.size();
+                }
+            }, keys);
+
+        LocalDate today = LocalDate.now();
+        StayStatistics.Changes statistics = new StayStatistics.Changes();
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < accepted.size(); i++) {
+            Booking booking = accepted.get(i);
+            booking.setId(((Number) generated.get(i).values().iterator().next()).longValue());
+            if (booking.getState() == BookingState.CANCELLED) {
+                continue;
+            }
+            // Same rule as the ledger backfill: only stays still running hold nights
+            if (booking.getState() == BookingState.CONFIRMED && !booking.getEndDate().isBefore(today)) {
+                nightLedger.claim(booking);
+            }
+            statistics.add(booking);
+            availabilityIndex.register(booking);
+        }
+        stayStatistics.apply(statistics);
+        return accepted.size();
+    }
+
+    /*
+     * Stored stays of each apartment of the chunk, between the first and the last date the chunk
+     * asks for: one query per apartment instead of one per row. A running stay committed after this
+     * read is caught by the night ledger claim, which rolls the chunk back.
+     */
+    private Map<Long, List<LocalDate[]>> staysOf(List<Row> rows) {
+        Map<Long, LocalDate[]> ranges = new HashMap<>();
+        for (Row row : rows) {
+            Booking booking = row.booking;
+            if (booking.getState() != BookingState.CANCELLED) {
+                ranges.merge(booking.getApartmentId(), new LocalDate[] { booking.getStartDate(), booking.getEndDate() },
+                    (range, other) -> new LocalDate[] { min(range[0], other[0]), max(range[1], other[1]) });
+            }
+        }
+        Map<Long, List<LocalDate[]>> stays = new HashMap<>();
+        ranges.forEach((apartmentId, range) -> stays.put(apartmentId, jdbcTemplate.query(STAYS_OVERLAPPING_SQL,
+            (stay, i) -> new LocalDate[] { stay.getObject(1, LocalDate.class), stay.getObject(2, LocalDate.class) },
+            apartmentId, range[1], range[0])));
+        return stays;
+    }
+
+    // Accepted rows join the stays, since earlier rows of the same chunk are not committed yet
+    private static boolean overlaps(Booking booking, Map<Long, List<LocalDate[]>> stays) {
+        if (booking.getState() == BookingState.CANCELLED) {
+            return false;
+        }
+        List<LocalDate[]> apartmentStays = stays.get(booking.getApartmentId());
+        for (LocalDate[] stay : apartmentStays) {
+            if (!stay[0].isAfter(booking.getEndDate()) && !stay[1].isBefore(booking.getStartDate())) {
+                return true;
+            }
+        }
+        apartmentStays.add(new LocalDate[] { booking.getStartDate(), booking.getEndDate() });
+        return false;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static Booking toBooking(BookingRecordDTO record) {
+        if (record.getUserId() == null || record.getApartmentId() == null || record.getStartDate() == null
+                || record.getEndDate() == null || record.getGuests() == null) {
+            throw new BusinessValidationException("userId, apartmentId, startDate, endDate and guests are required");
+        }
+        if (record.getEndDate().isBefore(record.getStartDate())) {
+            throw new BusinessValidationException("End date must be after start date");
+        }
+        if (record.getGuests() < 1) {
+            throw new BusinessValidationException("Guests must be at least 1");
+        }
+        BookingState state;
+        try {
+            state = record.getState() == null ? BookingState.CONFIRMED : BookingState.valueOf(record.getState().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessValidationException("Unknown state " + record.getState());
+        }
+
+        // Ids are assigned by this database; the exported id is only informative
+        Booking booking = new Booking(record.getUserId(), record.getApartmentId(), record.getStartDate(), record.getEndDate(),
+                record.getCost(), record.getGuests());
+        booking.setState(state);
+        booking.setCreatedDate(record.getCreatedDate() != null ? record.getCreatedDate() : LocalDateTime.now());
+        return booking;
+    }
+
+    private static BookingRecordDTO toRecord(ResultSet rows) throws SQLException {
+        BookingRecordDTO record = new BookingRecordDTO();
+        record.setId(rows.getLong("id"));
+        record.setUserId(rows.getLong("user_id"));
+        record.setApartmentId(rows.getLong("apartment_id"));
+        record.setStartDate(rows.getObject("start_date", LocalDate.class));
+        record.setEndDate(rows.getObject("end_date", LocalDate.class));
+        record.setCost(rows.getBigDecimal("cost"));
+        record.setState(rows.getString("state"));
+        record.setGuests(rows.getInt("guests"));
+        record.setCreatedDate(rows.getObject("created_date", LocalDateTime.class));
+        return record;
+    }
+
+    // No exported value can contain a comma or a quote, so fields are never quoted
+    private static String toCsv(BookingRecordDTO record) {
+        StringBuilder line = new StringBuilder(96);
+        Object[] values = {record.getId(), record.getUserId(), record.getApartmentId(), record.getStartDate(), record.getEndDate(),
+                record.getCost() != null ? record.getCost().toPlainString() : null, record.getState(), record.getGuests(),
+                record.getCreatedDate()};
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            if (values[i] != null) {
+                line.append(values[i]);
+            }
+        }
+        return line.toString();
+    }
+
+    private static Map<String, Integer> parseHeader(String header) {
+        Map<String, Integer> columns = new HashMap<>();
+        String[] names = header.split(",", -1);
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i].trim();
+            if (!COLUMNS.contains(name)) {
+                throw new BusinessValidationException("Unknown CSV column " + name + ", expected " + String.join(",", COLUMNS));
+            }
+            columns.put(name, i);
+        }
+        return columns;
+    }
+
+    private static BookingRecordDTO fromCsv(String line, Map<String, Integer> columns) {
+        String[] values = line.split(",", -1);
+        if (values.length != columns.size()) {
+            throw new BusinessValidationException("Expected " + columns.size() + " columns but found " + values.length);
+        }
+        BookingRecordDTO record = new BookingRecordDTO();
+        String value;
+        if ((value = column(values, columns, "userId")) != null) {
+            record.setUserId(Long.valueOf(value));
+        }
+        if ((value = column(values, columns, "apartmentId")) != null) {
+            record.setApartmentId(Long.valueOf(value));
+        }
+        if ((value = column(values, columns, "startDate")) != null) {
+            record.setStartDate(LocalDate.parse(value));
+        }
+        if ((value = column(values, columns, "endDate")) != null) {
+            record.setEndDate(LocalDate.parse(value));
+        }
+        if ((value = column(values, columns, "cost")) != null) {
+            record.setCost(new BigDecimal(value));
+        }
+        record.setState(column(values, columns, "state"));
+        if ((value = column(values, columns, "guests")) != null) {
+            record.setGuests(Integer.valueOf(value));
+        }
+        if ((value = column(values, columns, "createdDate")) != null) {
+            record.setCreatedDate(LocalDateTime.parse(value));
+        }
+        return record;
+    }
+
+    private static String column(String[] values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null) {
+            return null;
+        }
+        String value = values[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    @FunctionalInterface
+    private interface RecordConsumer {
+        void accept(BookingRecordDTO record) throws IOException;
+    }
+
+    private static final class Row {
+
+        private final long line;
+        private final Booking booking;
+        private String rejection;
+
+        private Row(long line, Booking booking) {
+            this.line = line;
+            this.booking = booking;
+        }
+    }
+}
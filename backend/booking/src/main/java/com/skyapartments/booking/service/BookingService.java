@@ -1,62 +1,118 @@
 package com.skyapartments.booking.service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-
-import org.springframework.data.domain.Page;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.skyapartments.booking.dto.ApartmentDTO;
+import com.skyapartments.booking.dto.BookedRangeDTO;
+import com.skyapartments.booking.dto.BookingCursor;
 import com.skyapartments.booking.dto.BookingDTO;
 import com.skyapartments.booking.dto.BookingRequestDTO;
+import com.skyapartments.booking.dto.NightPriceDTO;
+import com.skyapartments.booking.dto.QuoteDTO;
+import com.skyapartments.booking.dto.QuoteRequestDTO;
 import com.skyapartments.booking.dto.UserDTO;
 import com.skyapartments.booking.exception.BusinessValidationException;
 import com.skyapartments.booking.exception.ResourceNotFoundException;
 import com.skyapartments.booking.model.Booking;
 import com.skyapartments.booking.model.BookingState;
-import com.skyapartments.booking.model.Filter;
 import com.skyapartments.booking.repository.ApartmentClient;
 import com.skyapartments.booking.repository.BookingRepository;
-import com.skyapartments.booking.repository.FilterRepository;
 import com.skyapartments.booking.repository.UserClient;
+import com.skyapartments.common.cache.NearCache;
 
+import io.micrometer.core.instrument.Metrics;
 import jakarta.transaction.Transactional;
 
 @Service
 public class BookingService {
 
+    private static final int MAX_QUOTES = 100;
+    private static final int MAX_QUOTE_NIGHTS = 365;
+    private static final int LOOKUP_CHUNK = 200;
+    private static final int REMINDER_WORKERS = 8;
+    private static final int COMPLETION_CHUNK = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(BookingService.class);
+
     private final BookingRepository bookingRepository;
     private final UserClient userClient;
     private final ApartmentClient apartmentClient;
+    private final NearCache<Long, ApartmentDTO> apartmentCache;
     private final EmailService emailService;
-    private final FilterRepository filterRepository;
+    private final PricingEngine pricingEngine;
+    private final AvailabilityIndex availabilityIndex;
+    private final NightLedger nightLedger;
+    private final AvailabilityNotifier availabilityNotifier;
+    private final StayStatistics stayStatistics;
 
-    public BookingService(BookingRepository bookingRepository, UserClient userClient, ApartmentClient apartmentClient, EmailService emailService, FilterRepository filterRepository) {
+    public BookingService(BookingRepository bookingRepository, UserClient userClient, ApartmentClient apartmentClient, NearCache<Long, ApartmentDTO> apartmentCache, EmailService emailService, PricingEngine pricingEngine, AvailabilityIndex availabilityIndex, NightLedger nightLedger, AvailabilityNotifier availabilityNotifier, StayStatistics stayStatistics) {
         this.bookingRepository = bookingRepository;
         this.userClient = userClient;
         this.apartmentClient = apartmentClient;
+        this.apartmentCache = apartmentCache;
         this.emailService = emailService;
-        this.filterRepository = filterRepository;
+        this.pricingEngine = pricingEngine;
+        this.availabilityIndex = availabilityIndex;
+        this.nightLedger = nightLedger;
+        this.availabilityNotifier = availabilityNotifier;
+        this.stayStatistics = stayStatistics;
     } 
 
-    public Page<BookingDTO> getBookingsByUserId(Long userId, Pageable pageable, String userEmail) {
+    public Slice<BookingDTO> getBookingsByUserId(Long userId, Pageable pageable, String userEmail) {
+        checkUser(userId, userEmail);
+        return bookingRepository.findByUserIdOrderByStartDateDescIdDesc(userId, pageable).map(booking -> new BookingDTO(booking));
+    }
+
+    public Slice<BookingDTO> getBookingsByUserId(Long userId, BookingCursor after, int pageSize, String userEmail) {
+        checkUser(userId, userEmail);
+        return bookingRepository.findByUserIdBefore(userId, after.getStartDate(), after.getId(), PageRequest.of(0, pageSize))
+            .map(booking -> new BookingDTO(booking));
+    }
+
+    public Slice<BookingDTO> getBookingsByApartmentId(Long apartmentId, Pageable pageable) {
+        checkApartment(apartmentId);
+        return bookingRepository.findByApartmentIdOrderByStartDateDescIdDesc(apartmentId, pageable).map(booking -> new BookingDTO(booking));
+    }
+
+    public Slice<BookingDTO> getBookingsByApartmentId(Long apartmentId, BookingCursor after, int pageSize) {
+        checkApartment(apartmentId);
+        return bookingRepository.findByApartmentIdBefore(apartmentId, after.getStartDate(), after.getId(), PageRequest.of(0, pageSize))
+            .map(booking -> new BookingDTO(booking));
+    }
+
+    private void checkUser(Long userId, String userEmail) {
         Long userIdFromEmail = userClient.getUserIdByEmail(userEmail);
         if (!userIdFromEmail.equals(userId)) {
             throw new SecurityException("User email does not match user ID");
         }
-        return bookingRepository.findByUserIdOrderByStartDateDesc(userId, pageable).map(booking -> new BookingDTO(booking));
     }
 
-    public Page<BookingDTO> getBookingsByApartmentId(Long apartmentId, Pageable pageable) {
-        if (apartmentClient.getApartment(apartmentId) == null) {
+    private void checkApartment(Long apartmentId) {
+        if (apartmentCache.get(apartmentId) == null) {
             throw new ResourceNotFoundException("User not found");
         }
-        return bookingRepository.findByApartmentIdOrderByStartDateDesc(apartmentId, pageable).map(booking -> new BookingDTO(booking));
     }
 
     @Transactional
@@ -66,7 +122,7 @@ public class BookingService {
             throw new SecurityException("User email does not match user ID");
         }
         
-        ApartmentDTO apartment = apartmentClient.getApartment(request.getApartmentId());
+        ApartmentDTO apartment = apartmentCache.get(request.getApartmentId());
         if (apartment == null) {
             throw new ResourceNotFoundException("Apartment not found");
         }
@@ -78,14 +134,13 @@ public class BookingService {
         if (request.getEndDate().isBefore(LocalDate.now())) {
             throw new BusinessValidationException("End date must be after today");
         }
+
+        if (request.getStartDate().isBefore(LocalDate.now())) {
+            throw new BusinessValidationException("Start date must be today or in the future");
+        }
         
         // Check for overlapping bookings
-        boolean overlaps = bookingRepository.findByApartmentIdAndStateNot(
-                        request.getApartmentId(), BookingState.CANCELLED)
-                .stream()
-                .anyMatch(b -> !request.getStartDate().isAfter(b.getEndDate()) && 
-                            !request.getEndDate().isBefore(b.getStartDate()));
-        if (overlaps) {
+        if (!availabilityIndex.isAvailable(request.getApartmentId(), request.getStartDate(), request.getEndDate())) {
             throw new BusinessValidationException("The apartment is not available for the selected dates");
         }
 
@@ -98,7 +153,18 @@ public class BookingService {
         booking.setCost(calculateCost(apartment, request.getStartDate(), request.getEndDate()));
         booking.setGuests(request.getGuests());
         
-        BookingDTO savedBooking = new BookingDTO(bookingRepository.save(booking));
+        Booking persistedBooking = bookingRepository.save(booking);
+        // Fails if a booking made meanwhile, on any instance, took one of the nights: the calendar missed it
+        try {
+            nightLedger.claim(persistedBooking);
+        } catch (BusinessValidationException e) {
+            availabilityIndex.reload(persistedBooking.getApartmentId());
+            throw e;
+        }
+        stayStatistics.booked(persistedBooking);
+        availabilityIndex.register(persistedBooking);
+        availabilityNotifier.booked(persistedBooking);
+        BookingDTO savedBooking = new BookingDTO(persistedBooking);
         
         emailService.sendBookingConfirmation(user.getEmail(), savedBooking, apartment, user);
         
@@ -118,13 +184,17 @@ public class BookingService {
             throw new BusinessValidationException("Booking is already cancelled");
         }
 
-        ApartmentDTO apartment = apartmentClient.getApartment(booking.getApartmentId());
+        ApartmentDTO apartment = apartmentCache.get(booking.getApartmentId());
         if (apartment == null) {
             throw new ResourceNotFoundException("Apartment not found");
         }
 
         booking.setState(BookingState.CANCELLED);
         bookingRepository.save(booking);
+        nightLedger.release(booking);
+        stayStatistics.cancelled(booking);
+        availabilityIndex.release(booking);
+        availabilityNotifier.released(booking);
 
         emailService.sendBookingCancellation(user.getEmail(),new BookingDTO(booking), apartment, user);
 
@@ -132,67 +202,72 @@ public class BookingService {
     }
 
     private BigDecimal calculateCost(ApartmentDTO apartment, LocalDate startDate, LocalDate endDate) {
-        // Get all active filters
-        List<Filter> activeFilters = filterRepository.findByActivatedTrueOrderByIdAsc();
-        
-        BigDecimal totalCost = BigDecimal.ZERO;
-        
-        // Calculate price for each night
-        LocalDate currentDate = startDate;
-        while (currentDate.isBefore(endDate)) {
-            BigDecimal nightPrice = calculateNightPrice(
-                apartment.getPrice(), 
-                activeFilters, 
-                currentDate,
-                startDate,
-                endDate
-            );
-            totalCost = totalCost.add(nightPrice);
-            currentDate = currentDate.plusDays(1);
-        }
-        
-        return totalCost.setScale(2, RoundingMode.HALF_UP);
+        return pricingEngine.calculateCost(apartment.getPrice(), startDate, endDate);
     }
 
-    private BigDecimal calculateNightPrice(BigDecimal basePrice,
-                                      List<Filter> filters,
-                                      LocalDate date,
-                                      LocalDate checkInDate,
-                                      LocalDate checkOutDate) {
-
-        BigDecimal totalAdjustment = BigDecimal.ZERO;
-
-        for (Filter filter : filters) {
+    public List<QuoteDTO> getQuotes(List<QuoteRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return List.of();
+        }
+        if (requests.size() > MAX_QUOTES) {
+            throw new BusinessValidationException("No more than " + MAX_QUOTES + " quotes can be requested at once");
+        }
 
-            if (!filter.isApplicableOnDate(date)) {
-                continue;
-            }
+        Set<Long> apartmentIds = new HashSet<>();
+        for (QuoteRequestDTO request : requests) {
+            validateQuoteRequest(request);
+            apartmentIds.add(request.getApartmentId());
+        }
 
-            if (!filter.meetsCondition(checkInDate, checkOutDate)) {
-                continue;
+        // One price lookup and one rule table for the whole batch
+        Map<Long, BigDecimal> prices = apartmentClient.getPrices(apartmentIds);
+        PricingRules rules = pricingEngine.currentRules();
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, PricingRules.BasePrice> basePrices = new HashMap<>();
+
+        List<QuoteDTO> quotes = new ArrayList<>(requests.size());
+        for (QuoteRequestDTO request : requests) {
+            BigDecimal price = prices.get(request.getApartmentId());
+            if (price == null) {
+                continue; // Unknown apartments are left out of the response
             }
-
-            BigDecimal adjustment = calculateAdjustment(basePrice, filter);
-            totalAdjustment = totalAdjustment.add(adjustment);
+            PricingRules.BasePrice basePrice = basePrices.computeIfAbsent(request.getApartmentId(), id -> new PricingRules.BasePrice(price));
+            quotes.add(buildQuote(rules, basePrice, request, now));
         }
-
-        BigDecimal finalPrice = basePrice.add(totalAdjustment);
-        return finalPrice.setScale(2, RoundingMode.HALF_UP);
+        return quotes;
     }
 
-    private BigDecimal calculateAdjustment(BigDecimal basePrice, Filter filter) {
-
-        BigDecimal percentage = filter.getValue().divide(
-            BigDecimal.valueOf(100),
-            4,
-            RoundingMode.HALF_UP
-        );
+    private QuoteDTO buildQuote(PricingRules rules, PricingRules.BasePrice basePrice, QuoteRequestDTO request, LocalDateTime now) {
+        int[] stayRules = rules.rulesForStay(request.getCheckIn(), request.getCheckOut(), now);
+        List<NightPriceDTO> nights = new ArrayList<>();
+        long totalCents = 0L;
 
-        BigDecimal adjustment = basePrice.multiply(percentage);
+        LocalDate currentDate = request.getCheckIn();
+        while (currentDate.isBefore(request.getCheckOut())) {
+            long nightCents = basePrice.nightCents(rules.adjustmentOn(stayRules, currentDate.toEpochDay()));
+            totalCents += nightCents;
+            nights.add(new NightPriceDTO(currentDate, BigDecimal.valueOf(nightCents, 2)));
+            currentDate = currentDate.plusDays(1);
+        }
+        return new QuoteDTO(request.getApartmentId(), request.getCheckIn(), request.getCheckOut(), BigDecimal.valueOf(totalCents, 2), nights);
+    }
 
-        return filter.getIncrement()
-                ? adjustment
-                : adjustment.negate();
+    private void validateQuoteRequest(QuoteRequestDTO request) {
+        if (request == null || request.getApartmentId() == null) {
+            throw new BusinessValidationException("Apartment ID is required");
+        }
+        if (request.getCheckIn() == null || request.getCheckOut() == null) {
+            throw new BusinessValidationException("Check-in and check-out dates are required");
+        }
+        if (!request.getCheckIn().isBefore(request.getCheckOut())) {
+            throw new BusinessValidationException("Check-in date must be before check-out date");
+        }
+        if (request.getCheckIn().isBefore(LocalDate.now())) {
+            throw new BusinessValidationException("Check-in date cannot be in the past");
+        }
+        if (request.getCheckIn().plusDays(MAX_QUOTE_NIGHTS).isBefore(request.getCheckOut())) {
+            throw new BusinessValidationException("A quote cannot exceed " + MAX_QUOTE_NIGHTS + " nights");
+        }
     }
 
     @Transactional
@@ -216,26 +291,35 @@ public class BookingService {
             throw new BusinessValidationException("End date must be after start date");
         }
 
-        ApartmentDTO apartment = apartmentClient.getApartment(booking.getApartmentId());
+        // A stay in progress keeps its start date when its end date is moved
+        if (newStartDate.isBefore(LocalDate.now()) && !newStartDate.equals(booking.getStartDate())) {
+            throw new BusinessValidationException("Start date must be today or in the future");
+        }
+
+        ApartmentDTO apartment = apartmentCache.get(booking.getApartmentId());
         if (apartment == null) {
             throw new ResourceNotFoundException("Apartment not found");
         }
 
         // Check availability for the apartment again before updating
-        boolean overlaps = bookingRepository.findByApartmentIdAndStateNot(
-                        booking.getApartmentId(), BookingState.CANCELLED)
-                .stream()
-                .filter(b -> !b.getId().equals(bookingId)) // ignore current booking
-                .anyMatch(b -> !newStartDate.isAfter(b.getEndDate()) && !newEndDate.isBefore(b.getStartDate()));
-
-        if (overlaps) {
+        if (!availabilityIndex.isAvailable(booking.getApartmentId(), newStartDate, newEndDate, bookingId)) {
             throw new BusinessValidationException("The apartment is not available for the selected dates");
         }
 
+        StayStatistics.Changes statistics = new StayStatistics.Changes().remove(booking);
         booking.setStartDate(newStartDate);
         booking.setEndDate(newEndDate);
         booking.setCost(calculateCost(apartment, newStartDate, newEndDate));
         bookingRepository.save(booking);
+        try {
+            nightLedger.reclaim(booking);
+        } catch (BusinessValidationException e) {
+            availabilityIndex.reload(booking.getApartmentId());
+            throw e;
+        }
+        stayStatistics.apply(statistics.add(booking));
+        availabilityIndex.register(booking);
+        availabilityNotifier.booked(booking);
 
         emailService.sendBookingUpdate(userEmail,new BookingDTO(booking), apartment, user);
 
@@ -247,40 +331,116 @@ public class BookingService {
         return bookingRepository.findUnavailableApartments(startDate, endDate);
     }
 
+    public List<BookedRangeDTO> getBookedRanges() {
+        return bookingRepository.findBookedRangesEndingFrom(LocalDate.now());
+    }
+
     @Scheduled(cron = "0 0 0 * * *") //Everyday at midnight
     //@Scheduled(fixedRate = 60000)
-    @Transactional
-    public void markCompletedBookings() {
+    public int markCompletedBookings() {
         LocalDate today = LocalDate.now();
-        List<Booking> pastBookings = bookingRepository.findByEndDateBeforeAndState(today, BookingState.CONFIRMED);
-        for (Booking booking : pastBookings) {
-            booking.setState(BookingState.COMPLETED);
-        }
-        bookingRepository.saveAll(pastBookings);
+        int completed = 0;
+        int updated;
+        // Completed stays keep counting in the stay statistics, so only the state changes
+        do {
+            updated = bookingRepository.completeEndedBefore(today, COMPLETION_CHUNK);
+            completed += updated;
+        } while (updated == COMPLETION_CHUNK);
+
+        int purgedNights = nightLedger.purgeBefore(today);
+        availabilityIndex.dropEndedBefore(today);
+
+        Metrics.counter("booking.completed").increment(completed);
+        log.info("Marked {} bookings ended before {} as completed and released {} past nights", completed, today, purgedNights);
+        return completed;
     }
 
     @Scheduled(cron = "0 0 9 * * *") // Everyday at 9 AM
     //@Scheduled(fixedRate = 60000)
-    @Transactional
     public void sendCheckInReminders() {
+        long startNanos = System.nanoTime();
         LocalDate nextWeek = LocalDate.now().plusDays(7);
         List<Booking> upcomingBookings = bookingRepository.findByStartDateAndState(nextWeek, BookingState.CONFIRMED);
-        
+        if (upcomingBookings.isEmpty()) {
+            return;
+        }
+
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> apartmentIds = new HashSet<>();
         for (Booking booking : upcomingBookings) {
+            userIds.add(booking.getUserId());
+            apartmentIds.add(booking.getApartmentId());
+        }
+        Map<Long, UserDTO> users = lookupInChunks(userIds, userClient::getUsers, UserDTO::getId);
+        Map<Long, ApartmentDTO> apartments = lookupInChunks(apartmentIds, apartmentClient::getApartments, ApartmentDTO::getId);
+
+        // Rendering and queueing run on a bounded pool; SMTP delivery is paced by the outbox dispatcher
+        AtomicInteger queued = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(REMINDER_WORKERS, upcomingBookings.size()));
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>(upcomingBookings.size());
+            for (Booking booking : upcomingBookings) {
+                tasks.add(() -> {
+                    if (queueCheckInReminder(booking, users.get(booking.getUserId()), apartments.get(booking.getApartmentId()))) {
+                        queued.incrementAndGet();
+                    } else {
+                        failed.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdown();
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        Metrics.timer("booking.reminders.run").record(elapsedNanos, TimeUnit.NANOSECONDS);
+        Metrics.counter("booking.reminders.queued").increment(queued.get());
+        Metrics.counter("booking.reminders.failed").increment(failed.get());
+        long perSecond = Math.round(queued.get() / Math.max(elapsedNanos / 1e9, 1e-3));
+        log.info("Check-in reminders for {}: {} queued, {} failed in {} ms ({} per second)",
+            nextWeek, queued.get(), failed.get(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), perSecond);
+    }
+
+    private boolean queueCheckInReminder(Booking booking, UserDTO user, ApartmentDTO apartment) {
+        if (user == null || apartment == null) {
+            log.warn("Skipping check-in reminder for booking {}: user or apartment not found", booking.getId());
+            return false;
+        }
+        try {
+            emailService.sendCheckInReminder(user.getEmail(), new BookingDTO(booking), apartment, user);
+            return true;
+        } catch (Exception e) {
+            log.error("Error queueing check-in reminder for booking {}", booking.getId(), e);
+            return false;
+        }
+    }
+
+    /*
+     * Resolves the ids through a bulk endpoint in chunks. A failed chunk only leaves its
+     * own ids unresolved, so the bookings that depend on them are skipped.
+     */
+    private <T> Map<Long, T> lookupInChunks(Set<Long> ids, Function<Set<Long>, List<T>> lookup, Function<T, Long> idOf) {
+        Map<Long, T> result = new HashMap<>();
+        List<Long> remaining = new ArrayList<>(ids);
+        for (int from = 0; from < remaining.size(); from += LOOKUP_CHUNK) {
+            Set<Long> chunk = new HashSet<>(remaining.subList(from, Math.min(from + LOOKUP_CHUNK, remaining.size())));
             try {
-                
-                BookingDTO bookingDTO = new BookingDTO(booking);
-                UserDTO userDTO = userClient.getUser(booking.getUserId());
-                ApartmentDTO apartmentDTO = apartmentClient.getApartment(booking.getApartmentId());
-                
-                // Send the reminder email
-                emailService.sendCheckInReminder(userDTO.getEmail(), bookingDTO, apartmentDTO, userDTO);
-                
-                
+                List<T> found = lookup.apply(chunk);
+                if (found != null) {
+                    for (T item : found) {
+                        result.put(idOf.apply(item), item);
+                    }
+                }
             } catch (Exception e) {
-                System.err.println("Error sending check-in reminder for booking " + booking.getId() + ": " + e.getMessage());
+                log.error("Bulk lookup failed for ids {}", chunk, e);
             }
         }
+        return result;
     }
 
     public List<BookingDTO> getActiveBookingsByUserAndApartment(Long userId, Long apartmentId) {
@@ -0,0 +1,195 @@
+package com.skyapartments.booking.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.skyapartments.booking.model.OutboxEmail;
+import com.skyapartments.booking.model.OutboxStatus;
+import com.skyapartments.booking.repository.OutboxEmailRepository;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Drains the email outbox with a bounded pool of workers, paced to a maximum send rate. Each email
+ * is leased before it is sent, retried with exponential backoff on failure and marked as DEAD after
+ * the last attempt.
+ * Delivery is at least once: an email whose worker dies mid-send is retried when its lease expires.
+ * The outcome is only written while the worker still holds the lease, so a worker that outlived it
+ * never overwrites the attempt that took the email over.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final JavaMailSender mailSender;
+    private final String fromEmail;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final long sendIntervalNanos;
+    private final Semaphore inFlight;
+    private final ExecutorService workers;
+    private long nextSendNanos;
+
+    public EmailOutboxDispatcher(OutboxEmailRepository outboxEmailRepository, JavaMailSender mailSender,
+                                 @Value("${spring.mail.username}") String fromEmail,
+                                 @Value("${booking.mail.outbox.workers:4}") int workerCount,
+                                 @Value("${booking.mail.outbox.max-attempts:6}") int maxAttempts,
+                                 @Value("${booking.mail.outbox.initial-backoff:30s}") Duration initialBackoff,
+                                 @Value("${booking.mail.outbox.max-backoff:30m}") Duration maxBackoff,
+                                 @Value("${booking.mail.outbox.lease:5m}") Duration lease,
+                                 @Value("${booking.mail.outbox.max-per-second:10}") double maxPerSecond) {
+        this.outboxEmailRepository = outboxEmailRepository;
+        this.mailSender = mailSender;
+        this.fromEmail = fromEmail;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.sendIntervalNanos = maxPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / maxPerSecond) : 0L;
+        // Never lease more emails than the workers can take plus one batch waiting
+        this.inFlight = new Semaphore(workerCount * 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${booking.mail.outbox.poll-interval-ms:1000}")
+    public void dispatchDue() {
+        int capacity = inFlight.availablePermits();
+        if (capacity == 0) {
+            return;
+        }
+        List<Long> dueIds = outboxEmailRepository.findDueIds(LocalDateTime.now(), PageRequest.of(0, capacity));
+        for (Long id : dueIds) {
+            if (!inFlight.tryAcquire()) {
+                return;
+            }
+            try {
+                workers.execute(() -> {
+                    try {
+                        deliver(id);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Leases and sends a single email. Returns false if another worker already holds it, or took
+     * it over before the outcome was recorded.
+     */
+    public boolean deliver(Long id) {
+        LocalDateTime now = LocalDateTime.now();
+        if (outboxEmailRepository.claim(id, now, now.plus(lease)) == 0) {
+            return false;
+        }
+        OutboxEmail email = outboxEmailRepository.findById(id).orElse(null);
+        if (email == null) {
+            return false;
+        }
+
+        try {
+            awaitSendSlot();
+            send(email);
+            email.setStatus(OutboxStatus.SENT);
+            email.setSentDate(LocalDateTime.now());
+            email.setLastError(null);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            email.setLastError(truncate(e.toString()));
+            if (email.getAttempts() >= maxAttempts) {
+                email.setStatus(OutboxStatus.DEAD);
+                log.error("Giving up on outbox email {} to {} after {} attempts", id, email.getRecipient(), email.getAttempts(), e);
+            } else {
+                email.setNextAttemptAt(LocalDateTime.now().plus(backoff(email.getAttempts())));
+                log.warn("Outbox email {} failed on attempt {}, retrying at {}", id, email.getAttempts(), email.getNextAttemptAt());
+            }
+        }
+        if (outboxEmailRepository.complete(id, email.getAttempts(), email.getStatus(), email.getNextAttemptAt(),
+                email.getLastError(), email.getSentDate()) == 0) {
+            log.warn("Lease on outbox email {} expired during attempt {}, its outcome was dropped", id, email.getAttempts());
+            return false;
+        }
+        return true;
+    }
+
+    // Spaces sends evenly across all workers so the SMTP server never sees more than the configured rate
+    private void awaitSendSlot() throws InterruptedException {
+        if (sendIntervalNanos == 0) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextSendNanos);
+            nextSendNanos = slot + sendIntervalNanos;
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private void send(OutboxEmail email) throws Exception {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setFrom(fromEmail);
+        helper.setTo(email.getRecipient());
+        if (email.getReplyTo() != null) {
+            helper.setReplyTo(email.getReplyTo());
+        }
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), true);
+
+        mailSender.send(message);
+    }
+
+    // Doubles after every failed attempt: initial, 2x initial, 4x initial... up to maxBackoff
+    private Duration backoff(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 20);
+        Duration delay = initialBackoff.multipliedBy(1L << exponent);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -1,98 +1,56 @@
 package com.skyapartments.booking.service;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
-
 import com.skyapartments.booking.dto.ApartmentDTO;
 import com.skyapartments.booking.dto.BookingDTO;
 import com.skyapartments.booking.dto.UserDTO;
+import com.skyapartments.booking.model.OutboxEmail;
+import com.skyapartments.booking.repository.OutboxEmailRepository;
 
+/**
+ * Renders the emails and stores them in the outbox, in the caller's transaction when there is one.
+ * They are delivered asynchronously by {@link EmailOutboxDispatcher}.
+ */
 @Service
 public class EmailService {
     
-    @Value("${spring.mail.username}")
-    private String fromEmail;
-    
-    private final JavaMailSender mailSender;
+    private static final String CONTACT_EMAIL = "skyapartmentsmad@gmail.com";
+
+    private final OutboxEmailRepository outboxEmailRepository;
     
-    public EmailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailService(OutboxEmailRepository outboxEmailRepository) {
+        this.outboxEmailRepository = outboxEmailRepository;
     }
     
     public void sendBookingConfirmation(String toEmail, BookingDTO booking, 
                                        ApartmentDTO apartment, UserDTO user) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromEmail);
-            helper.setTo(toEmail);
-            helper.setSubject("Booking Confirmation - Sky Apartments #" + booking.getId());
-            helper.setText(buildConfirmationEmailContent(booking, apartment, user), true);
-            
-            mailSender.send(message);
-        } catch (MessagingException e) {
-            e.printStackTrace();
-        }
+        enqueue(toEmail, null, "Booking Confirmation - Sky Apartments #" + booking.getId(),
+            buildConfirmationEmailContent(booking, apartment, user));
     }
     
     public void sendBookingUpdate(String toEmail, BookingDTO booking, 
                                  ApartmentDTO apartment, UserDTO user) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromEmail);
-            helper.setTo(toEmail);
-            helper.setSubject("Booking Updated - Sky Apartments #" + booking.getId());
-            helper.setText(buildUpdateEmailContent(booking, apartment, user), true);
-            
-            mailSender.send(message);
-        } catch (MessagingException e) {
-            e.printStackTrace();
-        }
+        enqueue(toEmail, null, "Booking Updated - Sky Apartments #" + booking.getId(),
+            buildUpdateEmailContent(booking, apartment, user));
     }
     
     public void sendBookingCancellation(String toEmail, BookingDTO booking, 
                                        ApartmentDTO apartment, UserDTO user) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromEmail);
-            helper.setTo(toEmail);
-            helper.setSubject("Booking Cancelled - Sky Apartments #" + booking.getId());
-            helper.setText(buildCancellationEmailContent(booking, apartment, user), true);
-            
-            mailSender.send(message);
-        } catch (MessagingException e) {
-            e.printStackTrace();
-        }
+        enqueue(toEmail, null, "Booking Cancelled - Sky Apartments #" + booking.getId(),
+            buildCancellationEmailContent(booking, apartment, user));
     }
 
     public void sendCheckInReminder(String toEmail, BookingDTO booking, ApartmentDTO apartment, UserDTO user) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromEmail);
-            helper.setTo(toEmail);
-            helper.setSubject("Check-in Reminder - Sky Apartments #" + booking.getId());
-            helper.setText(buildCheckInReminderContent(booking, apartment, user), true);
-            
-            mailSender.send(message);
-        } catch (MessagingException e) {
-            e.printStackTrace();
-        }
+        enqueue(toEmail, null, "Check-in Reminder - Sky Apartments #" + booking.getId(),
+            buildCheckInReminderContent(booking, apartment, user));
     }
 
-    private String buildCheckInReminderContent(BookingDTO booking, ApartmentDTO apartment, UserDTO user) {
-        return String.format("""
+    private void enqueue(String toEmail, String replyTo, String subject, String htmlBody) {
+        outboxEmailRepository.save(new OutboxEmail(toEmail, replyTo, subject, htmlBody));
+    }
+
+    public static final String CHECK_IN_REMINDER_TEMPLATE = """
             <!DOCTYPE html>
             <html>
             <head>
@@ -316,7 +274,12 @@ public class EmailService {
                 </div>
             </body>
             </html>
-            """,
+            """;
+
+    private static final EmailTemplate CHECK_IN_REMINDER = EmailTemplate.compile(CHECK_IN_REMINDER_TEMPLATE);
+
+    private String buildCheckInReminderContent(BookingDTO booking, ApartmentDTO apartment, UserDTO user) {
+        return CHECK_IN_REMINDER.render(
             user.getName() != null ? user.getName() : "Guest",
             booking.getId(),
             apartment.getName() != null ? apartment.getName() : "Apartment",
@@ -326,8 +289,7 @@ public class EmailService {
         );
     }
     
-    private String buildConfirmationEmailContent(BookingDTO booking, ApartmentDTO apartment, UserDTO user) {
-        return String.format("""
+    public static final String CONFIRMATION_TEMPLATE = """
             <!DOCTYPE html>
             <html>
             <head>
@@ -491,7 +453,12 @@ public class EmailService {
                 </div>
             </body>
             </html>
-            """,
+            """;
+
+    private static final EmailTemplate CONFIRMATION = EmailTemplate.compile(CONFIRMATION_TEMPLATE);
+
+    private String buildConfirmationEmailContent(BookingDTO booking, ApartmentDTO apartment, UserDTO user) {
+        return CONFIRMATION.render(
             user.getName() != null ? user.getName() : "Guest",
             booking.getId(),
             apartment.getName() != null ? apartment.getName() : "Apartment",
@@ -503,8 +470,7 @@ public class EmailService {
         );
     }
     
-    private String buildUpdateEmailContent(BookingDTO booking, ApartmentDTO apartment, UserDTO user) {
-        return String.format("""
+    public static final String UPDATE_TEMPLATE = """
             <!DOCTYPE html>
             <html>
             <head>
@@ -680,7 +646,12 @@ public class EmailService {
                 </div>
             </body>
             </html>
-            """,
+            """;
+
+    private static final EmailTemplate UPDATE = EmailTemplate.compile(UPDATE_TEMPLATE);
+
+    private String buildUpdateEmailContent(BookingDTO booking, ApartmentDTO apartment, UserDTO user) {
+        return UPDATE.render(
             user.getName() != null ? user.getName() : "Guest",
             booking.getId(),
             apartment.getName() != null ? apartment.getName() : "Apartment",
@@ -692,8 +663,7 @@ public class EmailService {
         );
     }
     
-    private String buildCancellationEmailContent(BookingDTO booking, ApartmentDTO apartment, UserDTO user) {
-        return String.format("""
+    public static final String CANCELLATION_TEMPLATE = """
             <!DOCTYPE html>
             <html>
             <head>
@@ -869,7 +839,12 @@ public class EmailService {
                 </div>
             </body>
             </html>
-            """,
+            """;
+
+    private static final EmailTemplate CANCELLATION = EmailTemplate.compile(CANCELLATION_TEMPLATE);
+
+    private String buildCancellationEmailContent(BookingDTO booking, ApartmentDTO apartment, UserDTO user) {
+        return CANCELLATION.render(
             user.getName() != null ? user.getName() : "Guest",
             booking.getId(),
             apartment.getName() != null ? apartment.getName() : "Apartment",
@@ -880,25 +855,11 @@ public class EmailService {
     }
 
     public void sendContactMessage(String name, String email, String subject, String message) {
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
-            
-            helper.setFrom(fromEmail);
-            helper.setTo("skyapartmentsmad@gmail.com");
-            helper.setReplyTo(email);
-            helper.setSubject("Contact Form: " + subject);
-            helper.setText(buildContactEmailContent(name, email, subject, message), true);
-            
-            mailSender.send(mimeMessage);
-        } catch (MessagingException e) {
-            e.printStackTrace();
-            throw new RuntimeException("Failed to send contact email", e);
-        }
+        enqueue(CONTACT_EMAIL, email, "Contact Form: " + subject,
+            buildContactEmailContent(name, email, subject, message));
     }
 
-    private String buildContactEmailContent(String name, String email, String subject, String message) {
-        return String.format("""
+    public static final String CONTACT_TEMPLATE = """
             <!DOCTYPE html>
             <html>
             <head>
@@ -1050,7 +1011,12 @@ public class EmailService {
                 </div>
             </body>
             </html>
-            """,
+            """;
+
+    private static final EmailTemplate CONTACT = EmailTemplate.compile(CONTACT_TEMPLATE);
+
+    private String buildContactEmailContent(String name, String email, String subject, String message) {
+        return CONTACT.render(
             name,
             email,
             subject,
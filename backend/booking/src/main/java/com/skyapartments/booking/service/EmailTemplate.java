@@ -0,0 +1,129 @@
+package com.skyapartments.booking.service;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A {@link String#format} template parsed once into literal segments and placeholders.
+ * Rendering appends them into a buffer sized for the whole message, with the same output
+ * as String.format for the supported conversions: %s, %d, %.2f and %%.
+ */
+public final class EmailTemplate {
+
+    private static final byte STRING = 0;
+    private static final byte INTEGER = 1;
+    private static final byte FIXED_TWO = 2;
+
+    // Room reserved for each rendered argument when sizing the buffer
+    private static final int ARGUMENT_ESTIMATE = 24;
+
+    private final String[] literals;
+    private final byte[] conversions;
+    private final int capacity;
+
+    private EmailTemplate(List<String> literals, List<Byte> conversions) {
+        this.literals = literals.toArray(new String[0]);
+        this.conversions = new byte[conversions.size()];
+        int literalLength = 0;
+        for (String literal : this.literals) {
+            literalLength += literal.length();
+        }
+        for (int i = 0; i < this.conversions.length; i++) {
+            this.conversions[i] = conversions.get(i);
+        }
+        this.capacity = literalLength + this.conversions.length * ARGUMENT_ESTIMATE;
+    }
+
+    public static EmailTemplate compile(String format) {
+        List<String> literals = new ArrayList<>();
+        List<Byte> conversions = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < format.length()) {
+            char c = format.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            if (format.startsWith("%%", i)) {
+                literal.append('%');
+                i += 2;
+                continue;
+            }
+            byte conversion;
+            if (format.startsWith("%s", i)) {
+                conversion = STRING;
+                i += 2;
+            } else if (format.startsWith("%d", i)) {
+                conversion = INTEGER;
+                i += 2;
+            } else if (format.startsWith("%.2f", i)) {
+                conversion = FIXED_TWO;
+                i += 4;
+            } else {
+                throw new IllegalArgumentException("Unsupported format specifier at index " + i);
+            }
+            literals.add(literal.toString());
+            literal.setLength(0);
+            conversions.add(conversion);
+        }
+        literals.add(literal.toString());
+        return new EmailTemplate(literals, conversions);
+    }
+
+    public String render(Object... args) {
+        if (args.length != conversions.length) {
+            throw new IllegalArgumentException("Expected " + conversions.length + " arguments but got " + args.length);
+        }
+        StringBuilder out = new StringBuilder(capacity);
+        for (int i = 0; i < conversions.length; i++) {
+            out.append(literals[i]);
+            appendArgument(out, conversions[i], args[i]);
+        }
+        out.append(literals[conversions.length]);
+        return out.toString();
+    }
+
+    private static void appendArgument(StringBuilder out, byte conversion, Object arg) {
+        if (arg == null) {
+            // Like String.format, the .2 precision also truncates "null"
+            out.append(conversion == FIXED_TWO ? "nu" : "null");
+            return;
+        }
+        switch (conversion) {
+            case INTEGER:
+                if (!(arg instanceof Integer || arg instanceof Long || arg instanceof Short
+                        || arg instanceof Byte || arg instanceof BigInteger)) {
+                    throw new IllegalArgumentException("%d does not accept " + arg.getClass().getName());
+                }
+                out.append(arg);
+                break;
+            case FIXED_TWO:
+                out.append(fixedTwo(arg));
+                break;
+            default:
+                out.append(arg);
+        }
+    }
+
+    // Same rounding (HALF_UP) and decimal separator as %.2f in the default format locale
+    private static String fixedTwo(Object arg) {
+        BigDecimal value;
+        if (arg instanceof BigDecimal decimal) {
+            value = decimal;
+        } else if (arg instanceof Double number) {
+            value = BigDecimal.valueOf(number);
+        } else {
+            throw new IllegalArgumentException("%.2f does not accept " + arg.getClass().getName());
+        }
+        String plain = value.setScale(2, RoundingMode.HALF_UP).toPlainString();
+        char separator = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT)).getDecimalSeparator();
+        return separator == '.' ? plain : plain.replace('.', separator);
+    }
+}
@@ -2,7 +2,9 @@ package com.skyapartments.booking.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -12,7 +14,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import com.skyapartments.booking.dto.FilterNightRangesDTO;
+import com.skyapartments.booking.dto.FilterRangesResponseDTO;
 import com.skyapartments.booking.dto.FiltersByDateResponseDTO;
+import com.skyapartments.booking.dto.NightRangeDTO;
 import com.skyapartments.booking.exception.BusinessValidationException;
 import com.skyapartments.booking.exception.ResourceNotFoundException;
 import com.skyapartments.booking.dto.FilterDTO;
@@ -25,9 +30,11 @@ import com.skyapartments.booking.repository.FilterRepository;
 public class FilterService {
 
     private final FilterRepository filterRepository;
+    private final PricingEngine pricingEngine;
 
-    public FilterService(FilterRepository filterRepository) {
+    public FilterService(FilterRepository filterRepository, PricingEngine pricingEngine) {
         this.filterRepository = filterRepository;
+        this.pricingEngine = pricingEngine;
     }
 
     public Page<FilterDTO> findAll(Pageable pageable) {
@@ -44,6 +51,7 @@ public class FilterService {
         Filter filter = new Filter(filterDTO);
         validateFilter(filter);
         Filter savedFilter = filterRepository.save(filter);
+        pricingEngine.invalidate();
         return new FilterDTO(savedFilter);
     }
     
@@ -55,6 +63,7 @@ public class FilterService {
         filter.setId(id);
         validateFilter(filter);
         Filter updatedFilter = filterRepository.save(filter);
+        pricingEngine.invalidate();
         return new FilterDTO(updatedFilter);
     }
     
@@ -63,6 +72,7 @@ public class FilterService {
             throw new ResourceNotFoundException("Filter not found with id: " + id);
         }
         filterRepository.deleteById(id);
+        pricingEngine.invalidate();
     }
 
     public FiltersByDateResponseDTO getApplicableFiltersByDate(LocalDate checkInDate, LocalDate checkOutDate) {
@@ -93,6 +103,36 @@ public class FilterService {
         return new FiltersByDateResponseDTO(checkInDate, checkOutDate, totalNights, filtersByDate);
     }
 
+    /*
+     * Same filters as getApplicableFiltersByDate, but each one is returned once with the
+     * nights it covers. Reads the rules the pricing engine already compiled; they are sorted
+     * by their first night, so one sweep over them stops at the first rule starting after the stay.
+     */
+    public FilterRangesResponseDTO getApplicableFilterRanges(LocalDate checkInDate, LocalDate checkOutDate) {
+        PricingRules rules = pricingEngine.currentRules();
+        long firstNight = checkInDate.toEpochDay();
+        long lastNight = checkOutDate.toEpochDay() - 1;
+
+        List<FilterNightRangesDTO> applicable = new ArrayList<>();
+        for (int rule : rules.rulesForStay(checkInDate, checkOutDate, LocalDateTime.now())) {
+            long[] ranges = rules.nightRanges(rule, firstNight, lastNight);
+            if (ranges.length == 0) {
+                continue;
+            }
+            List<NightRangeDTO> nights = new ArrayList<>(ranges.length / 2);
+            for (int i = 0; i < ranges.length; i += 2) {
+                nights.add(new NightRangeDTO(LocalDate.ofEpochDay(ranges[i]), LocalDate.ofEpochDay(ranges[i + 1])));
+            }
+            applicable.add(new FilterNightRangesDTO(rules.filter(rule), nights));
+        }
+        // Same order as the per-night lists
+        applicable.sort(Comparator.comparing(ranges -> ranges.getFilter().getId()));
+
+        int totalNights = (int) java.time.temporal.ChronoUnit.DAYS.between(checkInDate, checkOutDate);
+
+        return new FilterRangesResponseDTO(checkInDate, checkOutDate, totalNights, applicable);
+    }
+
     private void validateFilter(Filter filter) {
         if (filter.getName() == null || filter.getName().trim().isEmpty()) {
             throw new BusinessValidationException("Filter name is required");
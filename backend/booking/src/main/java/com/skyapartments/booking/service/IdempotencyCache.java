@@ -0,0 +1,137 @@
+package com.skyapartments.booking.service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.skyapartments.booking.dto.BookingDTO;
+import com.skyapartments.booking.exception.BusinessValidationException;
+import com.skyapartments.common.feign.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Remembers the outcome of booking requests sent with an Idempotency-Key, so a client retrying
+ * after a timeout gets the original booking back instead of a second one. Keys are scoped to the
+ * user and kept for a fixed time, with a cap on the number of entries: the oldest completed ones
+ * go first. Requests still running are never evicted, so a new key is turned away while the cache
+ * is full of them.
+ *
+ * A duplicate arriving while the first request is still running waits for its result. Failed
+ * requests are forgotten, so they can be retried with the same key.
+ *
+ * Entries live in the memory of this instance only. A retry routed to another instance of the
+ * service, or sent after a restart, runs the request again.
+ */
+@Component
+public class IdempotencyCache {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    // Insertion order is also expiry order, since every entry lives for the same time
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyCache(@Value("${booking.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${booking.idempotency.ttl:24h}") Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public BookingDTO execute(String scope, String key, List<Object> fingerprint, Supplier<BookingDTO> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessValidationException("Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String id = scope + '\n' + key;
+        Entry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            long now = System.nanoTime();
+            evictExpired(now);
+            entry = entries.get(id);
+            if (entry == null) {
+                if (entries.size() >= maxEntries && !evictCompleted()) {
+                    throw new ServiceUnavailableException("Too many booking requests in progress, please retry later");
+                }
+                entry = new Entry(fingerprint, now + ttlNanos);
+                entries.put(id, entry);
+                owner = true;
+            } else if (!entry.fingerprint.equals(fingerprint)) {
+                throw new BusinessValidationException("Idempotency-Key was already used for a different booking request");
+            }
+        }
+
+        if (owner) {
+            return run(id, entry, action);
+        }
+        Metrics.counter("booking.idempotency.replayed").increment();
+        try {
+            return entry.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private BookingDTO run(String id, Entry entry, Supplier<BookingDTO> action) {
+        try {
+            BookingDTO result = action.get();
+            entry.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            synchronized (entries) {
+                entries.remove(id, entry);
+            }
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiresAt - now <= 0) {
+            iterator.remove();
+        }
+    }
+
+    // Evicting a running request would let its retry run a second time
+    private boolean evictCompleted() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().result.isDone()) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Entry {
+
+        private final List<Object> fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<BookingDTO> result = new CompletableFuture<>();
+
+        private Entry(List<Object> fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
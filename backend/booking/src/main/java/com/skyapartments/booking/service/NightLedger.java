@@ -0,0 +1,90 @@
+package com.skyapartments.booking.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.skyapartments.booking.exception.BusinessValidationException;
+import com.skyapartments.booking.model.BookedNight;
+import com.skyapartments.booking.model.Booking;
+import com.skyapartments.booking.repository.BookedNightRepository;
+import com.skyapartments.booking.repository.BookingRepository;
+
+/**
+ * Records every night held by an active booking in the booked_night table. Its primary key
+ * (apartment_id, night) makes the database reject a second booking of the same night, even
+ * when two requests pass the availability check at the same time.
+ *
+ * Claims and releases must run in the caller's transaction, next to the booking write, so a
+ * rejected claim rolls the whole booking change back.
+ */
+@Component
+public class NightLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(NightLedger.class);
+    private static final int PURGE_CHUNK = 5000;
+
+    private final BookedNightRepository bookedNightRepository;
+    private final BookingRepository bookingRepository;
+
+    public NightLedger(BookedNightRepository bookedNightRepository, BookingRepository bookingRepository) {
+        this.bookedNightRepository = bookedNightRepository;
+        this.bookingRepository = bookingRepository;
+    }
+
+    // Nights from start to end date, both included, like the booking overlap check
+    public void claim(Booking booking) {
+        List<BookedNight> nights = new ArrayList<>();
+        for (LocalDate night = booking.getStartDate(); !night.isAfter(booking.getEndDate()); night = night.plusDays(1)) {
+            nights.add(new BookedNight(booking.getApartmentId(), night, booking.getId()));
+        }
+        try {
+            bookedNightRepository.saveAllAndFlush(nights);
+        } catch (DataIntegrityViolationException e) {
+            throw new BusinessValidationException("The apartment is not available for the selected dates");
+        }
+    }
+
+    public void release(Booking booking) {
+        bookedNightRepository.deleteByBookingId(booking.getId());
+    }
+
+    public void reclaim(Booking booking) {
+        release(booking);
+        claim(booking);
+    }
+
+    /**
+     * Removes nights before the given day. No other stay can claim them again: new bookings
+     * and moved dates cannot start in the past, and a stay in progress whose end date is moved
+     * keeps its start date, so it only claims back its own past nights.
+     */
+    public int purgeBefore(LocalDate today) {
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = bookedNightRepository.deleteNightsBefore(today, PURGE_CHUNK);
+            purged += deleted;
+        } while (deleted == PURGE_CHUNK);
+        return purged;
+    }
+
+    // Fills the ledger for bookings written before it existed or directly into the database
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        for (Booking booking : bookingRepository.findActiveWithoutBookedNights(LocalDate.now())) {
+            try {
+                claim(booking);
+            } catch (BusinessValidationException e) {
+                log.warn("Booking {} overlaps nights already held by another booking", booking.getId());
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.skyapartments.booking.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+
+import com.skyapartments.booking.dto.ApartmentDTO;
+import com.skyapartments.booking.dto.CalendarNightDTO;
+import com.skyapartments.booking.dto.PriceCalendarDTO;
+import com.skyapartments.booking.exception.BusinessValidationException;
+import com.skyapartments.booking.exception.ResourceNotFoundException;
+import com.skyapartments.common.cache.NearCache;
+
+/**
+ * Serves per-night prices and availability for the next 12 months of an apartment from
+ * precomputed arrays. Prices are rebuilt when the pricing rules change, availability when
+ * the apartment's stays change, and the base price is refetched after {@link #BASE_PRICE_TTL}.
+ *
+ * Nightly prices only include unconditional filters: last-minute and long-stay adjustments
+ * depend on the whole stay and are applied when quoting or booking it.
+ */
+@Service
+public class PriceCalendarService {
+
+    static final int WINDOW_DAYS = 366;
+    private static final Duration BASE_PRICE_TTL = Duration.ofMinutes(10);
+
+    private final NearCache<Long, ApartmentDTO> apartmentCache;
+    private final PricingEngine pricingEngine;
+    private final AvailabilityIndex availabilityIndex;
+    private final Map<Long, PriceCalendar> calendars = new ConcurrentHashMap<>();
+
+    public PriceCalendarService(NearCache<Long, ApartmentDTO> apartmentCache, PricingEngine pricingEngine, AvailabilityIndex availabilityIndex) {
+        this.apartmentCache = apartmentCache;
+        this.pricingEngine = pricingEngine;
+        this.availabilityIndex = availabilityIndex;
+    }
+
+    public PriceCalendarDTO getCalendar(Long apartmentId, LocalDate startDate, LocalDate endDate) {
+        LocalDate today = LocalDate.now();
+        if (!startDate.isBefore(endDate)) {
+            throw new BusinessValidationException("Start date must be before end date");
+        }
+        if (startDate.isBefore(today)) {
+            throw new BusinessValidationException("Start date cannot be in the past");
+        }
+        if (endDate.isAfter(today.plusDays(WINDOW_DAYS))) {
+            throw new BusinessValidationException("The calendar only covers the next " + WINDOW_DAYS + " days");
+        }
+
+        PriceCalendar calendar = currentCalendar(apartmentId, today);
+        int offset = (int) ChronoUnit.DAYS.between(today, startDate);
+        int nights = (int) ChronoUnit.DAYS.between(startDate, endDate);
+
+        List<CalendarNightDTO> result = new ArrayList<>(nights);
+        for (int i = 0; i < nights; i++) {
+            int night = offset + i;
+            result.add(new CalendarNightDTO(
+                startDate.plusDays(i),
+                BigDecimal.valueOf(calendar.nightCents[night], 2),
+                !calendar.unavailable.get(night)
+            ));
+        }
+        return new PriceCalendarDTO(apartmentId, startDate, endDate, result);
+    }
+
+    private PriceCalendar currentCalendar(Long apartmentId, LocalDate today) {
+        // Versions are read before computing, so a concurrent change triggers a rebuild next time
+        PricingRules rules = pricingEngine.currentRules();
+        long availabilityVersion = availabilityIndex.getVersion(apartmentId);
+        Instant now = Instant.now();
+
+        PriceCalendar cached = calendars.get(apartmentId);
+        boolean sameWindow = cached != null && cached.firstDay.equals(today);
+        boolean basePriceFresh = sameWindow && now.isBefore(cached.loadedAt.plus(BASE_PRICE_TTL));
+
+        if (basePriceFresh
+                && cached.pricingVersion == rules.getVersion()
+                && cached.availabilityVersion == availabilityVersion) {
+            return cached;
+        }
+
+        BigDecimal basePrice = basePriceFresh ? cached.basePrice : fetchBasePrice(apartmentId);
+        Instant loadedAt = basePriceFresh ? cached.loadedAt : now;
+
+        long[] nightCents = sameWindow
+                && cached.pricingVersion == rules.getVersion()
+                && cached.basePrice.compareTo(basePrice) == 0
+            ? cached.nightCents
+            : computeNightCents(rules, basePrice, today);
+        BitSet unavailable = sameWindow && cached.availabilityVersion == availabilityVersion
+            ? cached.unavailable
+            : availabilityIndex.unavailableNights(apartmentId, today, WINDOW_DAYS);
+
+        PriceCalendar calendar = new PriceCalendar(today, loadedAt, basePrice, rules.getVersion(),
+                availabilityVersion, nightCents, unavailable);
+        calendars.put(apartmentId, calendar);
+        return calendar;
+    }
+
+    private BigDecimal fetchBasePrice(Long apartmentId) {
+        ApartmentDTO apartment = apartmentCache.get(apartmentId);
+        if (apartment == null) {
+            throw new ResourceNotFoundException("Apartment not found");
+        }
+        return apartment.getPrice();
+    }
+
+    private long[] computeNightCents(PricingRules rules, BigDecimal basePrice, LocalDate firstDay) {
+        int[] unconditionalRules = rules.unconditionalRules();
+        PricingRules.BasePrice base = new PricingRules.BasePrice(basePrice);
+        long firstNight = firstDay.toEpochDay();
+        long[] nightCents = new long[WINDOW_DAYS];
+        for (int i = 0; i < WINDOW_DAYS; i++) {
+            nightCents[i] = base.nightCents(rules.adjustmentOn(unconditionalRules, firstNight + i));
+        }
+        return nightCents;
+    }
+
+    private static final class PriceCalendar {
+
+        private final LocalDate firstDay;
+        private final Instant loadedAt;
+        private final BigDecimal basePrice;
+        private final long pricingVersion;
+        private final long availabilityVersion;
+        private final long[] nightCents;
+        private final BitSet unavailable;
+
+        private PriceCalendar(LocalDate firstDay, Instant loadedAt, BigDecimal basePrice, long pricingVersion,
+                              long availabilityVersion, long[] nightCents, BitSet unavailable) {
+            this.firstDay = firstDay;
+            this.loadedAt = loadedAt;
+            this.basePrice = basePrice;
+            this.pricingVersion = pricingVersion;
+            this.availabilityVersion = availabilityVersion;
+            this.nightCents = nightCents;
+            this.unavailable = unavailable;
+        }
+    }
+}
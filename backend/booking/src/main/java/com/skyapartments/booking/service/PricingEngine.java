@@ -0,0 +1,65 @@
+package com.skyapartments.booking.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.skyapartments.booking.repository.FilterRepository;
+
+/**
+ * Holds the {@link PricingRules} compiled from the active filters. Filter changes bump a
+ * version row shared by all instances; each instance reads it at most once per poll interval,
+ * and right after its own changes, and rebuilds the rules lazily when it has moved.
+ */
+@Component
+public class PricingEngine {
+
+    private final FilterRepository filterRepository;
+    private final long pollIntervalNanos;
+    private volatile long version;
+    private volatile long polledAt;
+    private volatile boolean stale = true;
+    private volatile PricingRules rules;
+
+    public PricingEngine(FilterRepository filterRepository,
+                         @Value("${booking.pricing.version-poll-interval:5s}") Duration pollInterval) {
+        this.filterRepository = filterRepository;
+        this.pollIntervalNanos = pollInterval.toNanos();
+    }
+
+    public PricingRules currentRules() {
+        long currentVersion = getVersion();
+        PricingRules cached = rules;
+        if (cached != null && cached.getVersion() == currentVersion) {
+            return cached;
+        }
+        // Compiled under the version read before loading, so a concurrent change forces a rebuild
+        PricingRules compiled = PricingRules.compile(filterRepository.findByActivatedTrueOrderByIdAsc(), currentVersion);
+        rules = compiled;
+        return compiled;
+    }
+
+    public void invalidate() {
+        filterRepository.bumpPricingVersion();
+        stale = true;
+    }
+
+    public long getVersion() {
+        long now = System.nanoTime();
+        if (stale || now - polledAt >= pollIntervalNanos) {
+            // Cleared before reading, so an invalidation racing with this poll forces another one
+            stale = false;
+            polledAt = now;
+            version = filterRepository.findPricingVersion();
+        }
+        return version;
+    }
+
+    public BigDecimal calculateCost(BigDecimal basePrice, LocalDate startDate, LocalDate endDate) {
+        return currentRules().totalCost(basePrice, startDate, endDate, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,342 @@
+package com.skyapartments.booking.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.skyapartments.booking.dto.FilterDTO;
+import com.skyapartments.booking.model.ConditionType;
+import com.skyapartments.booking.model.Filter;
+
+/**
+ * Immutable table compiled from the active filters. Each rule is reduced to an epoch-day
+ * range, a weekday bitmask, a stay condition and a signed factor in units of 1/10000,
+ * so a stay is priced with integer arithmetic and no per-night allocation.
+ *
+ * Results are identical to applying {@link Filter#isApplicableOnDate} and
+ * {@link Filter#meetsCondition} night by night with BigDecimal.
+ */
+public final class PricingRules {
+
+    static final long FACTOR_ONE = 10_000L;
+
+    private static final int ALL_WEEK_DAYS = 0x7F;
+    private static final int MAX_FAST_SCALE = 8;
+    private static final long[] POWERS_OF_TEN = new long[MAX_FAST_SCALE + 3];
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+        }
+    }
+
+    private static final byte CONDITION_NONE = 0;
+    private static final byte CONDITION_LAST_MINUTE = 1;
+    private static final byte CONDITION_LONG_STAY = 2;
+
+    private final long version;
+    private final int size;
+    // Rules sorted by 'from', open-ended rules first
+    private final long[] from;
+    private final long[] to;
+    private final int[] weekDayMask;
+    private final byte[] condition;
+    private final long[] threshold;
+    private final long[] factor;
+    private final FilterDTO[] filters;
+
+    private PricingRules(long version, List<CompiledRule> rules) {
+        this.version = version;
+        this.size = rules.size();
+        this.from = new long[size];
+        this.to = new long[size];
+        this.weekDayMask = new int[size];
+        this.condition = new byte[size];
+        this.threshold = new long[size];
+        this.factor = new long[size];
+        this.filters = new FilterDTO[size];
+        for (int i = 0; i < size; i++) {
+            CompiledRule rule = rules.get(i);
+            from[i] = rule.from;
+            to[i] = rule.to;
+            weekDayMask[i] = rule.weekDayMask;
+            condition[i] = rule.condition;
+            threshold[i] = rule.threshold;
+            factor[i] = rule.factor;
+            filters[i] = rule.filter;
+        }
+    }
+
+    public static PricingRules compile(List<Filter> filters, long version) {
+        List<CompiledRule> rules = new ArrayList<>(filters.size());
+        for (Filter filter : filters) {
+            CompiledRule rule = CompiledRule.of(filter);
+            if (rule != null) {
+                rules.add(rule);
+            }
+        }
+        rules.sort(Comparator.comparingLong((CompiledRule rule) -> rule.from));
+        return new PricingRules(version, rules);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the indexes of the rules whose condition holds for the stay and whose range
+     * touches at least one of its nights, in ascending 'from' order.
+     */
+    public int[] rulesForStay(LocalDate checkIn, LocalDate checkOut, LocalDateTime now) {
+        long firstNight = checkIn.toEpochDay();
+        long lastNight = checkOut.toEpochDay() - 1;
+        long nights = lastNight - firstNight + 1;
+        long hoursUntilCheckIn = Duration.between(now, checkIn.atStartOfDay()).toHours();
+
+        int[] selected = new int[size];
+        int count = 0;
+        for (int i = 0; i < size && from[i] <= lastNight; i++) {
+            if (to[i] < firstNight) {
+                continue;
+            }
+            if (condition[i] == CONDITION_LAST_MINUTE && hoursUntilCheckIn > threshold[i]) {
+                continue;
+            }
+            if (condition[i] == CONDITION_LONG_STAY && nights < threshold[i]) {
+                continue;
+            }
+            selected[count++] = i;
+        }
+        return Arrays.copyOf(selected, count);
+    }
+
+    /**
+     * Returns the indexes of the rules that do not depend on the stay (no condition).
+     */
+    public int[] unconditionalRules() {
+        int[] selected = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (condition[i] == CONDITION_NONE) {
+                selected[count++] = i;
+            }
+        }
+        return Arrays.copyOf(selected, count);
+    }
+
+    /**
+     * Sum of the factors of the given rules that apply on the night, in units of 1/10000.
+     */
+    public long adjustmentOn(int[] rules, long epochDay) {
+        int weekDayBit = 1 << (int) Math.floorMod(epochDay + 3, 7L); // epoch day 0 was a Thursday
+        long adjustment = 0L;
+        for (int rule : rules) {
+            if (from[rule] > epochDay) {
+                break;
+            }
+            if (to[rule] >= epochDay && (weekDayMask[rule] & weekDayBit) != 0) {
+                adjustment += factor[rule];
+            }
+        }
+        return adjustment;
+    }
+
+    public boolean appliesOn(int rule, long epochDay) {
+        int weekDayBit = 1 << (int) Math.floorMod(epochDay + 3, 7L);
+        return from[rule] <= epochDay && to[rule] >= epochDay && (weekDayMask[rule] & weekDayBit) != 0;
+    }
+
+    /**
+     * Nights between firstNight and lastNight on which the rule applies, merged into
+     * inclusive (start, end) epoch-day pairs laid out in a flat array.
+     */
+    public long[] nightRanges(int rule, long firstNight, long lastNight) {
+        long start = Math.max(from[rule], firstNight);
+        long end = Math.min(to[rule], lastNight);
+        if (start > end) {
+            return new long[0];
+        }
+        if (weekDayMask[rule] == ALL_WEEK_DAYS) {
+            return new long[] {start, end};
+        }
+        // Two weeks of the mask, so runs going from Sunday into Monday are read without wrapping
+        int weeks = weekDayMask[rule] | weekDayMask[rule] << 7;
+        long[] ranges = new long[(int) (end - start) + 2];
+        int count = 0;
+        long night = start;
+        while (night <= end) {
+            int following = weeks >>> (int) Math.floorMod(night + 3, 7L);
+            if ((following & 1) == 0) {
+                // Skips to the next weekday of the mask
+                night += Integer.numberOfTrailingZeros(following);
+                continue;
+            }
+            long runEnd = Math.min(night + Integer.numberOfTrailingZeros(~following) - 1, end);
+            ranges[count++] = night;
+            ranges[count++] = runEnd;
+            night = runEnd + 1;
+        }
+        return Arrays.copyOf(ranges, count);
+    }
+
+    public Long filterId(int rule) {
+        return filters[rule].getId();
+    }
+
+    /**
+     * The filter the rule was compiled from, as it was when the table was compiled.
+     */
+    public FilterDTO filter(int rule) {
+        return filters[rule];
+    }
+
+    public BigDecimal totalCost(BigDecimal basePrice, LocalDate checkIn, LocalDate checkOut, LocalDateTime now) {
+        int[] rules = rulesForStay(checkIn, checkOut, now);
+        BasePrice base = new BasePrice(basePrice);
+        long totalCents = 0L;
+        for (long night = checkIn.toEpochDay(); night < checkOut.toEpochDay(); night++) {
+            totalCents += base.nightCents(adjustmentOn(rules, night));
+        }
+        return BigDecimal.valueOf(totalCents, 2);
+    }
+
+    /**
+     * Base price of an apartment prepared for repeated night pricing.
+     */
+    public static final class BasePrice {
+
+        private final BigDecimal price;
+        private final long unscaled;
+        private final long divisor;
+        private final boolean fast;
+
+        public BasePrice(BigDecimal price) {
+            BigDecimal normalized = price.scale() < 0 ? price.setScale(0) : price;
+            this.price = normalized;
+            boolean fits = normalized.scale() <= MAX_FAST_SCALE && normalized.unscaledValue().bitLength() < 63;
+            this.fast = fits;
+            this.unscaled = fits ? normalized.unscaledValue().longValue() : 0L;
+            this.divisor = fits ? POWERS_OF_TEN[normalized.scale() + 2] : 0L;
+        }
+
+        /**
+         * Night price in cents for the given adjustment, rounded half up like the BigDecimal path.
+         */
+        public long nightCents(long adjustment) {
+            if (fast) {
+                try {
+                    return divideHalfUp(Math.multiplyExact(unscaled, FACTOR_ONE + adjustment), divisor);
+                } catch (ArithmeticException overflow) {
+                    // Fall back to the exact BigDecimal computation below
+                }
+            }
+            BigDecimal percentage = BigDecimal.valueOf(adjustment, 4);
+            return price.add(price.multiply(percentage))
+                    .setScale(2, RoundingMode.HALF_UP)
+                    .unscaledValue()
+                    .longValueExact();
+        }
+
+        private static long divideHalfUp(long dividend, long divisor) {
+            long quotient = dividend / divisor;
+            long remainder = dividend % divisor;
+            if (Math.abs(remainder) * 2 >= divisor) {
+                quotient += Long.signum(dividend);
+            }
+            return quotient;
+        }
+    }
+
+    private static final class CompiledRule {
+
+        private long from = Long.MIN_VALUE;
+        private long to = Long.MAX_VALUE;
+        private int weekDayMask = ALL_WEEK_DAYS;
+        private byte condition = CONDITION_NONE;
+        private long threshold;
+        private long factor;
+        private FilterDTO filter;
+
+        // Returns null for filters that can never apply
+        static CompiledRule of(Filter filter) {
+            if (!Boolean.TRUE.equals(filter.getActivated()) || filter.getDateType() == null || filter.getValue() == null) {
+                return null;
+            }
+            CompiledRule rule = new CompiledRule();
+            rule.filter = new FilterDTO(filter);
+
+            switch (filter.getDateType()) {
+                case EVERY_DAY:
+                    break;
+                case DATE_RANGE:
+                    if (!rule.withRange(filter)) return null;
+                    break;
+                case WEEK_DAYS:
+                    if (!rule.withWeekDays(filter)) return null;
+                    break;
+                case DATE_RANGE_WEEK_DAYS:
+                    if (!rule.withRange(filter) || !rule.withWeekDays(filter)) return null;
+                    break;
+                default:
+                    return null;
+            }
+
+            ConditionType conditionType = filter.getConditionType();
+            if (conditionType == ConditionType.LAST_MINUTE) {
+                if (filter.getAnticipationHours() == null) return null;
+                rule.condition = CONDITION_LAST_MINUTE;
+                rule.threshold = filter.getAnticipationHours();
+            } else if (conditionType == ConditionType.LONG_STAY) {
+                if (filter.getMinDays() == null) return null;
+                rule.condition = CONDITION_LONG_STAY;
+                rule.threshold = filter.getMinDays();
+            }
+
+            long units = filter.getValue()
+                    .divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP)
+                    .unscaledValue()
+                    .longValueExact();
+            rule.factor = Boolean.TRUE.equals(filter.getIncrement()) ? units : -units;
+            return rule;
+        }
+
+        private boolean withRange(Filter filter) {
+            if (filter.getStartDate() == null || filter.getEndDate() == null) {
+                return false;
+            }
+            from = filter.getStartDate().toEpochDay();
+            to = filter.getEndDate().toEpochDay();
+            return from <= to;
+        }
+
+        private boolean withWeekDays(Filter filter) {
+            if (filter.getWeekDays() == null || filter.getWeekDays().trim().isEmpty()) {
+                return false;
+            }
+            int mask = 0;
+            for (String day : filter.getWeekDays().split(",")) {
+                try {
+                    int dayOfWeek = Integer.parseInt(day.trim()); // 1=Monday, 7=Sunday
+                    if (dayOfWeek >= 1 && dayOfWeek <= 7) {
+                        mask |= 1 << (dayOfWeek - 1);
+                    }
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+            }
+            weekDayMask = mask;
+            return mask != 0;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.skyapartments.booking.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.skyapartments.booking.dto.StayStatsDTO;
+import com.skyapartments.booking.dto.StayStatsReportDTO;
+import com.skyapartments.booking.exception.BusinessValidationException;
+import com.skyapartments.booking.model.Booking;
+import com.skyapartments.booking.repository.ApartmentClient;
+
+/**
+ * Nights sold and revenue per apartment and night, kept up to date as bookings change so that
+ * occupancy, ADR and revenue reports read a few aggregate rows instead of the booking table.
+ *
+ * A stay counts for the nights it is priced for, from the start date to the night before the end
+ * date, and its cost is spread evenly over them. Cancelled bookings do not count. Changes are written
+ * in the caller's transaction, so the figures commit or roll back together with the booking.
+ *
+ * The totals over all apartments are the hot rows: every booking of a night writes them. They are
+ * split into NIGHT_SHARDS rows per night, picked by apartment id, so bookings of different apartments
+ * rarely wait on each other, and reports sum the shards of each night.
+ */
+@Service
+public class StayStatistics {
+
+    public enum Granularity { DAY, MONTH }
+
+    private static final int MAX_REPORT_DAYS = 3660;
+
+    private static final int NIGHT_SHARDS = 16;
+
+    private static final Logger log = LoggerFactory.getLogger(StayStatistics.class);
+
+    private static final String UPSERT_APARTMENT_NIGHT_SQL = """
+        INSERT INTO apartment_night_stats (apartment_id, night, booked_nights, revenue)
+        VALUES (?, ?, ?, ?) AS delta
+        ON DUPLICATE KEY UPDATE booked_nights = apartment_night_stats.booked_nights + delta.booked_nights,
+                                revenue = apartment_night_stats.revenue + delta.revenue
+        """;
+
+    private static final String UPSERT_NIGHT_SQL = """
+        INSERT INTO night_stats (night, shard, booked_nights, revenue)
+        VALUES (?, ?, ?, ?) AS delta
+        ON DUPLICATE KEY UPDATE booked_nights = night_stats.booked_nights + delta.booked_nights,
+                                revenue = night_stats.revenue + delta.revenue
+        """;
+
+    private static final String STAYS_OF_APARTMENT_SQL = """
+        SELECT start_date, end_date, cost
+        FROM booking
+        WHERE apartment_id = ? AND state <> 'CANCELLED' AND end_date > start_date
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApartmentClient apartmentClient;
+
+    public StayStatistics(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, ApartmentClient apartmentClient) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.apartmentClient = apartmentClient;
+    }
+
+    public void booked(Booking booking) {
+        apply(new Changes().add(booking));
+    }
+
+    public void cancelled(Booking booking) {
+        apply(new Changes().remove(booking));
+    }
+
+    public void apply(Changes changes) {
+        // Rows are written in key order, so concurrent bookings lock the shared night rows in the same order
+        writeApartmentNights(changes);
+        writeNights(changes);
+    }
+
+    private void writeApartmentNights(Changes changes) {
+        List<Object[]> rows = new ArrayList<>();
+        changes.apartmentNights.forEach((apartmentId, nights) -> nights.forEach((night, figures) -> {
+            if (figures[0] != 0 || figures[1] != 0) {
+                rows.add(new Object[] { apartmentId, night, figures[0], BigDecimal.valueOf(figures[1], 2) });
+            }
+        }));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_APARTMENT_NIGHT_SQL, rows);
+        }
+    }
+
+    private void writeNights(Changes changes) {
+        List<Object[]> rows = new ArrayList<>();
+        changes.nights.forEach((night, shards) -> shards.forEach((shard, figures) -> {
+            if (figures[0] != 0 || figures[1] != 0) {
+                rows.add(new Object[] { night, shard, figures[0], BigDecimal.valueOf(figures[1], 2) });
+            }
+        }));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_NIGHT_SQL, rows);
+        }
+    }
+
+    /**
+     * Figures of an apartment, or of all apartments when no id is given, for each day or month of
+     * the range and in total. Available nights of the whole catalogue come from the apartment service.
+     */
+    public StayStatsReportDTO report(Long apartmentId, LocalDate startDate, LocalDate endDate, Granularity granularity) {
+        if (endDate.isBefore(startDate)) {
+            throw new BusinessValidationException("End date must be after start date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_REPORT_DAYS) {
+            throw new BusinessValidationException("A report cannot exceed " + MAX_REPORT_DAYS + " days");
+        }
+
+        NavigableMap<LocalDate, long[]> figures = new TreeMap<>();
+        if (apartmentId == null) {
+            jdbcTemplate.query("SELECT night, SUM(booked_nights), SUM(revenue) FROM night_stats WHERE night BETWEEN ? AND ? GROUP BY night",
+                rows -> { figures.put(rows.getObject(1, LocalDate.class), new long[] { rows.getLong(2), cents(rows.getBigDecimal(3)) }); },
+                startDate, endDate);
+        } else {
+            jdbcTemplate.query("SELECT night, booked_nights, revenue FROM apartment_night_stats WHERE apartment_id = ? AND night BETWEEN ? AND ?",
+                rows -> { figures.put(rows.getObject(1, LocalDate.class), new long[] { rows.getLong(2), cents(rows.getBigDecimal(3)) }); },
+                apartmentId, startDate, endDate);
+        }
+        long apartments = apartmentId == null ? apartmentClient.countApartments() : 1;
+
+        List<StayStatsDTO> periods = new ArrayList<>();
+        LocalDate periodStart = startDate;
+        while (!periodStart.isAfter(endDate)) {
+            LocalDate periodEnd = granularity == Granularity.MONTH
+                ? min(periodStart.with(TemporalAdjusters.lastDayOfMonth()), endDate)
+                : periodStart;
+            periods.add(summarize(figures.subMap(periodStart, true, periodEnd, true), periodStart, periodEnd, apartments));
+            periodStart = periodEnd.plusDays(1);
+        }
+        return new StayStatsReportDTO(apartmentId, summarize(figures, startDate, endDate, apartments), periods);
+    }
+
+    /**
+     * Recomputes every figure from the booking table, for bookings written before the figures
+     * existed or directly into the database. Each apartment is rebuilt in its own short transaction,
+     * so bookings only wait for the apartment being recounted, never for the whole rebuild.
+     */
+    public void rebuild() {
+        long startNanos = System.nanoTime();
+        List<Long> apartmentIds = jdbcTemplate.queryForList(
+            "SELECT apartment_id FROM booking UNION SELECT apartment_id FROM apartment_night_stats", Long.class);
+        for (Long apartmentId : apartmentIds) {
+            transactionTemplate.executeWithoutResult(status -> rebuild(apartmentId));
+        }
+        log.info("Rebuilt stay statistics of {} apartments in {} ms", apartmentIds.size(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /*
+     * Locking the apartment's figures first makes its bookings changed meanwhile wait and add their
+     * change on top, and the stays are only read once the lock is held. Writing the difference
+     * between the recounted and the stored figures also corrects the apartment's share of the totals.
+     */
+    private void rebuild(Long apartmentId) {
+        Changes changes = new Changes();
+        jdbcTemplate.query("SELECT night, booked_nights, revenue FROM apartment_night_stats WHERE apartment_id = ? FOR UPDATE",
+            rows -> { changes.subtract(apartmentId, rows.getObject(1, LocalDate.class), rows.getLong(2), cents(rows.getBigDecimal(3))); },
+            apartmentId);
+        jdbcTemplate.query(STAYS_OF_APARTMENT_SQL,
+            rows -> { changes.count(apartmentId, rows.getObject(1, LocalDate.class), rows.getObject(2, LocalDate.class), rows.getBigDecimal(3), 1); },
+            apartmentId);
+        apply(changes);
+        jdbcTemplate.update("DELETE FROM apartment_night_stats WHERE apartment_id = ? AND booked_nights = 0 AND revenue = 0", apartmentId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Boolean empty = jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM night_stats)", Boolean.class);
+        Boolean stays = jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM booking WHERE state <> 'CANCELLED' AND end_date > start_date)", Boolean.class);
+        if (Boolean.TRUE.equals(empty) && Boolean.TRUE.equals(stays)) {
+            rebuild();
+        }
+    }
+
+    private static StayStatsDTO summarize(Map<LocalDate, long[]> figures, LocalDate startDate, LocalDate endDate, long apartments) {
+        long bookedNights = 0;
+        long revenueCents = 0;
+        for (long[] night : figures.values()) {
+            bookedNights += night[0];
+            revenueCents += night[1];
+        }
+        long availableNights = apartments * (ChronoUnit.DAYS.between(startDate, endDate) + 1);
+        return new StayStatsDTO(startDate, endDate, availableNights, bookedNights, BigDecimal.valueOf(revenueCents, 2));
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount == null ? 0 : amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    /**
+     * Pending changes to the figures, summed per night so each row is written once.
+     */
+    public static final class Changes {
+
+        private final NavigableMap<Long, NavigableMap<LocalDate, long[]>> apartmentNights = new TreeMap<>();
+        private final NavigableMap<LocalDate, NavigableMap<Integer, long[]>> nights = new TreeMap<>();
+
+        public Changes add(Booking booking) {
+            return count(booking.getApartmentId(), booking.getStartDate(), booking.getEndDate(), booking.getCost(), 1);
+        }
+
+        public Changes remove(Booking booking) {
+            return count(booking.getApartmentId(), booking.getStartDate(), booking.getEndDate(), booking.getCost(), -1);
+        }
+
+        // The first nights take the cents that do not divide evenly, so removing a stay undoes it exactly
+        private Changes count(Long apartmentId, LocalDate startDate, LocalDate endDate, BigDecimal cost, int sign) {
+            if (startDate == null || endDate == null) {
+                return this;
+            }
+            long stayNights = ChronoUnit.DAYS.between(startDate, endDate);
+            if (stayNights <= 0) {
+                return this;
+            }
+            long totalCents = cents(cost);
+            long nightCents = totalCents / stayNights;
+            long remainder = totalCents % stayNights;
+            LocalDate night = startDate;
+            for (long i = 0; i < stayNights; i++, night = night.plusDays(1)) {
+                long revenue = nightCents + (i < remainder ? 1 : 0);
+                accumulate(apartmentId, night, sign, sign * revenue);
+            }
+            return this;
+        }
+
+        // Takes back figures already stored, so applying the changes replaces them
+        private void subtract(Long apartmentId, LocalDate night, long bookedNights, long revenueCents) {
+            accumulate(apartmentId, night, -bookedNights, -revenueCents);
+        }
+
+        private void accumulate(Long apartmentId, LocalDate night, long bookedNights, long revenueCents) {
+            long[] apartmentFigures = apartmentNights.computeIfAbsent(apartmentId, id -> new TreeMap<>())
+                .computeIfAbsent(night, n -> new long[2]);
+            long[] nightFigures = nights.computeIfAbsent(night, n -> new TreeMap<>())
+                .computeIfAbsent(Math.floorMod(apartmentId, NIGHT_SHARDS), shard -> new long[2]);
+            apartmentFigures[0] += bookedNights;
+            apartmentFigures[1] += revenueCents;
+            nightFigures[0] += bookedNights;
+            nightFigures[1] += revenueCents;
+        }
+    }
+}
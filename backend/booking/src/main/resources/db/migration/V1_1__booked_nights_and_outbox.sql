@@ -0,0 +1,28 @@
+-- Tables added after the Hibernate-generated schema: the per-night booking ledger and the
+-- email outbox. Runs on databases baselined at V1 too, before the indexes of V2.
+
+create table booked_night (
+    apartment_id bigint not null,
+    night date not null,
+    booking_id bigint not null,
+    primary key (apartment_id, night)
+);
+
+create index idx_booked_night_booking on booked_night (booking_id);
+
+create table outbox_email (
+    id bigint not null auto_increment,
+    recipient varchar(255) not null,
+    reply_to varchar(255),
+    subject varchar(255) not null,
+    body mediumtext not null,
+    status enum('PENDING','SENT','DEAD') not null,
+    attempts integer not null,
+    next_attempt_at datetime(6) not null,
+    last_error varchar(1000),
+    created_date datetime(6) not null,
+    sent_date datetime(6),
+    primary key (id)
+);
+
+create index idx_outbox_email_status_next_attempt on outbox_email (status, next_attempt_at);
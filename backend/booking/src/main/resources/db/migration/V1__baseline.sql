@@ -0,0 +1,32 @@
+-- Schema as generated by Hibernate (ddl-auto=update) before the service moved to Flyway.
+-- Existing databases are baselined at this version, so it must not change.
+
+create table booking (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    apartment_id bigint not null,
+    start_date date,
+    end_date date,
+    cost decimal(38,2),
+    state enum('CONFIRMED','CANCELLED','COMPLETED'),
+    created_date datetime(6) not null,
+    guests integer not null,
+    primary key (id)
+);
+
+create table filter (
+    id bigint not null auto_increment,
+    name varchar(255) not null,
+    description varchar(500),
+    activated bit not null,
+    increment bit not null,
+    value decimal(5,2) not null,
+    date_type enum('DATE_RANGE','EVERY_DAY','WEEK_DAYS','DATE_RANGE_WEEK_DAYS') not null,
+    start_date date,
+    end_date date,
+    week_days varchar(20),
+    condition_type enum('LAST_MINUTE','LONG_STAY','NONE'),
+    anticipation_hours integer,
+    min_days integer,
+    primary key (id)
+);
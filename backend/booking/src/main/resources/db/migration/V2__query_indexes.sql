@@ -0,0 +1,19 @@
+-- Indexes for the queries in BookingRepository and BookedNightRepository
+
+-- Calendar of one apartment: existsOverlapping, findByApartmentId*, existsByApartmentId
+create index idx_booking_apartment_state_dates on booking (apartment_id, state, start_date, end_date);
+
+-- Bookings of one user, newest stay first
+create index idx_booking_user_start on booking (user_id, start_date);
+
+-- Stays ending from a date: findUnavailableApartments, findBookedRangesEndingFrom
+create index idx_booking_end_start on booking (end_date, start_date);
+
+-- Confirmed bookings by end date: completeEndedBefore, findActiveWithoutBookedNights
+create index idx_booking_state_end on booking (state, end_date);
+
+-- Check-in reminders: findByStartDateAndState
+create index idx_booking_start_state on booking (start_date, state);
+
+-- Pruning of past nights: deleteNightsBefore
+create index idx_booked_night_night on booked_night (night);
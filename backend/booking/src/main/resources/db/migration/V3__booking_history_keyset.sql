@@ -0,0 +1,3 @@
+-- Booking history of an apartment, newest first, read by (start_date, id) keyset:
+-- findByApartmentIdOrderByStartDateDescIdDesc, findByApartmentIdBefore
+create index idx_booking_apartment_start on booking (apartment_id, start_date);
@@ -0,0 +1,18 @@
+-- Nights sold and their revenue, for confirmed and completed bookings. Kept up to date by
+-- StayStatistics on every booking change, so analytics never aggregate the booking table.
+
+create table apartment_night_stats (
+    apartment_id bigint not null,
+    night date not null,
+    booked_nights integer not null,
+    revenue decimal(19,2) not null,
+    primary key (apartment_id, night)
+);
+
+-- Same figures summed over all apartments, so global ranges read one row per night
+create table night_stats (
+    night date not null,
+    booked_nights integer not null,
+    revenue decimal(19,2) not null,
+    primary key (night)
+);
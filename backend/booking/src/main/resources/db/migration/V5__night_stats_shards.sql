@@ -0,0 +1,8 @@
+-- Every booking added its nights to the one global row of each night, so bookings of different
+-- apartments over the same busy nights queued on the same rows. The global figures are now split
+-- over a few rows per night, picked by apartment id, and reports sum them. Existing figures stay
+-- in shard 0.
+
+alter table night_stats add column shard smallint default 0 not null;
+alter table night_stats drop primary key;
+alter table night_stats add primary key (night, shard);
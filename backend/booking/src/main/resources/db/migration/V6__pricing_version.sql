@@ -0,0 +1,11 @@
+-- Version of the active filters, bumped on every filter change. Each instance compiles the
+-- filters into pricing rules and polls this row, so a change made through one instance
+-- reaches the others (and their price calendars) within the poll interval.
+
+create table pricing_version (
+    id smallint not null,
+    version bigint not null,
+    primary key (id)
+);
+
+insert into pricing_version (id, version) values (1, 0);
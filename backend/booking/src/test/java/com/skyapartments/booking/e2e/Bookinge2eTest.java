@@ -971,6 +971,43 @@ public class Bookinge2eTest {
             .statusCode(anyOf(equalTo(200), equalTo(204)));
     }
 
+    @Test
+    @Order(53)
+    public void getBookingsByUserId_ShouldFollowNextCursor_UntilLastPage() {
+        for (int i = 1; i <= 6; i++) {
+            bookingRepository.save(new Booking(
+                regularUserId,
+                1L,
+                LocalDate.now().plusDays(20 + i),
+                LocalDate.now().plusDays(21 + i),
+                BigDecimal.valueOf(100.0),
+                2
+            ));
+        }
+
+        Response firstPage = given()
+            .cookies(userCookies)
+            .queryParam("pageSize", "5")
+        .when()
+            .get("/api/v1/bookings/user/{userId}", regularUserId);
+        firstPage.then()
+            .statusCode(200)
+            .body("size()", equalTo(5))
+            .header("X-Next-Cursor", notNullValue());
+
+        given()
+            .cookies(userCookies)
+            .queryParam("pageSize", "5")
+            .queryParam("cursor", firstPage.getHeader("X-Next-Cursor"))
+        .when()
+            .get("/api/v1/bookings/user/{userId}", regularUserId)
+        .then()
+            .statusCode(200)
+            .body("size()", equalTo(2))
+            .body("id", everyItem(not(in(firstPage.jsonPath().getList("id")))))
+            .header("X-Next-Cursor", nullValue());
+    }
+
     // ==================== SECURITY TESTS ====================
 
     @Test
@@ -0,0 +1,199 @@
+package com.skyapartments.booking.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skyapartments.booking.dto.BookingImportResultDTO;
+import com.skyapartments.booking.exception.BusinessValidationException;
+import com.skyapartments.booking.model.Booking;
+import com.skyapartments.booking.model.BookingState;
+import com.skyapartments.booking.repository.BookedNightRepository;
+import com.skyapartments.booking.repository.BookingRepository;
+import com.skyapartments.booking.service.AvailabilityIndex;
+import com.skyapartments.booking.service.BookingBulkService;
+import com.skyapartments.booking.service.BookingBulkService.Format;
+import com.skyapartments.booking.service.NightLedger;
+import com.skyapartments.booking.service.StayStatistics;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+public class BookingBulkServiceIntegrationTest {
+    @Container
+    public static final MySQLContainer<?> mysqlContainer =
+            new MySQLContainer<>("mysql:8.0")
+                    .withDatabaseName("testdb")
+                    .withUsername("testuser")
+                    .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        // MySQL
+        registry.add("spring.datasource.url", mysqlContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", mysqlContainer::getUsername);
+        registry.add("spring.datasource.password", mysqlContainer::getPassword);
+        registry.add("spring.datasource.driver-class-name", mysqlContainer::getDriverClassName);
+    }
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookedNightRepository bookedNightRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StayStatistics stayStatistics;
+
+    private BookingBulkService bookingBulkService;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        bookedNightRepository.deleteAll();
+        bookingRepository.deleteAll();
+        // Small chunks so the tests cross chunk boundaries
+        bookingBulkService = new BookingBulkService(jdbcTemplate, transactionManager, objectMapper,
+            new AvailabilityIndex(bookingRepository, Duration.ofMinutes(5)), new NightLedger(bookedNightRepository, bookingRepository), stayStatistics, 2);
+    }
+
+    @Test
+    public void export_ShouldWriteEveryBookingInIdOrder_AsNdjson() throws IOException {
+        Booking first = bookingRepository.save(new Booking(1L, 10L, today.plusDays(1), today.plusDays(3), BigDecimal.valueOf(300), 2));
+        Booking second = bookingRepository.save(new Booking(2L, 20L, today.plusDays(4), today.plusDays(5), BigDecimal.valueOf(200), 1));
+
+        String[] lines = export(Format.NDJSON).split("\n");
+
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("id").asLong()).isEqualTo(first.getId());
+        assertThat(objectMapper.readTree(lines[0]).get("state").asText()).isEqualTo("CONFIRMED");
+        assertThat(objectMapper.readTree(lines[1]).get("id").asLong()).isEqualTo(second.getId());
+        assertThat(objectMapper.readTree(lines[1]).get("startDate").asText()).isEqualTo(today.plusDays(4).toString());
+    }
+
+    @Test
+    public void export_ShouldWriteHeaderAndRows_AsCsv() throws IOException {
+        Booking booking = bookingRepository.save(new Booking(1L, 10L, today.plusDays(1), today.plusDays(3), BigDecimal.valueOf(300), 2));
+
+        String[] lines = export(Format.CSV).split("\n");
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("id,userId,apartmentId,startDate,endDate,cost,state,guests,createdDate");
+        assertThat(lines[1]).startsWith(booking.getId() + ",1,10," + today.plusDays(1) + "," + today.plusDays(3) + ",");
+        assertThat(lines[1]).contains(",CONFIRMED,2,");
+    }
+
+    @Test
+    public void importBookings_ShouldInsertValidRowsAndReportTheOthers_FromNdjson() throws IOException {
+        bookingRepository.save(new Booking(9L, 10L, today.plusDays(20), today.plusDays(22), BigDecimal.valueOf(300), 2));
+        String input = String.join("\n",
+            record(1L, 10L, today.plusDays(1), today.plusDays(3), "CONFIRMED"),
+            record(2L, 10L, today.plusDays(2), today.plusDays(4), "CONFIRMED"),    // overlaps the row above
+            record(3L, 10L, today.plusDays(21), today.plusDays(23), "CONFIRMED"),  // overlaps a stored booking
+            record(4L, 10L, today.plusDays(2), today.plusDays(4), "CANCELLED"),
+            "{not json",
+            record(5L, 20L, today.plusDays(5), today.plusDays(3), "CONFIRMED"),    // ends before it starts
+            record(6L, 20L, today.minusDays(10), today.minusDays(8), "COMPLETED"));
+
+        BookingImportResultDTO result = importBookings(Format.NDJSON, input);
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getRejected()).isEqualTo(4);
+        assertThat(result.getErrors()).containsExactly(
+            "Line 2: The apartment is not available for the selected dates",
+            "Line 3: The apartment is not available for the selected dates",
+            "Line 5: Malformed booking",
+            "Line 6: End date must be after start date");
+        assertThat(bookingRepository.count()).isEqualTo(4);
+        // Only the imported confirmed stay holds nights, next to the stored booking which has none
+        assertThat(bookedNightRepository.findAll()).extracting(night -> night.getId().getNight())
+            .containsExactlyInAnyOrder(today.plusDays(1), today.plusDays(2), today.plusDays(3));
+    }
+
+    @Test
+    public void importBookings_ShouldReadColumnsByHeaderName_FromCsv() throws IOException {
+        String input = String.join("\n",
+            "guests,apartmentId,userId,startDate,endDate,state",
+            "2,10,1," + today.plusDays(1) + "," + today.plusDays(3) + ",",
+            "2,10,1," + today.plusDays(3) + "," + today.plusDays(5) + ",CONFIRMED",
+            "0,30,1," + today.plusDays(1) + "," + today.plusDays(3) + ",");
+
+        BookingImportResultDTO result = importBookings(Format.CSV, input);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors()).containsExactly(
+            "Line 3: The apartment is not available for the selected dates",
+            "Line 4: Guests must be at least 1");
+        List<Booking> bookings = bookingRepository.findAll();
+        assertThat(bookings).hasSize(1);
+        assertThat(bookings.get(0).getState()).isEqualTo(BookingState.CONFIRMED);
+        assertThat(bookings.get(0).getCreatedDate()).isNotNull();
+    }
+
+    @Test
+    public void importBookings_ShouldRejectUnknownCsvColumns() {
+        assertThatThrownBy(() -> importBookings(Format.CSV, "userId,apartment\n1,10"))
+            .isInstanceOf(BusinessValidationException.class);
+        assertThat(bookingRepository.count()).isZero();
+    }
+
+    @Test
+    public void exportThenImport_ShouldRoundTripTheBookings() throws IOException {
+        bookingRepository.save(new Booking(1L, 10L, today.plusDays(1), today.plusDays(3), BigDecimal.valueOf(300), 2));
+        bookingRepository.save(new Booking(2L, 20L, today.plusDays(4), today.plusDays(5), BigDecimal.valueOf(200), 1));
+        String exported = export(Format.CSV);
+        bookedNightRepository.deleteAll();
+        bookingRepository.deleteAll();
+
+        BookingImportResultDTO result = importBookings(Format.CSV, exported);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejected()).isZero();
+        assertThat(bookingRepository.findAll()).extracting(Booking::getApartmentId).containsExactlyInAnyOrder(10L, 20L);
+    }
+
+    private String export(Format format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        bookingBulkService.export(format, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private BookingImportResultDTO importBookings(Format format, String input) throws IOException {
+        return bookingBulkService.importBookings(format, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String record(Long userId, Long apartmentId, LocalDate startDate, LocalDate endDate, String state) {
+        return "{\"userId\":" + userId + ",\"apartmentId\":" + apartmentId + ",\"startDate\":\"" + startDate
+            + "\",\"endDate\":\"" + endDate + "\",\"cost\":100,\"state\":\"" + state + "\",\"guests\":2}";
+    }
+}
@@ -0,0 +1,70 @@
+package com.skyapartments.booking.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Migrates a database created by Hibernate before the service used Flyway, holding only the
+ * booking and filter tables, the way a production database is upgraded: baselined at V1, then
+ * every later script runs.
+ */
+@Testcontainers
+public class BookingMigrationIntegrationTest {
+    @Container
+    public static final MySQLContainer<?> mysqlContainer =
+            new MySQLContainer<>("mysql:8.0")
+                    .withDatabaseName("testdb")
+                    .withUsername("testuser")
+                    .withPassword("testpass");
+
+    @Test
+    public void migrate_ShouldUpgradeADatabaseBaselinedAtTheHibernateSchema() throws IOException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            mysqlContainer.getJdbcUrl(), mysqlContainer.getUsername(), mysqlContainer.getPassword());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // The schema Hibernate left behind, with a booking in it
+        String baseline = new ClassPathResource("db/migration/V1__baseline.sql").getContentAsString(StandardCharsets.UTF_8);
+        for (String statement : baseline.replaceAll("(?m)^--.*$", "").split(";")) {
+            if (!statement.isBlank()) {
+                jdbcTemplate.execute(statement);
+            }
+        }
+        jdbcTemplate.update("insert into booking (user_id, apartment_id, start_date, end_date, cost, state, created_date, guests) "
+            + "values (1, 10, '2030-01-10', '2030-01-12', 200.00, 'CONFIRMED', now(), 2)");
+
+        // Same settings as application.properties
+        Flyway flyway = Flyway.configure()
+            .dataSource(dataSource)
+            .baselineOnMigrate(true)
+            .baselineVersion("1")
+            .load();
+        flyway.migrate();
+
+        // V1 is only recorded as the baseline, the tables added since then are created by V1.1
+        assertThat(Arrays.stream(flyway.info().applied()).map(info -> info.getVersion().getVersion()))
+            .startsWith("1", "1.1", "2");
+        assertThat(flyway.info().pending()).isEmpty();
+
+        List<String> tables = jdbcTemplate.queryForList(
+            "select table_name from information_schema.tables where table_schema = database()", String.class);
+        assertThat(tables).contains("booking", "filter", "booked_night", "outbox_email", "night_stats", "apartment_night_stats");
+        List<String> indexes = jdbcTemplate.queryForList(
+            "select distinct index_name from information_schema.statistics where table_schema = database()", String.class);
+        assertThat(indexes).contains("idx_booked_night_night", "idx_booking_apartment_state_dates", "idx_outbox_email_status_next_attempt");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from booking", Integer.class)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,78 @@
+package com.skyapartments.booking.integration;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import com.skyapartments.booking.model.Booking;
+import com.skyapartments.booking.model.BookingState;
+import com.skyapartments.booking.model.OutboxStatus;
+import com.skyapartments.booking.repository.BookedNightRepository;
+import com.skyapartments.booking.repository.BookingRepository;
+import com.skyapartments.booking.repository.OutboxEmailRepository;
+import com.skyapartments.common.testutils.AbstractQueryPlanIntegrationTest;
+
+/**
+ * Checks that every repository query is answered from an index.
+ *
+ * Left out on purpose, as they read everything they touch: the FilterRepository queries
+ * (a small table of rules).
+ */
+public class BookingQueryPlanIntegrationTest extends AbstractQueryPlanIntegrationTest {
+
+    private static final Pageable PAGE = PageRequest.of(1, 10);
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Booking.class)
+    @EnableJpaRepositories(basePackageClasses = BookingRepository.class)
+    static class RepositoriesOnly {
+    }
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookedNightRepository bookedNightRepository;
+
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @Test
+    void bookingQueries_ShouldUseIndexes() {
+        assertIndexed("findByUserIdOrderByStartDateDescIdDesc", () -> bookingRepository.findByUserIdOrderByStartDateDescIdDesc(1L, PAGE));
+        assertIndexed("findByApartmentIdOrderByStartDateDescIdDesc", () -> bookingRepository.findByApartmentIdOrderByStartDateDescIdDesc(1L, PAGE));
+        assertIndexed("findByUserIdBefore", () -> bookingRepository.findByUserIdBefore(1L, TODAY, 10L, PageRequest.of(0, 10)));
+        assertIndexed("findByApartmentIdBefore", () -> bookingRepository.findByApartmentIdBefore(1L, TODAY, 10L, PageRequest.of(0, 10)));
+        assertIndexed("findBookedRangesOfApartmentEndingFrom", () -> bookingRepository.findBookedRangesOfApartmentEndingFrom(1L, TODAY));
+        assertIndexed("existsOverlapping", () -> bookingRepository.existsOverlapping(1L, TODAY, TODAY.plusDays(3), null));
+        assertIndexed("findUnavailableApartments", () -> bookingRepository.findUnavailableApartments(TODAY, TODAY.plusDays(3)));
+        assertIndexed("findBookedRangesEndingFrom", () -> bookingRepository.findBookedRangesEndingFrom(TODAY));
+        assertIndexed("completeEndedBefore", () -> bookingRepository.completeEndedBefore(TODAY, 100));
+        assertIndexed("findActiveWithoutBookedNights", () -> bookingRepository.findActiveWithoutBookedNights(TODAY));
+        assertIndexed("findByUserIdAndApartmentIdAndState", () -> bookingRepository.findByUserIdAndApartmentIdAndState(1L, 1L, BookingState.COMPLETED));
+        assertIndexed("findByStartDateAndState", () -> bookingRepository.findByStartDateAndState(TODAY, BookingState.CONFIRMED));
+        assertIndexed("existsByApartmentId", () -> bookingRepository.existsByApartmentId(1L));
+    }
+
+    @Test
+    void bookedNightQueries_ShouldUseIndexes() {
+        assertIndexed("deleteByBookingId", () -> bookedNightRepository.deleteByBookingId(1L));
+        assertIndexed("deleteNightsBefore", () -> bookedNightRepository.deleteNightsBefore(TODAY, 100));
+    }
+
+    @Test
+    void outboxQueries_ShouldUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        assertIndexed("findDueIds", () -> outboxEmailRepository.findDueIds(now, PageRequest.of(0, 10)));
+        assertIndexed("claim", () -> outboxEmailRepository.claim(1L, now, now.plusMinutes(5)));
+        assertIndexed("complete", () -> outboxEmailRepository.complete(1L, 1, OutboxStatus.SENT, now, null, now));
+    }
+}
@@ -1,6 +1,6 @@
 package com.skyapartments.booking.integration;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
@@ -16,6 +16,7 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 
 import org.junit.jupiter.api.Test;
@@ -37,11 +38,20 @@ import com.skyapartments.booking.exception.ResourceNotFoundException;
 import com.skyapartments.booking.model.Booking;
 import com.skyapartments.booking.model.BookingState;
 import com.skyapartments.booking.repository.ApartmentClient;
+import com.skyapartments.booking.repository.BookedNightRepository;
 import com.skyapartments.booking.repository.BookingRepository;
 import com.skyapartments.booking.repository.FilterRepository;
 import com.skyapartments.booking.repository.UserClient;
+import com.skyapartments.booking.service.AvailabilityIndex;
+import com.skyapartments.booking.service.AvailabilityNotifier;
 import com.skyapartments.booking.service.BookingService;
 import com.skyapartments.booking.service.EmailService;
+import com.skyapartments.booking.service.NightLedger;
+import com.skyapartments.booking.service.PricingEngine;
+import com.skyapartments.booking.service.StayStatistics;
+import com.skyapartments.common.cache.NearCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Testcontainers
@@ -67,10 +77,19 @@ public class BookingServiceIntegrationTest {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private BookedNightRepository bookedNightRepository;
+
+    @Autowired
+    private StayStatistics stayStatistics;
+
+    private NightLedger nightLedger;
+
     private UserClient userClient = mock(UserClient.class);
     private ApartmentClient apartmentClient = mock(ApartmentClient.class);
     private EmailService emailService = mock(EmailService.class);
     private FilterRepository filterRepository = mock(FilterRepository.class);
+    private AvailabilityNotifier availabilityNotifier = mock(AvailabilityNotifier.class);
 
     private Booking booking1;
     private Booking booking2;
@@ -78,7 +97,9 @@ public class BookingServiceIntegrationTest {
     @BeforeEach
     void setUp() throws Exception {
         bookingRepository.deleteAll();
-        bookingService = new BookingService(bookingRepository, userClient, apartmentClient, emailService, filterRepository);
+        bookedNightRepository.deleteAll();
+        nightLedger = new NightLedger(bookedNightRepository, bookingRepository);
+        bookingService = new BookingService(bookingRepository, userClient, apartmentClient, new NearCache<>("apartment", apartmentClient::getApartment, Duration.ZERO, 0, new SimpleMeterRegistry()), emailService, new PricingEngine(filterRepository, Duration.ofSeconds(5)), new AvailabilityIndex(bookingRepository, Duration.ofMinutes(5)), nightLedger, availabilityNotifier, stayStatistics);
 
         booking1 = new Booking(1L, 10L, LocalDate.now().plusDays(1), LocalDate.now().plusDays(3), BigDecimal.valueOf(300.0), 2);
         booking2 = new Booking(1L, 20L, LocalDate.now().plusDays(4), LocalDate.now().plusDays(5), BigDecimal.valueOf(200.0), 3);
@@ -95,7 +116,7 @@ public class BookingServiceIntegrationTest {
         when(userClient.getUserIdByEmail(email)).thenReturn(userId);
 
         // when
-        Page<BookingDTO> result = bookingService.getBookingsByUserId(userId, pageable, email);
+        Slice<BookingDTO> result = bookingService.getBookingsByUserId(userId, pageable, email);
 
         // then
         assertThat(result).hasSize(1);
@@ -131,7 +152,7 @@ public class BookingServiceIntegrationTest {
 
         when(apartmentClient.getApartment(apartmentId)).thenReturn(new ApartmentDTO());
 
-        Page<BookingDTO> result = bookingService.getBookingsByApartmentId(apartmentId, pageable);
+        Slice<BookingDTO> result = bookingService.getBookingsByApartmentId(apartmentId, pageable);
 
         assertThat(result).hasSize(1);
         assertThat(result.getContent().get(0).getApartmentId()).isEqualTo(20L);
@@ -554,6 +575,67 @@ public class BookingServiceIntegrationTest {
         assertEquals(ex.getMessage(), "User email does not match booking owner");
     }
 
+    @Test
+    public void markCompletedBookings_ShouldCompleteOnlyEndedConfirmedBookings() {
+        // given
+        Booking ended = new Booking(1L, 10L, LocalDate.now().minusDays(5), LocalDate.now().minusDays(2), BigDecimal.valueOf(300.0), 2);
+        Booking endedCancelled = new Booking(1L, 11L, LocalDate.now().minusDays(5), LocalDate.now().minusDays(2), BigDecimal.valueOf(300.0), 2);
+        endedCancelled.setState(BookingState.CANCELLED);
+        Booking endingToday = new Booking(1L, 12L, LocalDate.now().minusDays(2), LocalDate.now(), BigDecimal.valueOf(300.0), 2);
+        ended = bookingRepository.save(ended);
+        endedCancelled = bookingRepository.save(endedCancelled);
+        endingToday = bookingRepository.save(endingToday);
+        bookingRepository.save(booking1);
+
+        // when
+        int completed = bookingService.markCompletedBookings();
+
+        // then
+        assertThat(completed).isEqualTo(1);
+        assertThat(bookingRepository.findById(ended.getId()).get().getState()).isEqualTo(BookingState.COMPLETED);
+        assertThat(bookingRepository.findById(endedCancelled.getId()).get().getState()).isEqualTo(BookingState.CANCELLED);
+        assertThat(bookingRepository.findById(endingToday.getId()).get().getState()).isEqualTo(BookingState.CONFIRMED);
+    }
+
+    @Test
+    public void nightLedger_ShouldRejectSecondBookingOfTheSameNights() {
+        // given: two bookings that both passed the availability check
+        Booking first = bookingRepository.save(new Booking(1L, 10L, LocalDate.now().plusDays(1), LocalDate.now().plusDays(3), BigDecimal.valueOf(300.0), 2));
+        Booking second = bookingRepository.save(new Booking(2L, 10L, LocalDate.now().plusDays(3), LocalDate.now().plusDays(5), BigDecimal.valueOf(300.0), 2));
+        nightLedger.claim(first);
+
+        // when + then
+        assertThrows(BusinessValidationException.class, () -> nightLedger.claim(second));
+        assertThat(bookedNightRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    public void updateBookingDates_ShouldReleaseOldNightsAndClaimNewOnes() {
+        // given
+        String email = "test@example.com";
+        UserDTO user = new UserDTO();
+        user.setId(1L);
+        user.setEmail(email);
+        ApartmentDTO apartment = new ApartmentDTO();
+        apartment.setId(10L);
+        apartment.setPrice(BigDecimal.valueOf(100));
+        when(userClient.findByEmail(email)).thenReturn(user);
+        when(apartmentClient.getApartment(10L)).thenReturn(apartment);
+
+        Booking booking = bookingRepository.save(booking1);
+        nightLedger.claim(booking);
+
+        // when
+        bookingService.updateBookingDates(booking.getId(), LocalDate.now().plusDays(10), LocalDate.now().plusDays(11), email);
+
+        // then
+        assertThat(bookedNightRepository.findAll())
+                .extracting(night -> night.getId().getNight())
+                .containsExactlyInAnyOrder(LocalDate.now().plusDays(10), LocalDate.now().plusDays(11));
+        Booking other = bookingRepository.save(new Booking(2L, 10L, LocalDate.now().plusDays(1), LocalDate.now().plusDays(3), BigDecimal.valueOf(300.0), 2));
+        nightLedger.claim(other);
+    }
+
     private BookingRequestDTO buildValidRequest() {
         BookingRequestDTO dto = new BookingRequestDTO();
         dto.setUserId(1L);
@@ -0,0 +1,204 @@
+package com.skyapartments.booking.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.skyapartments.security.jwt.JwtTokenProvider;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Calls GET /api/v1/bookings/user/{userId}, which looks the caller up in the user service, while
+ * the user service is a local stub that can hang or answer 404. Checks what the bulkhead, the
+ * read timeout and the circuit breaker of FeignResilienceConfig make of it for the booking client.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class FeignResilienceIntegrationTest {
+    @Container
+    public static final MySQLContainer<?> mysqlContainer =
+            new MySQLContainer<>("mysql:8.0")
+                    .withDatabaseName("testdb")
+                    .withUsername("testuser")
+                    .withPassword("testpass");
+
+    private static final int MAX_CONCURRENT_CALLS = 4;
+
+    private static final HttpServer userService = startUserService();
+    private static final AtomicInteger requests = new AtomicInteger();
+    private static volatile CountDownLatch hung;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        // MySQL
+        registry.add("spring.datasource.url", mysqlContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", mysqlContainer::getUsername);
+        registry.add("spring.datasource.password", mysqlContainer::getPassword);
+        registry.add("spring.datasource.driver-class-name", mysqlContainer::getDriverClassName);
+
+        // The user service is the stub, reached without Eureka over HTTP/1.1
+        registry.add("eureka.client.enabled", () -> "false");
+        registry.add("spring.cloud.discovery.client.simple.instances.user[0].uri",
+            () -> "http://127.0.0.1:" + userService.getAddress().getPort());
+        registry.add("feign.transport.http2", () -> "false");
+        registry.add("spring.cloud.openfeign.client.config.user.read-timeout", () -> "1000");
+        registry.add("feign.resilience.user.max-concurrent-calls", () -> String.valueOf(MAX_CONCURRENT_CALLS));
+        registry.add("feign.resilience.user.sliding-window-size", () -> String.valueOf(MAX_CONCURRENT_CALLS));
+        registry.add("feign.resilience.user.minimum-calls", () -> String.valueOf(MAX_CONCURRENT_CALLS));
+        registry.add("feign.resilience.user.wait-in-open-state", () -> "1m");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @BeforeEach
+    void setUp() {
+        requests.set(0);
+        hung = null;
+    }
+
+    @AfterEach
+    void releaseUserService() {
+        CountDownLatch latch = hung;
+        if (latch != null) {
+            latch.countDown();
+        }
+    }
+
+    @AfterAll
+    static void stopUserService() {
+        userService.stop(0);
+    }
+
+    @Test
+    public void hungUserService_ShouldRejectExtraCallsTimeOutAndOpenTheBreaker() throws Exception {
+        hung = new CountDownLatch(1);
+
+        // Fill the bulkhead with calls the user service never answers
+        List<CompletableFuture<HttpResponse<String>>> held = new ArrayList<>();
+        for (int i = 0; i < MAX_CONCURRENT_CALLS; i++) {
+            held.add(getBookingsAsync());
+        }
+        awaitRequests(MAX_CONCURRENT_CALLS);
+
+        // Every call over the limit is turned away at once, without reaching the user service
+        for (int i = 0; i < 8; i++) {
+            HttpResponse<String> rejected = getBookings();
+            assertThat(rejected.statusCode()).isEqualTo(503);
+            assertThat(rejected.body()).contains("Too many concurrent calls to the user service");
+        }
+        assertThat(requests.get()).isEqualTo(MAX_CONCURRENT_CALLS);
+
+        // The held calls end with the read timeout
+        for (CompletableFuture<HttpResponse<String>> call : held) {
+            HttpResponse<String> timedOut = call.get(30, TimeUnit.SECONDS);
+            assertThat(timedOut.statusCode()).isEqualTo(503);
+            assertThat(timedOut.body()).contains("did not answer in time");
+        }
+
+        // They filled the breaker's window with failures: it is open and calls no longer go out
+        HttpResponse<String> open = getBookings();
+        assertThat(open.statusCode()).isEqualTo(503);
+        assertThat(open.body()).contains("The user service is not available");
+        assertThat(requests.get()).isEqualTo(MAX_CONCURRENT_CALLS);
+    }
+
+    @Test
+    public void clientErrors_ShouldNotOpenTheBreaker() throws Exception {
+        for (int i = 0; i < 2 * MAX_CONCURRENT_CALLS; i++) {
+            assertThat(getBookings().statusCode()).isNotEqualTo(503);
+        }
+
+        // Every call reached the user service, the last ones too
+        assertThat(requests.get()).isEqualTo(2 * MAX_CONCURRENT_CALLS);
+    }
+
+    private HttpResponse<String> getBookings() throws Exception {
+        return getBookingsAsync().get(30, TimeUnit.SECONDS);
+    }
+
+    private CompletableFuture<HttpResponse<String>> getBookingsAsync() {
+        String token = jwtTokenProvider.generateAccessToken(
+            new User("user@example.com", "", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/bookings/user/1"))
+            .header("Cookie", "AuthToken=" + token)
+            .GET()
+            .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void awaitRequests(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (requests.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(requests.get()).as("calls held by the user service").isEqualTo(expected);
+    }
+
+    private static HttpServer startUserService() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 64);
+            server.createContext("/", exchange -> {
+                requests.incrementAndGet();
+                CountDownLatch latch = hung;
+                if (latch != null) {
+                    try {
+                        latch.await(60, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                byte[] body = "{\"message\":\"User not found\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(404, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                } catch (IOException e) {
+                    // The caller timed out and closed the connection
+                }
+            });
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
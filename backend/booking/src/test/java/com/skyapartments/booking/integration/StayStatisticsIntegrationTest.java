@@ -0,0 +1,199 @@
+package com.skyapartments.booking.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.skyapartments.booking.dto.StayStatsDTO;
+import com.skyapartments.booking.dto.StayStatsReportDTO;
+import com.skyapartments.booking.exception.BusinessValidationException;
+import com.skyapartments.booking.model.Booking;
+import com.skyapartments.booking.model.BookingState;
+import com.skyapartments.booking.repository.ApartmentClient;
+import com.skyapartments.booking.repository.BookingRepository;
+import com.skyapartments.booking.service.StayStatistics;
+import com.skyapartments.booking.service.StayStatistics.Granularity;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+public class StayStatisticsIntegrationTest {
+    @Container
+    public static final MySQLContainer<?> mysqlContainer =
+            new MySQLContainer<>("mysql:8.0")
+                    .withDatabaseName("testdb")
+                    .withUsername("testuser")
+                    .withPassword("testpass");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        // MySQL
+        registry.add("spring.datasource.url", mysqlContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", mysqlContainer::getUsername);
+        registry.add("spring.datasource.password", mysqlContainer::getPassword);
+        registry.add("spring.datasource.driver-class-name", mysqlContainer::getDriverClassName);
+    }
+
+    private static final LocalDate JAN_30 = LocalDate.of(2030, 1, 30);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private ApartmentClient apartmentClient = mock(ApartmentClient.class);
+
+    private StayStatistics stayStatistics;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM apartment_night_stats");
+        jdbcTemplate.update("DELETE FROM night_stats");
+        jdbcTemplate.update("DELETE FROM booked_night");
+        bookingRepository.deleteAll();
+        stayStatistics = new StayStatistics(jdbcTemplate, transactionManager, apartmentClient);
+    }
+
+    @Test
+    public void booked_ShouldSpreadTheCostOverThePricedNights() {
+        // Three nights (30, 31 and 1), the end date is the check-out day
+        stayStatistics.booked(stay(10L, JAN_30, JAN_30.plusDays(3), "100.00"));
+
+        StayStatsReportDTO report = stayStatistics.report(10L, JAN_30, JAN_30.plusDays(4), Granularity.DAY);
+
+        assertThat(report.getApartmentId()).isEqualTo(10L);
+        assertThat(report.getPeriods()).hasSize(5);
+        assertThat(report.getPeriods()).extracting(StayStatsDTO::getBookedNights).containsExactly(1L, 1L, 1L, 0L, 0L);
+        assertThat(report.getPeriods()).extracting(StayStatsDTO::getRevenue)
+            .containsExactly(new BigDecimal("33.34"), new BigDecimal("33.33"), new BigDecimal("33.33"),
+                new BigDecimal("0.00"), new BigDecimal("0.00"));
+        StayStatsDTO total = report.getTotal();
+        assertThat(total.getAvailableNights()).isEqualTo(5);
+        assertThat(total.getBookedNights()).isEqualTo(3);
+        assertThat(total.getOccupancyRate()).isEqualByComparingTo("0.6");
+        assertThat(total.getRevenue()).isEqualByComparingTo("100.00");
+        assertThat(total.getAverageDailyRate()).isEqualByComparingTo("33.33");
+    }
+
+    @Test
+    public void cancelled_ShouldRemoveTheStayExactly() {
+        Booking booking = stay(10L, JAN_30, JAN_30.plusDays(3), "100.00");
+        stayStatistics.booked(booking);
+
+        stayStatistics.cancelled(booking);
+
+        StayStatsDTO total = stayStatistics.report(10L, JAN_30, JAN_30.plusDays(4), Granularity.DAY).getTotal();
+        assertThat(total.getBookedNights()).isZero();
+        assertThat(total.getRevenue()).isEqualByComparingTo("0");
+        assertThat(stayStatistics.report(null, JAN_30, JAN_30.plusDays(4), Granularity.DAY).getTotal().getRevenue())
+            .isEqualByComparingTo("0");
+    }
+
+    @Test
+    public void apply_ShouldMoveTheNights_WhenDatesChange() {
+        Booking booking = stay(10L, JAN_30, JAN_30.plusDays(2), "200.00");
+        stayStatistics.booked(booking);
+
+        StayStatistics.Changes changes = new StayStatistics.Changes().remove(booking);
+        booking.setStartDate(JAN_30.plusDays(1));
+        booking.setEndDate(JAN_30.plusDays(4));
+        booking.setCost(new BigDecimal("300.00"));
+        stayStatistics.apply(changes.add(booking));
+
+        StayStatsReportDTO report = stayStatistics.report(10L, JAN_30, JAN_30.plusDays(3), Granularity.DAY);
+        assertThat(report.getPeriods()).extracting(StayStatsDTO::getBookedNights).containsExactly(0L, 1L, 1L, 1L);
+        assertThat(report.getTotal().getRevenue()).isEqualByComparingTo("300.00");
+    }
+
+    @Test
+    public void report_ShouldGroupByMonthAndUseTheWholeCatalogue_WhenNoApartmentIsGiven() {
+        when(apartmentClient.countApartments()).thenReturn(4L);
+        stayStatistics.booked(stay(10L, JAN_30, JAN_30.plusDays(3), "300.00"));
+        stayStatistics.booked(stay(20L, JAN_30.plusDays(2), JAN_30.plusDays(4), "100.00"));
+
+        StayStatsReportDTO report = stayStatistics.report(null, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 2, 28), Granularity.MONTH);
+
+        assertThat(report.getApartmentId()).isNull();
+        assertThat(report.getPeriods()).extracting(StayStatsDTO::getStartDate)
+            .containsExactly(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 2, 1));
+        StayStatsDTO january = report.getPeriods().get(0);
+        assertThat(january.getEndDate()).isEqualTo(LocalDate.of(2030, 1, 31));
+        assertThat(january.getAvailableNights()).isEqualTo(4 * 31);
+        assertThat(january.getBookedNights()).isEqualTo(2);
+        assertThat(january.getRevenue()).isEqualByComparingTo("200.00");
+        StayStatsDTO february = report.getPeriods().get(1);
+        assertThat(february.getBookedNights()).isEqualTo(3);
+        assertThat(february.getRevenue()).isEqualByComparingTo("200.00");
+        assertThat(report.getTotal().getAvailableNights()).isEqualTo(4 * 59);
+        assertThat(report.getTotal().getAverageDailyRate()).isEqualByComparingTo("80.00");
+    }
+
+    @Test
+    public void booked_ShouldSplitTheTotalsOfANightByApartment() {
+        when(apartmentClient.countApartments()).thenReturn(2L);
+        stayStatistics.booked(stay(10L, JAN_30, JAN_30.plusDays(1), "100.00"));
+        stayStatistics.booked(stay(11L, JAN_30, JAN_30.plusDays(1), "50.00"));
+
+        // Bookings of different apartments do not write the same row of the night
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM night_stats WHERE night = ?", Integer.class, JAN_30)).isEqualTo(2);
+        StayStatsDTO night = stayStatistics.report(null, JAN_30, JAN_30, Granularity.DAY).getTotal();
+        assertThat(night.getBookedNights()).isEqualTo(2);
+        assertThat(night.getRevenue()).isEqualByComparingTo("150.00");
+    }
+
+    @Test
+    public void rebuild_ShouldRecomputeTheFiguresFromTheBookings() {
+        stayStatistics.booked(stay(99L, JAN_30, JAN_30.plusDays(1), "999.00")); // Stale figure without booking
+        bookingRepository.save(stay(10L, JAN_30, JAN_30.plusDays(3), "100.00"));
+        Booking cancelled = stay(10L, JAN_30.plusDays(5), JAN_30.plusDays(7), "500.00");
+        cancelled.setState(BookingState.CANCELLED);
+        bookingRepository.save(cancelled);
+        Booking completed = stay(20L, JAN_30, JAN_30.plusDays(2), "150.00");
+        completed.setState(BookingState.COMPLETED);
+        bookingRepository.save(completed);
+
+        stayStatistics.rebuild();
+
+        when(apartmentClient.countApartments()).thenReturn(2L);
+        StayStatsDTO total = stayStatistics.report(null, JAN_30, JAN_30.plusDays(9), Granularity.DAY).getTotal();
+        assertThat(total.getBookedNights()).isEqualTo(5);
+        assertThat(total.getRevenue()).isEqualByComparingTo("250.00");
+        assertThat(stayStatistics.report(99L, JAN_30, JAN_30.plusDays(9), Granularity.DAY).getTotal().getBookedNights()).isZero();
+        assertThat(stayStatistics.report(10L, JAN_30, JAN_30.plusDays(9), Granularity.DAY).getPeriods())
+            .extracting(StayStatsDTO::getRevenue)
+            .startsWith(new BigDecimal("33.34"), new BigDecimal("33.33"), new BigDecimal("33.33"));
+    }
+
+    @Test
+    public void report_ShouldRejectInvalidRanges() {
+        assertThatThrownBy(() -> stayStatistics.report(10L, JAN_30, JAN_30.minusDays(1), Granularity.DAY))
+            .isInstanceOf(BusinessValidationException.class);
+        assertThatThrownBy(() -> stayStatistics.report(10L, JAN_30, JAN_30.plusYears(20), Granularity.MONTH))
+            .isInstanceOf(BusinessValidationException.class);
+    }
+
+    private static Booking stay(Long apartmentId, LocalDate startDate, LocalDate endDate, String cost) {
+        Booking booking = new Booking(1L, apartmentId, startDate, endDate, new BigDecimal(cost), 2);
+        booking.setState(BookingState.CONFIRMED);
+        return booking;
+    }
+}
@@ -0,0 +1,146 @@
+package com.skyapartments.booking.unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.skyapartments.booking.dto.BookedRangeDTO;
+import com.skyapartments.booking.model.Booking;
+import com.skyapartments.booking.repository.BookingRepository;
+import com.skyapartments.booking.service.AvailabilityIndex;
+
+public class AvailabilityIndexUnitTest {
+
+    private BookingRepository bookingRepository = mock(BookingRepository.class);
+    private AvailabilityIndex availabilityIndex = new AvailabilityIndex(bookingRepository, Duration.ofMinutes(5));
+
+    private final LocalDate base = LocalDate.of(2030, 1, 1);
+
+    @Test
+    @DisplayName("Should reject dates overlapping a loaded stay once the database confirms it")
+    void shouldRejectOverlappingDates() {
+        when(bookingRepository.findBookedRangesEndingFrom(any()))
+            .thenReturn(List.of(new BookedRangeDTO(1L, 10L, base.plusDays(5), base.plusDays(10))));
+        when(bookingRepository.existsOverlapping(eq(10L), any(), any(), any())).thenReturn(true);
+        availabilityIndex.loadIndex();
+
+        assertThat(availabilityIndex.isAvailable(10L, base.plusDays(8), base.plusDays(12))).isFalse();
+        assertThat(availabilityIndex.isAvailable(10L, base.plusDays(1), base.plusDays(5))).isFalse();
+        verify(bookingRepository, never()).findBookedRangesOfApartmentEndingFrom(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should accept free dates around existing stays without querying the overlap")
+    void shouldAcceptFreeDates() {
+        when(bookingRepository.findBookedRangesEndingFrom(any()))
+            .thenReturn(List.of(
+                new BookedRangeDTO(1L, 10L, base.plusDays(5), base.plusDays(10)),
+                new BookedRangeDTO(2L, 10L, base.plusDays(20), base.plusDays(25))));
+        availabilityIndex.loadIndex();
+
+        assertThat(availabilityIndex.isAvailable(10L, base.plusDays(11), base.plusDays(19))).isTrue();
+        assertThat(availabilityIndex.isAvailable(10L, base, base.plusDays(4))).isTrue();
+        assertThat(availabilityIndex.isAvailable(10L, base.plusDays(26), base.plusDays(30))).isTrue();
+        verify(bookingRepository, never()).existsOverlapping(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should ignore the booking being updated")
+    void shouldIgnoreUpdatedBooking() {
+        when(bookingRepository.findBookedRangesEndingFrom(any()))
+            .thenReturn(List.of(
+                new BookedRangeDTO(1L, 10L, base.plusDays(5), base.plusDays(10)),
+                new BookedRangeDTO(2L, 10L, base.plusDays(12), base.plusDays(15))));
+        when(bookingRepository.existsOverlapping(eq(10L), any(), any(), eq(2L))).thenReturn(true);
+        availabilityIndex.loadIndex();
+
+        assertThat(availabilityIndex.isAvailable(10L, base.plusDays(13), base.plusDays(16), 2L)).isTrue();
+        assertThat(availabilityIndex.isAvailable(10L, base.plusDays(9), base.plusDays(16), 2L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should free dates after release and block them after register")
+    void shouldTrackRegisterAndRelease() {
+        Booking booking = booking(1L, 10L, base.plusDays(5), base.plusDays(10));
+        when(bookingRepository.existsOverlapping(eq(10L), any(), any(), any())).thenReturn(true);
+
+        availabilityIndex.register(booking);
+        assertThat(availabilityIndex.isAvailable(10L, base.plusDays(6), base.plusDays(7))).isFalse();
+
+        availabilityIndex.release(booking);
+        assertThat(availabilityIndex.isAvailable(10L, base.plusDays(6), base.plusDays(7))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should accept and reload when a stay of the calendar was cancelled elsewhere")
+    void shouldReloadWhenDatabaseDisagrees() {
+        when(bookingRepository.findBookedRangesOfApartmentEndingFrom(eq(10L), any()))
+            .thenReturn(List.of(new BookedRangeDTO(1L, 10L, base.plusDays(1), base.plusDays(2))))
+            .thenReturn(List.of());
+        long version = availabilityIndex.getVersion(10L);
+
+        assertThat(availabilityIndex.isAvailable(10L, base, base.plusDays(3))).isTrue();
+
+        assertThat(availabilityIndex.getVersion(10L)).isNotEqualTo(version);
+        assertThat(availabilityIndex.unavailableNights(10L, base, 4).isEmpty()).isTrue();
+        verify(bookingRepository, times(2)).findBookedRangesOfApartmentEndingFrom(eq(10L), any());
+    }
+
+    @Test
+    @DisplayName("Should see stays written elsewhere once the calendar is reloaded")
+    void shouldReloadCalendar() {
+        assertThat(availabilityIndex.isAvailable(10L, base, base.plusDays(3))).isTrue();
+        when(bookingRepository.findBookedRangesOfApartmentEndingFrom(eq(10L), any()))
+            .thenReturn(List.of(new BookedRangeDTO(1L, 10L, base.plusDays(1), base.plusDays(2))));
+        when(bookingRepository.existsOverlapping(eq(10L), any(), any(), any())).thenReturn(true);
+
+        availabilityIndex.reload(10L);
+
+        assertThat(availabilityIndex.isAvailable(10L, base, base.plusDays(3))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reload calendars older than the maximum age")
+    void shouldReloadExpiredCalendars() {
+        AvailabilityIndex expiring = new AvailabilityIndex(bookingRepository, Duration.ZERO);
+
+        expiring.isAvailable(10L, base, base.plusDays(3));
+        expiring.isAvailable(10L, base, base.plusDays(3));
+
+        verify(bookingRepository, times(2)).findBookedRangesOfApartmentEndingFrom(eq(10L), any());
+    }
+
+    @Test
+    @DisplayName("Should drop the stays that ended")
+    void shouldDropEndedStays() {
+        when(bookingRepository.findBookedRangesEndingFrom(any()))
+            .thenReturn(List.of(
+                new BookedRangeDTO(1L, 10L, base, base.plusDays(2)),
+                new BookedRangeDTO(2L, 10L, base.plusDays(5), base.plusDays(7))));
+        availabilityIndex.loadIndex();
+
+        availabilityIndex.dropEndedBefore(base.plusDays(3));
+
+        assertThat(availabilityIndex.unavailableNights(10L, base, 8).stream().toArray())
+            .containsExactly(4, 5, 6, 7);
+    }
+
+    private Booking booking(Long id, Long apartmentId, LocalDate startDate, LocalDate endDate) {
+        Booking booking = new Booking(1L, apartmentId, startDate, endDate, BigDecimal.valueOf(100), 2);
+        booking.setId(id);
+        return booking;
+    }
+}
@@ -14,34 +14,50 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import com.skyapartments.booking.dto.ApartmentDTO;
+import com.skyapartments.booking.dto.BookedRangeDTO;
+import com.skyapartments.booking.dto.BookingCursor;
 import com.skyapartments.booking.dto.BookingDTO;
 import com.skyapartments.booking.dto.BookingRequestDTO;
+import com.skyapartments.booking.dto.QuoteDTO;
+import com.skyapartments.booking.dto.QuoteRequestDTO;
 import com.skyapartments.booking.dto.UserDTO;
 import com.skyapartments.booking.exception.BusinessValidationException;
 import com.skyapartments.booking.exception.ResourceNotFoundException;
 import com.skyapartments.booking.model.Booking;
 import com.skyapartments.booking.model.BookingState;
 import com.skyapartments.booking.repository.ApartmentClient;
+import com.skyapartments.booking.repository.BookedNightRepository;
 import com.skyapartments.booking.repository.BookingRepository;
 import com.skyapartments.booking.repository.FilterRepository;
 import com.skyapartments.booking.repository.UserClient;
+import com.skyapartments.booking.service.AvailabilityIndex;
+import com.skyapartments.booking.service.AvailabilityNotifier;
 import com.skyapartments.booking.service.BookingService;
 import com.skyapartments.booking.service.EmailService;
+import com.skyapartments.booking.service.NightLedger;
+import com.skyapartments.booking.service.PricingEngine;
+import com.skyapartments.booking.service.StayStatistics;
+import com.skyapartments.common.cache.NearCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 public class BookingServiceUnitTest {
 
@@ -51,9 +67,12 @@ public class BookingServiceUnitTest {
     private ApartmentClient apartmentClient = mock(ApartmentClient.class);
     private EmailService emailService = mock(EmailService.class);
     private FilterRepository filterRepository = mock(FilterRepository.class);
+    private AvailabilityNotifier availabilityNotifier = mock(AvailabilityNotifier.class);
+    private BookedNightRepository bookedNightRepository = mock(BookedNightRepository.class);
+    private StayStatistics stayStatistics = mock(StayStatistics.class);
     
     public BookingServiceUnitTest () {
-        bookingService = new BookingService(bookingRepository, userClient, apartmentClient, emailService, filterRepository);
+        bookingService = new BookingService(bookingRepository, userClient, apartmentClient, new NearCache<>("apartment", apartmentClient::getApartment, Duration.ZERO, 0, new SimpleMeterRegistry()), emailService, new PricingEngine(filterRepository, Duration.ofSeconds(5)), new AvailabilityIndex(bookingRepository, Duration.ofMinutes(5)), new NightLedger(bookedNightRepository, bookingRepository), availabilityNotifier, stayStatistics);
     }
 
     @Test
@@ -81,14 +100,14 @@ public class BookingServiceUnitTest {
         booking2.setState(BookingState.CONFIRMED);
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Booking> bookingPage = new PageImpl<>(List.of(booking1, booking2), pageable, 2);
+        Slice<Booking> bookingPage = new SliceImpl<>(List.of(booking1, booking2), pageable, false);
 
         when(userClient.getUserIdByEmail(email)).thenReturn(userId);
-        when(bookingRepository.findByUserIdOrderByStartDateDesc(userId, pageable))
+        when(bookingRepository.findByUserIdOrderByStartDateDescIdDesc(userId, pageable))
                 .thenReturn(bookingPage);
 
         // when
-        Page<BookingDTO> result = bookingService.getBookingsByUserId(userId, pageable, email);
+        Slice<BookingDTO> result = bookingService.getBookingsByUserId(userId, pageable, email);
 
         // then
         assertThat(result).hasSize(2);
@@ -96,7 +115,7 @@ public class BookingServiceUnitTest {
         assertThat(result.getContent().get(1).getId()).isEqualTo(102L);
 
         verify(userClient).getUserIdByEmail(email);
-        verify(bookingRepository).findByUserIdOrderByStartDateDesc(userId, pageable);
+        verify(bookingRepository).findByUserIdOrderByStartDateDescIdDesc(userId, pageable);
     }
 
     @Test
@@ -132,20 +151,20 @@ public class BookingServiceUnitTest {
         booking2.setState(BookingState.CONFIRMED);
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Booking> bookingPage = new PageImpl<>(List.of(booking1, booking2), pageable, 2);
+        Slice<Booking> bookingPage = new SliceImpl<>(List.of(booking1, booking2), pageable, false);
 
         when(apartmentClient.getApartment(apartmentId)).thenReturn(new ApartmentDTO());
-        when(bookingRepository.findByApartmentIdOrderByStartDateDesc(apartmentId, pageable))
+        when(bookingRepository.findByApartmentIdOrderByStartDateDescIdDesc(apartmentId, pageable))
                 .thenReturn(bookingPage);
 
-        Page<BookingDTO> result = bookingService.getBookingsByApartmentId(apartmentId, pageable);
+        Slice<BookingDTO> result = bookingService.getBookingsByApartmentId(apartmentId, pageable);
 
         assertThat(result).hasSize(2);
         assertThat(result.getContent().get(0).getId()).isEqualTo(101L);
         assertThat(result.getContent().get(1).getId()).isEqualTo(102L);
 
         verify(apartmentClient).getApartment(apartmentId);
-        verify(bookingRepository).findByApartmentIdOrderByStartDateDesc(apartmentId, pageable);
+        verify(bookingRepository).findByApartmentIdOrderByStartDateDescIdDesc(apartmentId, pageable);
     }
 
     @Test
@@ -165,6 +184,38 @@ public class BookingServiceUnitTest {
         verifyNoInteractions(bookingRepository);
     }
 
+    @Test
+    public void getBookingsByUserId_ShouldContinueAfterCursor() {
+        Long userId = 1L;
+        String email = "test@example.com";
+        LocalDate startDate = LocalDate.now().plusDays(4);
+
+        Booking older = new Booking();
+        older.setId(101L);
+        older.setUserId(userId);
+        older.setStartDate(startDate);
+        older.setState(BookingState.CONFIRMED);
+
+        BookingCursor cursor = BookingCursor.decode(new BookingCursor(startDate, 102L).encode());
+
+        when(userClient.getUserIdByEmail(email)).thenReturn(userId);
+        when(bookingRepository.findByUserIdBefore(userId, startDate, 102L, PageRequest.of(0, 10)))
+                .thenReturn(new SliceImpl<>(List.of(older), PageRequest.of(0, 10), false));
+
+        Slice<BookingDTO> result = bookingService.getBookingsByUserId(userId, cursor, 10, email);
+
+        assertThat(result.getContent()).extracting(BookingDTO::getId).containsExactly(101L);
+        assertThat(result.hasNext()).isFalse();
+        assertThat(BookingCursor.after(result.getContent().get(0)).encode())
+                .isEqualTo(new BookingCursor(startDate, 101L).encode());
+    }
+
+    @Test
+    public void bookingCursor_ShouldRejectMalformedValues() {
+        assertThrows(BusinessValidationException.class, () -> BookingCursor.decode("not a cursor"));
+        assertThrows(BusinessValidationException.class, () -> BookingCursor.decode("MTIz"));
+    }
+
     @Test
     public void createBooking_ShouldCreateSuccessfully_WhenUserAndApartmentExist() {
         // given
@@ -181,7 +232,7 @@ public class BookingServiceUnitTest {
 
         when(userClient.findByEmail(email)).thenReturn(user);
         when(apartmentClient.getApartment(2L)).thenReturn(apartment);
-        when(bookingRepository.findByApartmentIdAndStateNot(2L, BookingState.CANCELLED))
+        when(bookingRepository.findBookedRangesOfApartmentEndingFrom(eq(2L), any()))
                 .thenReturn(List.of());
         when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> {
             Booking b = i.getArgument(0);
@@ -202,11 +253,49 @@ public class BookingServiceUnitTest {
 
         verify(userClient).findByEmail(email);
         verify(apartmentClient).getApartment(2L);
-        verify(bookingRepository).findByApartmentIdAndStateNot(2L, BookingState.CANCELLED);
+        verify(bookingRepository).findBookedRangesOfApartmentEndingFrom(eq(2L), any());
         verify(bookingRepository).save(any(Booking.class));
+        verify(stayStatistics).booked(any(Booking.class));
         verify(emailService).sendBookingConfirmation(eq(email), any(BookingDTO.class), eq(apartment), eq(user));
     }
 
+    @Test
+    public void createBooking_ShouldThrowBusinessValidationException_WhenNightsTakenConcurrently() {
+        // given
+        BookingRequestDTO request = buildValidRequest();
+        String email = "test@example.com";
+
+        UserDTO user = new UserDTO();
+        user.setId(1L);
+        user.setEmail(email);
+
+        ApartmentDTO apartment = new ApartmentDTO();
+        apartment.setId(2L);
+        apartment.setPrice(BigDecimal.valueOf(100));
+
+        when(userClient.findByEmail(email)).thenReturn(user);
+        when(apartmentClient.getApartment(2L)).thenReturn(apartment);
+        when(bookingRepository.findBookedRangesOfApartmentEndingFrom(eq(2L), any())).thenReturn(List.of());
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> {
+            Booking b = i.getArgument(0);
+            b.setId(100L);
+            return b;
+        });
+        // Another booking committed the same nights after the availability check
+        when(bookedNightRepository.saveAllAndFlush(any())).thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        // when + then
+        BusinessValidationException ex = assertThrows(BusinessValidationException.class,
+                () -> bookingService.createBooking(request, email));
+
+        assertThat(ex.getMessage()).contains("not available");
+        verify(emailService, never()).sendBookingConfirmation(any(), any(), any(), any());
+
+        // The calendar missed that booking, so the next attempt reads the apartment's stays again
+        assertThrows(BusinessValidationException.class, () -> bookingService.createBooking(request, email));
+        verify(bookingRepository, times(2)).findBookedRangesOfApartmentEndingFrom(eq(2L), any());
+    }
+
     @Test
     public void createBooking_ShouldThrowSecurityException_WhenUserEmailDoesNotMatchId() {
         // given
@@ -303,8 +392,9 @@ public class BookingServiceUnitTest {
 
         when(userClient.findByEmail(email)).thenReturn(user);
         when(apartmentClient.getApartment(2L)).thenReturn(apartment);
-        when(bookingRepository.findByApartmentIdAndStateNot(2L, BookingState.CANCELLED))
-                .thenReturn(List.of(existingBooking));
+        when(bookingRepository.findBookedRangesOfApartmentEndingFrom(eq(2L), any()))
+                .thenReturn(List.of(range(existingBooking)));
+        when(bookingRepository.existsOverlapping(eq(2L), any(), any(), any())).thenReturn(true);
 
         // when + then
         BusinessValidationException ex = assertThrows(
@@ -357,6 +447,8 @@ public class BookingServiceUnitTest {
         verify(apartmentClient).getApartment(2L);
         verify(bookingRepository, times(1)).save(booking);
         verify(emailService).sendBookingCancellation(eq(email), any(BookingDTO.class), eq(apartment), eq(user));
+        verify(availabilityNotifier).released(booking);
+        verify(stayStatistics).cancelled(booking);
     }
 
     @Test
@@ -468,8 +560,8 @@ public class BookingServiceUnitTest {
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
         when(userClient.findByEmail(email)).thenReturn(user);
         when(apartmentClient.getApartment(1L)).thenReturn(apartment);
-        when(bookingRepository.findByApartmentIdAndStateNot(1L, BookingState.CANCELLED))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findBookedRangesOfApartmentEndingFrom(eq(1L), any()))
+                .thenReturn(List.of(range(booking)));
         when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> i.getArgument(0));
 
         // when
@@ -480,6 +572,7 @@ public class BookingServiceUnitTest {
         assertEquals(newStart, result.getStartDate());
         assertEquals(newEnd, result.getEndDate());
         verify(bookingRepository, times(1)).save(booking);
+        verify(stayStatistics).apply(any(StayStatistics.Changes.class));
         verify(emailService).sendBookingUpdate(eq(email), any(BookingDTO.class), eq(apartment), eq(user));
     }
 
@@ -586,6 +679,75 @@ public class BookingServiceUnitTest {
         verifyNoInteractions(emailService);
     }
 
+    @Test
+    public void updateBookingDates_ShouldThrowBusinessValidation_WhenStartMovedIntoThePast() {
+        // given
+        String email = "test@example.com";
+
+        UserDTO user = new UserDTO();
+        user.setId(1L);
+        user.setEmail(email);
+
+        Booking booking = new Booking();
+        booking.setId(3L);
+        booking.setState(BookingState.CONFIRMED);
+        booking.setApartmentId(1L);
+        booking.setUserId(1L);
+        booking.setStartDate(LocalDate.now().plusDays(1));
+        booking.setEndDate(LocalDate.now().plusDays(4));
+
+        when(bookingRepository.findById(3L)).thenReturn(Optional.of(booking));
+        when(userClient.findByEmail(email)).thenReturn(user);
+
+        // when + then
+        BusinessValidationException ex = assertThrows(
+                BusinessValidationException.class,
+                () -> bookingService.updateBookingDates(3L, LocalDate.now().minusDays(1), LocalDate.now().plusDays(4), email)
+        );
+
+        assertThat(ex.getMessage()).contains("Start date must be today or in the future");
+        verify(bookingRepository, never()).save(any());
+        verifyNoInteractions(bookedNightRepository);
+    }
+
+    @Test
+    public void updateBookingDates_ShouldExtendStayInProgress_WhenStartDateIsKept() {
+        // given
+        String email = "test@example.com";
+
+        UserDTO user = new UserDTO();
+        user.setId(1L);
+        user.setEmail(email);
+
+        ApartmentDTO apartment = new ApartmentDTO();
+        apartment.setId(1L);
+        apartment.setPrice(BigDecimal.valueOf(100));
+
+        LocalDate start = LocalDate.now().minusDays(2);
+        Booking booking = new Booking();
+        booking.setId(4L);
+        booking.setState(BookingState.CONFIRMED);
+        booking.setApartmentId(1L);
+        booking.setUserId(1L);
+        booking.setStartDate(start);
+        booking.setEndDate(LocalDate.now().plusDays(1));
+
+        when(bookingRepository.findById(4L)).thenReturn(Optional.of(booking));
+        when(userClient.findByEmail(email)).thenReturn(user);
+        when(apartmentClient.getApartment(1L)).thenReturn(apartment);
+        when(bookingRepository.findBookedRangesOfApartmentEndingFrom(eq(1L), any()))
+                .thenReturn(List.of(range(booking)));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> i.getArgument(0));
+
+        // when
+        BookingDTO result = bookingService.updateBookingDates(4L, start, LocalDate.now().plusDays(3), email);
+
+        // then
+        assertEquals(start, result.getStartDate());
+        assertEquals(LocalDate.now().plusDays(3), result.getEndDate());
+        verify(bookingRepository, times(1)).save(booking);
+    }
+
     @Test
     public void updateBookingDates_ShouldThrowBusinessValidation_WhenOverlapsWithAnotherBooking() {
         // given
@@ -617,8 +779,9 @@ public class BookingServiceUnitTest {
         when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking1));
         when(userClient.findByEmail(email)).thenReturn(user);
         when(apartmentClient.getApartment(1L)).thenReturn(apartment);
-        when(bookingRepository.findByApartmentIdAndStateNot(1L, BookingState.CANCELLED))
-                .thenReturn(List.of(booking2));
+        when(bookingRepository.findBookedRangesOfApartmentEndingFrom(eq(1L), any()))
+                .thenReturn(List.of(range(booking2)));
+        when(bookingRepository.existsOverlapping(eq(1L), any(), any(), any())).thenReturn(true);
         
         LocalDate newStart = LocalDate.now().plusDays(3);
         LocalDate newEnd = LocalDate.now().plusDays(5);
@@ -702,31 +865,31 @@ public class BookingServiceUnitTest {
     public void markCompletedBookings_ShouldMarkBookingsAsCompleted_WhenEndDatePassed() {
         // given
         LocalDate today = LocalDate.now();
-        
-        Booking booking1 = new Booking();
-        booking1.setId(1L);
-        booking1.setState(BookingState.CONFIRMED);
-        booking1.setEndDate(today.minusDays(1));
 
-        Booking booking2 = new Booking();
-        booking2.setId(2L);
-        booking2.setState(BookingState.CONFIRMED);
-        booking2.setEndDate(today.minusDays(5));
+        when(bookingRepository.completeEndedBefore(today, 1000)).thenReturn(2);
+
+        // when
+        int completed = bookingService.markCompletedBookings();
+
+        // then
+        assertThat(completed).isEqualTo(2);
+        verify(bookingRepository, times(1)).completeEndedBefore(today, 1000);
+        verify(bookingRepository, never()).saveAll(any());
+    }
 
-        List<Booking> pastBookings = List.of(booking1, booking2);
+    @Test
+    public void markCompletedBookings_ShouldProcessBacklogInChunks() {
+        // given
+        LocalDate today = LocalDate.now();
 
-        when(bookingRepository.findByEndDateBeforeAndState(today, BookingState.CONFIRMED))
-                .thenReturn(pastBookings);
-        when(bookingRepository.saveAll(pastBookings)).thenReturn(pastBookings);
+        when(bookingRepository.completeEndedBefore(today, 1000)).thenReturn(1000, 1000, 250);
 
         // when
-        bookingService.markCompletedBookings();
+        int completed = bookingService.markCompletedBookings();
 
         // then
-        assertThat(booking1.getState()).isEqualTo(BookingState.COMPLETED);
-        assertThat(booking2.getState()).isEqualTo(BookingState.COMPLETED);
-        verify(bookingRepository).findByEndDateBeforeAndState(today, BookingState.CONFIRMED);
-        verify(bookingRepository).saveAll(pastBookings);
+        assertThat(completed).isEqualTo(2250);
+        verify(bookingRepository, times(3)).completeEndedBefore(today, 1000);
     }
 
     @Test
@@ -734,15 +897,14 @@ public class BookingServiceUnitTest {
         // given
         LocalDate today = LocalDate.now();
         
-        when(bookingRepository.findByEndDateBeforeAndState(today, BookingState.CONFIRMED))
-                .thenReturn(List.of());
+        when(bookingRepository.completeEndedBefore(today, 1000)).thenReturn(0);
 
         // when
-        bookingService.markCompletedBookings();
+        int completed = bookingService.markCompletedBookings();
 
         // then
-        verify(bookingRepository).findByEndDateBeforeAndState(today, BookingState.CONFIRMED);
-        verify(bookingRepository).saveAll(List.of());
+        assertThat(completed).isZero();
+        verify(bookingRepository, times(1)).completeEndedBefore(today, 1000);
     }
 
     @Test
@@ -780,20 +942,18 @@ public class BookingServiceUnitTest {
 
         when(bookingRepository.findByStartDateAndState(nextWeek, BookingState.CONFIRMED))
                 .thenReturn(List.of(booking1, booking2));
-        when(userClient.getUser(10L)).thenReturn(user1);
-        when(userClient.getUser(11L)).thenReturn(user2);
-        when(apartmentClient.getApartment(20L)).thenReturn(apartment1);
-        when(apartmentClient.getApartment(21L)).thenReturn(apartment2);
+        when(userClient.getUsers(Set.of(10L, 11L))).thenReturn(List.of(user1, user2));
+        when(apartmentClient.getApartments(Set.of(20L, 21L))).thenReturn(List.of(apartment1, apartment2));
 
         // when
         bookingService.sendCheckInReminders();
 
         // then
         verify(bookingRepository).findByStartDateAndState(nextWeek, BookingState.CONFIRMED);
-        verify(userClient).getUser(10L);
-        verify(userClient).getUser(11L);
-        verify(apartmentClient).getApartment(20L);
-        verify(apartmentClient).getApartment(21L);
+        verify(userClient).getUsers(Set.of(10L, 11L));
+        verify(apartmentClient).getApartments(Set.of(20L, 21L));
+        verify(userClient, never()).getUser(any());
+        verify(apartmentClient, never()).getApartment(any());
         verify(emailService).sendCheckInReminder(eq("user1@example.com"), any(BookingDTO.class), eq(apartment1), eq(user1));
         verify(emailService).sendCheckInReminder(eq("user2@example.com"), any(BookingDTO.class), eq(apartment2), eq(user2));
     }
@@ -844,18 +1004,17 @@ public class BookingServiceUnitTest {
 
         when(bookingRepository.findByStartDateAndState(nextWeek, BookingState.CONFIRMED))
                 .thenReturn(List.of(booking1, booking2));
-        when(userClient.getUser(10L)).thenThrow(new RuntimeException("User service error"));
-        when(userClient.getUser(11L)).thenReturn(user2);
-        when(apartmentClient.getApartment(21L)).thenReturn(apartment2);
+        // User 10 no longer exists, so the bulk lookup does not return it
+        when(userClient.getUsers(Set.of(10L, 11L))).thenReturn(List.of(user2));
+        when(apartmentClient.getApartments(Set.of(20L, 21L))).thenReturn(List.of(apartment2));
 
         // when
         bookingService.sendCheckInReminders();
 
         // then
         verify(bookingRepository).findByStartDateAndState(nextWeek, BookingState.CONFIRMED);
-        verify(userClient).getUser(10L);
-        verify(userClient).getUser(11L);
-        verify(apartmentClient).getApartment(21L);
+        verify(userClient).getUsers(Set.of(10L, 11L));
+        verify(apartmentClient).getApartments(Set.of(20L, 21L));
         verify(emailService).sendCheckInReminder(eq("user2@example.com"), any(BookingDTO.class), eq(apartment2), eq(user2));
         verify(emailService, never()).sendCheckInReminder(any(), argThat(dto -> dto.getId().equals(1L)), any(), any());
     }
@@ -944,6 +1103,97 @@ public class BookingServiceUnitTest {
         verifyNoInteractions(emailService);
     }
 
+    @Test
+    public void createBooking_ShouldThrowBusinessValidationException_WhenStartDateBeforeToday() {
+        // given
+        BookingRequestDTO request = buildValidRequest();
+        request.setStartDate(LocalDate.now().minusDays(1));
+        request.setEndDate(LocalDate.now().plusDays(2));
+        String email = "test@example.com";
+
+        UserDTO user = new UserDTO();
+        user.setId(1L);
+        user.setEmail(email);
+
+        ApartmentDTO apartment = new ApartmentDTO();
+        apartment.setId(2L);
+        apartment.setPrice(BigDecimal.valueOf(100));
+
+        when(userClient.findByEmail(email)).thenReturn(user);
+        when(apartmentClient.getApartment(2L)).thenReturn(apartment);
+
+        // when + then
+        BusinessValidationException ex = assertThrows(
+                BusinessValidationException.class,
+                () -> bookingService.createBooking(request, email)
+        );
+
+        assertThat(ex.getMessage()).contains("Start date must be today or in the future");
+        verify(bookingRepository, never()).save(any());
+        verifyNoInteractions(bookedNightRepository);
+    }
+
+    @Test
+    public void getQuotes_ShouldPriceEveryRequestWithOnePriceLookup() {
+        // given
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        List<QuoteRequestDTO> requests = List.of(
+                new QuoteRequestDTO(1L, checkIn, checkIn.plusDays(2)),
+                new QuoteRequestDTO(2L, checkIn, checkIn.plusDays(3)),
+                new QuoteRequestDTO(1L, checkIn.plusDays(5), checkIn.plusDays(6)));
+
+        when(apartmentClient.getPrices(Set.of(1L, 2L)))
+                .thenReturn(Map.of(1L, BigDecimal.valueOf(100), 2L, new BigDecimal("80.50")));
+
+        // when
+        List<QuoteDTO> quotes = bookingService.getQuotes(requests);
+
+        // then
+        assertThat(quotes).hasSize(3);
+        assertEquals(new BigDecimal("200.00"), quotes.get(0).getTotalCost());
+        assertEquals(2, quotes.get(0).getTotalNights());
+        assertEquals(checkIn, quotes.get(0).getNights().get(0).getDate());
+        assertEquals(new BigDecimal("100.00"), quotes.get(0).getNights().get(0).getPrice());
+        assertEquals(new BigDecimal("241.50"), quotes.get(1).getTotalCost());
+        assertEquals(new BigDecimal("100.00"), quotes.get(2).getTotalCost());
+        verify(apartmentClient, times(1)).getPrices(Set.of(1L, 2L));
+        verify(apartmentClient, never()).getApartment(any());
+    }
+
+    @Test
+    public void getQuotes_ShouldSkipUnknownApartments() {
+        // given
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        List<QuoteRequestDTO> requests = List.of(
+                new QuoteRequestDTO(1L, checkIn, checkIn.plusDays(2)),
+                new QuoteRequestDTO(99L, checkIn, checkIn.plusDays(2)));
+
+        when(apartmentClient.getPrices(Set.of(1L, 99L))).thenReturn(Map.of(1L, BigDecimal.valueOf(100)));
+
+        // when
+        List<QuoteDTO> quotes = bookingService.getQuotes(requests);
+
+        // then
+        assertThat(quotes).hasSize(1);
+        assertEquals(1L, quotes.get(0).getApartmentId());
+    }
+
+    @Test
+    public void getQuotes_ShouldThrowBusinessValidationException_WhenCheckOutNotAfterCheckIn() {
+        // given
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        List<QuoteRequestDTO> requests = List.of(new QuoteRequestDTO(1L, checkIn, checkIn));
+
+        // when + then
+        BusinessValidationException ex = assertThrows(
+                BusinessValidationException.class,
+                () -> bookingService.getQuotes(requests)
+        );
+
+        assertThat(ex.getMessage()).contains("Check-in date must be before check-out date");
+        verifyNoInteractions(apartmentClient);
+    }
+
     private BookingRequestDTO buildValidRequest() {
         BookingRequestDTO dto = new BookingRequestDTO();
         dto.setUserId(1L);
@@ -953,4 +1203,8 @@ public class BookingServiceUnitTest {
         dto.setGuests(2);
         return dto;
     }
+
+    private static BookedRangeDTO range(Booking booking) {
+        return new BookedRangeDTO(booking.getId(), booking.getApartmentId(), booking.getStartDate(), booking.getEndDate());
+    }
 }
\ No newline at end of file
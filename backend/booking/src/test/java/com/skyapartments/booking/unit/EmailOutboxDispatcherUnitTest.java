@@ -0,0 +1,166 @@
+package com.skyapartments.booking.unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.skyapartments.booking.model.OutboxEmail;
+import com.skyapartments.booking.model.OutboxStatus;
+import com.skyapartments.booking.repository.OutboxEmailRepository;
+import com.skyapartments.booking.service.EmailOutboxDispatcher;
+
+import jakarta.mail.internet.MimeMessage;
+
+public class EmailOutboxDispatcherUnitTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private OutboxEmailRepository outboxEmailRepository = mock(OutboxEmailRepository.class);
+    private EmailOutboxDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should send due emails through SMTP and mark them as sent")
+    void shouldSendDueEmails() throws Exception {
+        dispatcher = dispatcher(smtpSender(greenMail.getSmtp().getPort()), 3);
+        OutboxEmail email = givenClaimedEmail(1L, 1);
+        when(outboxEmailRepository.findDueIds(any(LocalDateTime.class), any())).thenReturn(List.of(1L));
+
+        dispatcher.dispatchDue();
+
+        assertThat(greenMail.waitForIncomingEmail(5000, 1)).isTrue();
+        MimeMessage received = greenMail.getReceivedMessages()[0];
+        assertThat(received.getSubject()).isEqualTo("Booking Confirmation - Sky Apartments #1");
+        assertThat(received.getAllRecipients()[0].toString()).isEqualTo("guest@example.com");
+        verify(outboxEmailRepository, timeout(5000)).complete(eq(1L), eq(1), eq(OutboxStatus.SENT), any(), any(), any());
+        assertThat(email.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(email.getSentDate()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should reschedule a failed email with backoff")
+    void shouldRescheduleFailedEmail() {
+        dispatcher = dispatcher(smtpSender(1), 3);
+        OutboxEmail email = givenClaimedEmail(1L, 2);
+        LocalDateTime before = LocalDateTime.now();
+
+        assertThat(dispatcher.deliver(1L)).isTrue();
+
+        assertThat(email.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(email.getLastError()).isNotBlank();
+        // Second attempt waits twice the initial backoff
+        assertThat(email.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(60));
+        verify(outboxEmailRepository).complete(eq(1L), eq(2), eq(OutboxStatus.PENDING), eq(email.getNextAttemptAt()), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should dead-letter an email after the last attempt")
+    void shouldDeadLetterAfterMaxAttempts() {
+        dispatcher = dispatcher(smtpSender(1), 3);
+        OutboxEmail email = givenClaimedEmail(1L, 3);
+
+        dispatcher.deliver(1L);
+
+        assertThat(email.getStatus()).isEqualTo(OutboxStatus.DEAD);
+        assertThat(email.getLastError()).isNotBlank();
+        verify(outboxEmailRepository).complete(eq(1L), eq(3), eq(OutboxStatus.DEAD), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should drop the outcome when another worker took the email over")
+    void shouldDropOutcomeAfterLeaseExpired() {
+        dispatcher = dispatcher(smtpSender(greenMail.getSmtp().getPort()), 3);
+        givenClaimedEmail(1L, 1);
+        // A second claim bumped the attempts while this one was sending
+        when(outboxEmailRepository.complete(eq(1L), eq(1), any(), any(), any(), any())).thenReturn(0);
+
+        assertThat(dispatcher.deliver(1L)).isFalse();
+
+        // The email went out, but recording it is left to the attempt holding the lease
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        verify(outboxEmailRepository).complete(eq(1L), eq(1), eq(OutboxStatus.SENT), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should skip an email leased by another worker")
+    void shouldSkipEmailLeasedElsewhere() {
+        dispatcher = dispatcher(smtpSender(greenMail.getSmtp().getPort()), 3);
+        when(outboxEmailRepository.claim(eq(1L), any(), any())).thenReturn(0);
+
+        assertThat(dispatcher.deliver(1L)).isFalse();
+
+        verify(outboxEmailRepository, never()).findById(1L);
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should pace sends to the configured rate")
+    void shouldPaceSendsToMaxRate() {
+        dispatcher = dispatcher(smtpSender(greenMail.getSmtp().getPort()), 3, 20);
+        givenClaimedEmail(1L, 1);
+        givenClaimedEmail(2L, 1);
+        givenClaimedEmail(3L, 1);
+        long start = System.nanoTime();
+
+        dispatcher.deliver(1L);
+        dispatcher.deliver(2L);
+        dispatcher.deliver(3L);
+
+        // At 20 per second the third send cannot start before 100 ms
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+        assertThat(greenMail.getReceivedMessages()).hasSize(3);
+    }
+
+    private EmailOutboxDispatcher dispatcher(JavaMailSenderImpl mailSender, int maxAttempts) {
+        return dispatcher(mailSender, maxAttempts, 0);
+    }
+
+    private EmailOutboxDispatcher dispatcher(JavaMailSenderImpl mailSender, int maxAttempts, double maxPerSecond) {
+        return new EmailOutboxDispatcher(outboxEmailRepository, mailSender, "noreply@skyapartments.com", 2,
+            maxAttempts, Duration.ofSeconds(30), Duration.ofMinutes(30), Duration.ofMinutes(5), maxPerSecond);
+    }
+
+    private OutboxEmail givenClaimedEmail(Long id, int attempts) {
+        OutboxEmail email = new OutboxEmail("guest@example.com", null,
+            "Booking Confirmation - Sky Apartments #1", "<html><body>Confirmed</body></html>");
+        email.setId(id);
+        email.setAttempts(attempts);
+        when(outboxEmailRepository.claim(eq(id), any(), any())).thenReturn(1);
+        when(outboxEmailRepository.findById(id)).thenReturn(Optional.of(email));
+        when(outboxEmailRepository.complete(eq(id), eq(attempts), any(), any(), any(), any())).thenReturn(1);
+        return email;
+    }
+
+    private JavaMailSenderImpl smtpSender(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(port);
+        mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        return mailSender;
+    }
+}
@@ -0,0 +1,55 @@
+package com.skyapartments.booking.unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.skyapartments.booking.service.EmailService;
+import com.skyapartments.booking.service.EmailTemplate;
+
+public class EmailTemplateUnitTest {
+
+    private final LocalDate start = LocalDate.of(2025, 7, 1);
+
+    @Test
+    @DisplayName("Should render the booking emails exactly like String.format")
+    void shouldRenderLikeStringFormat() {
+        Object[] withCost = {"Jane", 7L, "Sky Loft", start, start.plusDays(3), 2, "CONFIRMED", new BigDecimal("300.455")};
+        Object[] withoutCost = {"Jane", 7L, "Sky Loft", start, start.plusDays(3), 2};
+
+        assertRendersLikeFormat(EmailService.CONFIRMATION_TEMPLATE, withCost);
+        assertRendersLikeFormat(EmailService.UPDATE_TEMPLATE, withCost);
+        assertRendersLikeFormat(EmailService.CANCELLATION_TEMPLATE, withoutCost);
+        assertRendersLikeFormat(EmailService.CHECK_IN_REMINDER_TEMPLATE, withoutCost);
+        assertRendersLikeFormat(EmailService.CONTACT_TEMPLATE, "Jane", "jane@example.com", "Hello", "Hi<br>there", "Jane");
+    }
+
+    @Test
+    @DisplayName("Should render null arguments like String.format")
+    void shouldRenderNullArguments() {
+        assertRendersLikeFormat("%s|%d|%.2f|100%%", null, null, null);
+    }
+
+    @Test
+    @DisplayName("Should reject unsupported format specifiers")
+    void shouldRejectUnsupportedSpecifiers() {
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.compile("Total: %10.3f"));
+    }
+
+    @Test
+    @DisplayName("Should reject a wrong number of arguments")
+    void shouldRejectWrongArgumentCount() {
+        EmailTemplate template = EmailTemplate.compile("Dear %s, booking #%s");
+
+        assertThrows(IllegalArgumentException.class, () -> template.render("Jane"));
+    }
+
+    private void assertRendersLikeFormat(String format, Object... args) {
+        assertThat(EmailTemplate.compile(format).render(args)).isEqualTo(String.format(format, args));
+    }
+}
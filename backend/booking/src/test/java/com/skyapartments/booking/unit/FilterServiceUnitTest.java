@@ -16,9 +16,13 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -29,11 +33,15 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import com.skyapartments.booking.dto.FilterDTO;
+import com.skyapartments.booking.dto.FilterNightRangesDTO;
+import com.skyapartments.booking.dto.FilterRangesResponseDTO;
 import com.skyapartments.booking.dto.FiltersByDateResponseDTO;
+import com.skyapartments.booking.dto.NightRangeDTO;
 import com.skyapartments.booking.exception.BusinessValidationException;
 import com.skyapartments.booking.exception.ResourceNotFoundException;
 import com.skyapartments.booking.repository.FilterRepository;
 import com.skyapartments.booking.service.FilterService;
+import com.skyapartments.booking.service.PricingEngine;
 import com.skyapartments.booking.model.ConditionType;
 import com.skyapartments.booking.model.DateType;
 import com.skyapartments.booking.model.Filter;
@@ -44,7 +52,7 @@ public class FilterServiceUnitTest {
     private FilterRepository filterRepository = mock(FilterRepository.class);
 
     public FilterServiceUnitTest() {
-        this.filterService = new FilterService(filterRepository);
+        this.filterService = new FilterService(filterRepository, new PricingEngine(filterRepository, Duration.ofSeconds(5)));
     }
 
     private Filter validFilter;
@@ -115,6 +123,7 @@ public class FilterServiceUnitTest {
         FilterDTO result = filterService.create(validFilterDTO);
         assertNotNull(result);
         verify(filterRepository, times(1)).save(any(Filter.class));
+        verify(filterRepository, times(1)).bumpPricingVersion();
     }
     
     @Test
@@ -371,6 +380,7 @@ public class FilterServiceUnitTest {
         
         verify(filterRepository, times(1)).existsById(filterId);
         verify(filterRepository, times(1)).deleteById(filterId);
+        verify(filterRepository, times(1)).bumpPricingVersion();
     }
 
     @Test
@@ -452,6 +462,63 @@ public class FilterServiceUnitTest {
         assertEquals(3, result.getFiltersByDate().size());
     }
     
+    @Test
+    @DisplayName("Should return each applicable filter once with the night ranges it covers")
+    void shouldReturnFilterRangesMatchingNightlyBreakdown() {
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        LocalDate checkOut = checkIn.plusDays(21);
+
+        Filter everyDay = new Filter(1L, "Every day", null, true, true, new BigDecimal("5"),
+            DateType.EVERY_DAY, null, null, null, ConditionType.NONE, null, null);
+        Filter weekends = new Filter(2L, "Weekends", null, true, true, new BigDecimal("10"),
+            DateType.WEEK_DAYS, null, null, "6,7", ConditionType.NONE, null, null);
+        Filter season = new Filter(3L, "Season", null, true, false, new BigDecimal("15"),
+            DateType.DATE_RANGE_WEEK_DAYS, checkIn.plusDays(3), checkIn.plusDays(12), "1,2,3,4,5", ConditionType.NONE, null, null);
+        Filter longStay = new Filter(4L, "Long stay", null, true, false, new BigDecimal("20"),
+            DateType.EVERY_DAY, null, null, null, ConditionType.LONG_STAY, null, 30);
+        Filter outside = new Filter(5L, "Past season", null, true, true, new BigDecimal("25"),
+            DateType.DATE_RANGE, checkOut.plusDays(1), checkOut.plusDays(5), null, ConditionType.NONE, null, null);
+
+        when(filterRepository.findByActivatedTrueOrderByIdAsc())
+            .thenReturn(List.of(everyDay, weekends, season, longStay, outside));
+
+        FilterRangesResponseDTO ranges = filterService.getApplicableFilterRanges(checkIn, checkOut);
+        FiltersByDateResponseDTO nightly = filterService.getApplicableFiltersByDate(checkIn, checkOut);
+
+        assertEquals(21, ranges.getTotalNights());
+        assertThat(ranges.getFilters()).extracting(f -> f.getFilter().getId()).containsExactly(1L, 2L, 3L);
+        assertThat(ranges.getFilters().get(0).getNights()).hasSize(1);
+        // Expanding the ranges gives back the per-night lists
+        Map<LocalDate, List<Long>> expanded = new TreeMap<>();
+        for (LocalDate night = checkIn; night.isBefore(checkOut); night = night.plusDays(1)) {
+            expanded.put(night, new ArrayList<>());
+        }
+        for (FilterNightRangesDTO filter : ranges.getFilters()) {
+            for (NightRangeDTO range : filter.getNights()) {
+                for (LocalDate night = range.getFrom(); !night.isAfter(range.getTo()); night = night.plusDays(1)) {
+                    expanded.get(night).add(filter.getFilter().getId());
+                }
+            }
+        }
+        nightly.getFiltersByDate().forEach((night, filters) ->
+            assertThat(expanded.get(night)).containsExactlyElementsOf(filters.stream().map(FilterDTO::getId).toList()));
+    }
+
+    @Test
+    @DisplayName("Should reuse the compiled pricing rules for filter ranges")
+    void shouldReuseCompiledRulesForFilterRanges() {
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        Filter everyDay = new Filter(1L, "Every day", null, true, true, new BigDecimal("5"),
+            DateType.EVERY_DAY, null, null, null, ConditionType.NONE, null, null);
+        when(filterRepository.findByActivatedTrueOrderByIdAsc()).thenReturn(List.of(everyDay));
+
+        filterService.getApplicableFilterRanges(checkIn, checkIn.plusDays(3));
+        FilterRangesResponseDTO ranges = filterService.getApplicableFilterRanges(checkIn, checkIn.plusDays(5));
+
+        assertThat(ranges.getFilters()).extracting(f -> f.getFilter().getName()).containsExactly("Every day");
+        verify(filterRepository, times(1)).findByActivatedTrueOrderByIdAsc();
+    }
+
     private Filter createValidFilter() {
         Filter filter = new Filter();
         filter.setId(1L);
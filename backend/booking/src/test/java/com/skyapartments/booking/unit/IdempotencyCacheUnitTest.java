@@ -0,0 +1,180 @@
+package com.skyapartments.booking.unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.skyapartments.booking.dto.BookingDTO;
+import com.skyapartments.booking.exception.BusinessValidationException;
+import com.skyapartments.booking.model.Booking;
+import com.skyapartments.booking.service.IdempotencyCache;
+import com.skyapartments.common.feign.ServiceUnavailableException;
+
+public class IdempotencyCacheUnitTest {
+
+    private static final List<Object> FINGERPRINT = List.of(1L, 2L);
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should return the stored booking when a key is replayed")
+    void shouldReplayStoredBooking() {
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ofHours(1));
+
+        BookingDTO first = cache.execute("user@example.com", "key-1", FINGERPRINT, this::createBooking);
+        BookingDTO replayed = cache.execute("user@example.com", "key-1", FINGERPRINT, this::createBooking);
+
+        assertThat(replayed).isSameAs(first);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should scope keys to the user")
+    void shouldScopeKeysToUser() {
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ofHours(1));
+
+        cache.execute("user@example.com", "key-1", FINGERPRINT, this::createBooking);
+        cache.execute("other@example.com", "key-1", FINGERPRINT, this::createBooking);
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void shouldRejectKeyReusedForDifferentRequest() {
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ofHours(1));
+        cache.execute("user@example.com", "key-1", FINGERPRINT, this::createBooking);
+
+        assertThatThrownBy(() -> cache.execute("user@example.com", "key-1", List.of(1L, 3L), this::createBooking))
+            .isInstanceOf(BusinessValidationException.class);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should forget failed requests so they can be retried")
+    void shouldForgetFailedRequests() {
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ofHours(1));
+
+        assertThatThrownBy(() -> cache.execute("user@example.com", "key-1", FINGERPRINT, () -> {
+            throw new BusinessValidationException("The apartment is not available for the selected dates");
+        })).isInstanceOf(BusinessValidationException.class);
+        BookingDTO retried = cache.execute("user@example.com", "key-1", FINGERPRINT, this::createBooking);
+
+        assertThat(retried).isNotNull();
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should make concurrent duplicates wait for the first execution")
+    void shouldRunConcurrentDuplicatesOnce() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ofHours(1));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<BookingDTO>> results = new ArrayList<>();
+            results.add(pool.submit(() -> cache.execute("user@example.com", "key-1", FINGERPRINT, () -> {
+                started.countDown();
+                await(release);
+                return createBooking();
+            })));
+            started.await(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 3; i++) {
+                results.add(pool.submit(() -> cache.execute("user@example.com", "key-1", FINGERPRINT, this::createBooking)));
+            }
+            release.countDown();
+
+            BookingDTO first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<BookingDTO> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+            assertThat(executions).hasValue(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should evict expired keys and the oldest keys beyond capacity")
+    void shouldEvictExpiredAndOverflowingKeys() throws InterruptedException {
+        IdempotencyCache bounded = new IdempotencyCache(2, Duration.ofHours(1));
+        bounded.execute("user@example.com", "key-1", FINGERPRINT, this::createBooking);
+        bounded.execute("user@example.com", "key-2", FINGERPRINT, this::createBooking);
+        bounded.execute("user@example.com", "key-3", FINGERPRINT, this::createBooking);
+        assertThat(bounded.size()).isEqualTo(2);
+        bounded.execute("user@example.com", "key-1", FINGERPRINT, this::createBooking);
+        assertThat(executions).hasValue(4);
+
+        IdempotencyCache expiring = new IdempotencyCache(100, Duration.ofMillis(20));
+        expiring.execute("user@example.com", "key-1", FINGERPRINT, this::createBooking);
+        Thread.sleep(50);
+        expiring.execute("user@example.com", "key-1", FINGERPRINT, this::createBooking);
+        assertThat(executions).hasValue(5);
+    }
+
+    @Test
+    @DisplayName("Should keep running requests and turn new keys away while they fill the cache")
+    void shouldNotEvictRunningRequests() throws Exception {
+        IdempotencyCache bounded = new IdempotencyCache(1, Duration.ofHours(1));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<BookingDTO> running = pool.submit(() -> bounded.execute("user@example.com", "key-1", FINGERPRINT, () -> {
+                started.countDown();
+                await(release);
+                return createBooking();
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            assertThatThrownBy(() -> bounded.execute("user@example.com", "key-2", FINGERPRINT, this::createBooking))
+                .isInstanceOf(ServiceUnavailableException.class);
+            release.countDown();
+            BookingDTO first = running.get(5, TimeUnit.SECONDS);
+
+            assertThat(bounded.execute("user@example.com", "key-1", FINGERPRINT, this::createBooking)).isSameAs(first);
+            bounded.execute("user@example.com", "key-2", FINGERPRINT, this::createBooking);
+            assertThat(executions).hasValue(2);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject keys that are too long")
+    void shouldRejectOversizedKey() {
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ofHours(1));
+
+        assertThatThrownBy(() -> cache.execute("user@example.com", "k".repeat(256), FINGERPRINT, this::createBooking))
+            .isInstanceOf(BusinessValidationException.class);
+        assertThat(executions).hasValue(0);
+    }
+
+    private BookingDTO createBooking() {
+        Booking booking = new Booking(1L, 2L, LocalDate.now().plusDays(1), LocalDate.now().plusDays(3), BigDecimal.valueOf(300), 2);
+        booking.setId((long) executions.incrementAndGet());
+        return new BookingDTO(booking);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.skyapartments.booking.unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.skyapartments.booking.dto.ApartmentDTO;
+import com.skyapartments.booking.dto.BookedRangeDTO;
+import com.skyapartments.booking.dto.PriceCalendarDTO;
+import com.skyapartments.booking.exception.BusinessValidationException;
+import com.skyapartments.booking.exception.ResourceNotFoundException;
+import com.skyapartments.booking.model.Booking;
+import com.skyapartments.booking.model.ConditionType;
+import com.skyapartments.booking.model.DateType;
+import com.skyapartments.booking.model.Filter;
+import com.skyapartments.booking.repository.ApartmentClient;
+import com.skyapartments.booking.repository.BookingRepository;
+import com.skyapartments.booking.repository.FilterRepository;
+import com.skyapartments.booking.service.AvailabilityIndex;
+import com.skyapartments.booking.service.PriceCalendarService;
+import com.skyapartments.booking.service.PricingEngine;
+import com.skyapartments.common.cache.NearCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class PriceCalendarServiceUnitTest {
+
+    private ApartmentClient apartmentClient = mock(ApartmentClient.class);
+    private FilterRepository filterRepository = mock(FilterRepository.class);
+    private BookingRepository bookingRepository = mock(BookingRepository.class);
+    private PricingEngine pricingEngine = new PricingEngine(filterRepository, Duration.ofSeconds(5));
+    private AvailabilityIndex availabilityIndex = new AvailabilityIndex(bookingRepository, Duration.ofMinutes(5));
+    private PriceCalendarService priceCalendarService = new PriceCalendarService(new NearCache<>("apartment", apartmentClient::getApartment, Duration.ZERO, 0, new SimpleMeterRegistry()), pricingEngine, availabilityIndex);
+
+    private final LocalDate today = LocalDate.now();
+
+    @Test
+    @DisplayName("Should return nightly prices and availability for the requested window")
+    void shouldReturnPricesAndAvailability() {
+        givenApartment(1L, "100.00");
+        Filter increase = new Filter(1L, "Season", null, true, true, new BigDecimal("20.00"), DateType.DATE_RANGE,
+            today.plusDays(2), today.plusDays(2), null, ConditionType.NONE, null, null);
+        Filter longStay = new Filter(2L, "Long stay", null, true, false, new BigDecimal("50.00"), DateType.EVERY_DAY,
+            null, null, null, ConditionType.LONG_STAY, null, 1);
+        when(filterRepository.findByActivatedTrueOrderByIdAsc()).thenReturn(List.of(increase, longStay));
+        when(bookingRepository.findBookedRangesOfApartmentEndingFrom(eq(1L), any()))
+            .thenReturn(List.of(new BookedRangeDTO(10L, 1L, today.plusDays(5), today.plusDays(7))));
+
+        PriceCalendarDTO calendar = priceCalendarService.getCalendar(1L, today, today.plusDays(9));
+
+        assertThat(calendar.getNights()).hasSize(9);
+        assertThat(calendar.getNights().get(1).getPrice()).isEqualTo(new BigDecimal("100.00"));
+        assertThat(calendar.getNights().get(2).getPrice()).isEqualTo(new BigDecimal("120.00"));
+        assertThat(calendar.getNights()).extracting(night -> night.isAvailable())
+            .containsExactly(true, true, true, true, false, false, false, false, true);
+    }
+
+    @Test
+    @DisplayName("Should reuse the precomputed calendar until filters or bookings change")
+    void shouldReuseCalendarUntilChanged() {
+        givenApartment(1L, "100.00");
+        when(filterRepository.findByActivatedTrueOrderByIdAsc()).thenReturn(List.of());
+        when(filterRepository.findPricingVersion()).thenReturn(0L, 1L);
+
+        priceCalendarService.getCalendar(1L, today, today.plusDays(30));
+        priceCalendarService.getCalendar(1L, today.plusDays(10), today.plusDays(20));
+        verify(apartmentClient, times(1)).getApartment(1L);
+        verify(filterRepository, times(1)).findByActivatedTrueOrderByIdAsc();
+
+        availabilityIndex.register(booking(10L, 1L, today.plusDays(3), today.plusDays(4)));
+        PriceCalendarDTO calendar = priceCalendarService.getCalendar(1L, today, today.plusDays(5));
+        assertThat(calendar.getNights().get(3).isAvailable()).isFalse();
+
+        pricingEngine.invalidate();
+        priceCalendarService.getCalendar(1L, today, today.plusDays(5));
+        verify(filterRepository, times(2)).findByActivatedTrueOrderByIdAsc();
+        verify(apartmentClient, times(1)).getApartment(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject windows beyond the next 12 months")
+    void shouldRejectWindowBeyondTwelveMonths() {
+        assertThrows(BusinessValidationException.class,
+            () -> priceCalendarService.getCalendar(1L, today, today.plusDays(400)));
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException when the apartment does not exist")
+    void shouldThrowWhenApartmentNotFound() {
+        when(apartmentClient.getApartment(1L)).thenReturn(null);
+
+        assertThrows(ResourceNotFoundException.class,
+            () -> priceCalendarService.getCalendar(1L, today, today.plusDays(3)));
+    }
+
+    private void givenApartment(Long id, String price) {
+        ApartmentDTO apartment = new ApartmentDTO();
+        apartment.setId(id);
+        apartment.setPrice(new BigDecimal(price));
+        when(apartmentClient.getApartment(id)).thenReturn(apartment);
+    }
+
+    private Booking booking(Long id, Long apartmentId, LocalDate startDate, LocalDate endDate) {
+        Booking booking = new Booking(1L, apartmentId, startDate, endDate, BigDecimal.valueOf(100), 2);
+        booking.setId(id);
+        return booking;
+    }
+}
@@ -0,0 +1,156 @@
+package com.skyapartments.booking.unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.skyapartments.booking.model.ConditionType;
+import com.skyapartments.booking.model.DateType;
+import com.skyapartments.booking.model.Filter;
+import com.skyapartments.booking.repository.FilterRepository;
+import com.skyapartments.booking.service.PricingEngine;
+import com.skyapartments.booking.service.PricingRules;
+
+public class PricingEngineUnitTest {
+
+    private FilterRepository filterRepository = mock(FilterRepository.class);
+    private PricingEngine pricingEngine = new PricingEngine(filterRepository, Duration.ofSeconds(5));
+
+    @Test
+    @DisplayName("Should price every stay exactly like the per-night filter evaluation")
+    void shouldMatchPerNightEvaluation() {
+        LocalDate today = LocalDate.now();
+        List<Filter> filters = List.of(
+            filter(1L, true, "20.00", DateType.WEEK_DAYS, null, null, "5,6,7", ConditionType.NONE, null, null),
+            filter(2L, false, "15.00", DateType.EVERY_DAY, null, null, null, ConditionType.LAST_MINUTE, 48, null),
+            filter(3L, false, "10.00", DateType.EVERY_DAY, null, null, null, ConditionType.LONG_STAY, null, 7),
+            filter(4L, true, "30.00", DateType.DATE_RANGE, today.plusDays(10), today.plusDays(40), null, ConditionType.NONE, null, null),
+            filter(5L, true, "12.50", DateType.DATE_RANGE_WEEK_DAYS, today.plusDays(5), today.plusDays(25), "1, 3,x", ConditionType.NONE, null, null),
+            filter(6L, false, "33.33", DateType.EVERY_DAY, null, null, null, ConditionType.NONE, null, null));
+        when(filterRepository.findByActivatedTrueOrderByIdAsc()).thenReturn(filters);
+
+        BigDecimal basePrice = new BigDecimal("87.35");
+        for (int offset = 0; offset < 30; offset++) {
+            for (int nights = 1; nights <= 20; nights++) {
+                LocalDate checkIn = today.plusDays(offset);
+                LocalDate checkOut = checkIn.plusDays(nights);
+                assertThat(pricingEngine.calculateCost(basePrice, checkIn, checkOut))
+                    .isEqualTo(referenceCost(filters, basePrice, checkIn, checkOut));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should return base price per night when no filter is active")
+    void shouldReturnBasePriceWithoutFilters() {
+        when(filterRepository.findByActivatedTrueOrderByIdAsc()).thenReturn(List.of());
+
+        LocalDate checkIn = LocalDate.now().plusDays(3);
+        assertThat(pricingEngine.calculateCost(BigDecimal.valueOf(100), checkIn, checkIn.plusDays(2)))
+            .isEqualTo(new BigDecimal("200.00"));
+    }
+
+    @Test
+    @DisplayName("Should reuse the compiled rules until invalidated")
+    void shouldRecompileOnlyAfterInvalidation() {
+        when(filterRepository.findByActivatedTrueOrderByIdAsc()).thenReturn(List.of());
+        when(filterRepository.findPricingVersion()).thenReturn(0L, 1L);
+
+        PricingRules first = pricingEngine.currentRules();
+        assertThat(pricingEngine.currentRules()).isSameAs(first);
+        verify(filterRepository, times(1)).findByActivatedTrueOrderByIdAsc();
+
+        pricingEngine.invalidate();
+        PricingRules second = pricingEngine.currentRules();
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getVersion()).isEqualTo(pricingEngine.getVersion());
+        verify(filterRepository, times(2)).findByActivatedTrueOrderByIdAsc();
+        verify(filterRepository, times(1)).bumpPricingVersion();
+    }
+
+    @Test
+    @DisplayName("Should recompile once another instance changed the filters")
+    void shouldRecompileAfterSharedVersionMoved() {
+        PricingEngine polling = new PricingEngine(filterRepository, Duration.ZERO);
+        when(filterRepository.findByActivatedTrueOrderByIdAsc()).thenReturn(List.of());
+        when(filterRepository.findPricingVersion()).thenReturn(3L, 3L, 4L);
+
+        PricingRules first = polling.currentRules();
+        assertThat(polling.currentRules()).isSameAs(first);
+
+        PricingRules second = polling.currentRules();
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getVersion()).isEqualTo(4L);
+        verify(filterRepository, times(2)).findByActivatedTrueOrderByIdAsc();
+    }
+
+    @Test
+    @DisplayName("Should return the runs of nights a weekday rule applies on, also across the week boundary")
+    void shouldComputeNightRangesFromWeekDays() {
+        LocalDate today = LocalDate.now();
+        List<Filter> filters = List.of(
+            filter(1L, true, "10.00", DateType.WEEK_DAYS, null, null, "6,7,1", ConditionType.NONE, null, null),
+            filter(2L, true, "10.00", DateType.WEEK_DAYS, null, null, "1,3,5", ConditionType.NONE, null, null),
+            filter(3L, true, "10.00", DateType.DATE_RANGE_WEEK_DAYS, today.plusDays(4), today.plusDays(30), "2,3,4,5,6,7",
+                ConditionType.NONE, null, null));
+        when(filterRepository.findByActivatedTrueOrderByIdAsc()).thenReturn(filters);
+        PricingRules rules = pricingEngine.currentRules();
+
+        for (int rule = 0; rule < rules.size(); rule++) {
+            for (int offset = 0; offset < 7; offset++) {
+                long firstNight = today.plusDays(offset).toEpochDay();
+                long lastNight = firstNight + 40;
+                // Reference: the nights the rule applies on, merged one by one
+                List<Long> expected = new ArrayList<>();
+                for (long night = firstNight; night <= lastNight; night++) {
+                    if (!rules.appliesOn(rule, night)) {
+                        continue;
+                    }
+                    if (!expected.isEmpty() && expected.get(expected.size() - 1) == night - 1) {
+                        expected.set(expected.size() - 1, night);
+                    } else {
+                        expected.add(night);
+                        expected.add(night);
+                    }
+                }
+                assertThat(rules.nightRanges(rule, firstNight, lastNight)).containsExactly(
+                    expected.stream().mapToLong(Long::longValue).toArray());
+            }
+        }
+    }
+
+    private BigDecimal referenceCost(List<Filter> filters, BigDecimal basePrice, LocalDate checkIn, LocalDate checkOut) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (LocalDate date = checkIn; date.isBefore(checkOut); date = date.plusDays(1)) {
+            BigDecimal adjustment = BigDecimal.ZERO;
+            for (Filter filter : filters) {
+                if (filter.isApplicableOnDate(date) && filter.meetsCondition(checkIn, checkOut)) {
+                    BigDecimal percentage = filter.getValue().divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
+                    BigDecimal value = basePrice.multiply(percentage);
+                    adjustment = adjustment.add(filter.getIncrement() ? value : value.negate());
+                }
+            }
+            total = total.add(basePrice.add(adjustment).setScale(2, RoundingMode.HALF_UP));
+        }
+        return total.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private Filter filter(Long id, boolean increment, String value, DateType dateType, LocalDate startDate,
+                          LocalDate endDate, String weekDays, ConditionType conditionType,
+                          Integer anticipationHours, Integer minDays) {
+        return new Filter(id, "Filter " + id, null, true, increment, new BigDecimal(value), dateType,
+            startDate, endDate, weekDays, conditionType, anticipationHours, minDays);
+    }
+}
@@ -0,0 +1,26 @@
+package com.skyapartments.review.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.skyapartments.common.cache.NearCache;
+import com.skyapartments.review.dto.ApartmentDTO;
+import com.skyapartments.review.repository.ApartmentClient;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class CacheConfig {
+
+    // Invalidated by the apartment service through near-cache.eviction-path when an apartment changes
+    @Bean
+    public NearCache<Long, ApartmentDTO> apartmentCache(ApartmentClient apartmentClient,
+            @Value("${apartment.cache.ttl:60s}") Duration ttl,
+            @Value("${apartment.cache.max-size:1000}") int maxSize,
+            MeterRegistry meterRegistry) {
+        return new NearCache<>("apartment", apartmentClient::getApartment, ttl, maxSize, meterRegistry);
+    }
+}
@@ -13,8 +13,8 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
-import com.skyapartments.review.security.jwt.JwtRequestFilter;
-import com.skyapartments.review.security.jwt.UnauthorizedHandlerJwt;
+import com.skyapartments.security.jwt.JwtRequestFilter;
+import com.skyapartments.security.jwt.UnauthorizedHandlerJwt;
 
 @Configuration
 public class SecurityConfig {
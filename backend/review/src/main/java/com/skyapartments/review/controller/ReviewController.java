@@ -86,5 +86,5 @@ public class ReviewController {
         double rating = reviewService.getRatingByApartment(apartmentId);
         return ResponseEntity.ok(rating);
     }
-    
+
 }
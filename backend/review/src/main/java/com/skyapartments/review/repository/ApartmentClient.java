@@ -4,11 +4,13 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 
+import com.skyapartments.common.feign.FeignResilienceConfig;
+import com.skyapartments.common.feign.FeignTransportConfig;
 import com.skyapartments.review.config.FeignTracingConfig;
 import com.skyapartments.review.dto.ApartmentDTO;
 
 
-@FeignClient(name = "apartment", path = "/api/v1/apartments", configuration = FeignTracingConfig.class)
+@FeignClient(name = "apartment", path = "/api/v1/apartments", configuration = { FeignTracingConfig.class, FeignTransportConfig.class, FeignResilienceConfig.class })
 public interface ApartmentClient {
     @GetMapping("/{id}")
     ApartmentDTO getApartment(@PathVariable("id") Long apartmentId);
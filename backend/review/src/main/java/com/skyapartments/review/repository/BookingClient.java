@@ -6,11 +6,13 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 
+import com.skyapartments.common.feign.FeignResilienceConfig;
+import com.skyapartments.common.feign.FeignTransportConfig;
 import com.skyapartments.review.config.FeignTracingConfig;
 import com.skyapartments.review.dto.BookingDTO;
 
 
-@FeignClient(name = "booking", path = "/api/v1/bookings/private", configuration = FeignTracingConfig.class)
+@FeignClient(name = "booking", path = "/api/v1/bookings/private", configuration = { FeignTracingConfig.class, FeignTransportConfig.class, FeignResilienceConfig.class })
 public interface BookingClient {
     
     @GetMapping("/active/user/{userId}/apartment/{apartmentId}")
@@ -1,16 +1,21 @@
 package com.skyapartments.review.repository;
 
+import java.util.List;
+import java.util.Set;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import com.skyapartments.common.feign.FeignResilienceConfig;
+import com.skyapartments.common.feign.FeignTransportConfig;
 import com.skyapartments.review.config.FeignTracingConfig;
 import com.skyapartments.review.dto.UserDTO;
 
 
 
-@FeignClient(name = "user", path = "/api/v1/users/private", configuration = FeignTracingConfig.class)
+@FeignClient(name = "user", path = "/api/v1/users/private", configuration = { FeignTracingConfig.class, FeignTransportConfig.class, FeignResilienceConfig.class })
 public interface UserClient {
 
     @GetMapping("/{id}")
@@ -21,4 +26,7 @@ public interface UserClient {
 
     @GetMapping("/email")
     UserDTO findByEmail(@RequestParam String email);
+
+    @GetMapping("/batch")
+    List<UserDTO> getUsers(@RequestParam("ids") Set<Long> userIds);
 }
\ No newline at end of file
@@ -2,11 +2,16 @@ package com.skyapartments.review.service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import com.skyapartments.common.cache.NearCache;
+import com.skyapartments.review.dto.ApartmentDTO;
 import com.skyapartments.review.dto.BookingDTO;
 import com.skyapartments.review.dto.ReviewDTO;
 import com.skyapartments.review.dto.ReviewRequestDTO;
@@ -15,7 +20,6 @@ import com.skyapartments.review.dto.UserDTO;
 import com.skyapartments.review.exception.BusinessValidationException;
 import com.skyapartments.review.exception.ResourceNotFoundException;
 import com.skyapartments.review.model.Review;
-import com.skyapartments.review.repository.ApartmentClient;
 import com.skyapartments.review.repository.BookingClient;
 import com.skyapartments.review.repository.ReviewRepository;
 import com.skyapartments.review.repository.UserClient;
@@ -27,14 +31,16 @@ import feign.FeignException;
 public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final UserClient userClient;
-    private final ApartmentClient apartmentClient;
+    private final NearCache<Long, ApartmentDTO> apartmentCache;
     private final BookingClient bookingClient;
+    private final UserNameCache userNameCache;
 
-    public ReviewService(ReviewRepository reviewRepository, UserClient userClient, ApartmentClient apartmentClient, BookingClient bookingClient) {
+    public ReviewService(ReviewRepository reviewRepository, UserClient userClient, NearCache<Long, ApartmentDTO> apartmentCache, BookingClient bookingClient, UserNameCache userNameCache) {
         this.reviewRepository = reviewRepository;
         this.userClient = userClient;
-        this.apartmentClient = apartmentClient;
+        this.apartmentCache = apartmentCache;
         this.bookingClient = bookingClient;
+        this.userNameCache = userNameCache;
     }
 
     public ReviewDTO createReview(ReviewRequestDTO request, String userEmail) {
@@ -57,7 +63,7 @@ public class ReviewService {
         }
         
         try {
-            apartmentClient.getApartment(request.getApartmentId());
+            apartmentCache.get(request.getApartmentId());
         } catch (FeignException.NotFound e) {
             throw new ResourceNotFoundException("Apartment not found");
         }
@@ -115,16 +121,15 @@ public class ReviewService {
 
     public Page<ReviewDTO> getReviewsByApartment(Long apartmentId, Pageable pageable) {
         try {
-            apartmentClient.getApartment(apartmentId);
+            apartmentCache.get(apartmentId);
         } catch (FeignException.NotFound e) {
             throw new ResourceNotFoundException("Apartment not found");
         }
-        return reviewRepository.findByApartmentId(apartmentId, pageable)
-                .map(review -> {
-                    UserDTO user = userClient.getUser(review.getUserId());
-                    String userName = (user != null) ? user.getName() : "Unknown";
-                    return new ReviewDTO(review, userName);
-                });
+        Page<Review> reviews = reviewRepository.findByApartmentId(apartmentId, pageable);
+        // The reviewers of the whole page are resolved together
+        Set<Long> userIds = reviews.stream().map(Review::getUserId).collect(Collectors.toSet());
+        Map<Long, String> userNames = userNameCache.getNames(userIds);
+        return reviews.map(review -> new ReviewDTO(review, userNames.getOrDefault(review.getUserId(), "Unknown")));
     }
 
     public boolean canUserReview(Long userId, Long apartmentId, String userEmail) {
@@ -159,7 +164,7 @@ public class ReviewService {
 
     public double getRatingByApartment(Long apartmentId) {
         try {
-            apartmentClient.getApartment(apartmentId);
+            apartmentCache.get(apartmentId);
         } catch (FeignException.NotFound e) {
             throw new ResourceNotFoundException("Apartment not found");
         }
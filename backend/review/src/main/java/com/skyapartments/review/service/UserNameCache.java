@@ -0,0 +1,134 @@
+package com.skyapartments.review.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.skyapartments.review.dto.UserDTO;
+import com.skyapartments.review.repository.UserClient;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Names of the reviewers shown in review listings. The names missing from the cache are resolved
+ * with one call to the user service's batch endpoint, so a page of reviews costs at most one
+ * remote call, and none when the same page is loaded again within the TTL.
+ *
+ * Entries are only kept for a short TTL, so a renamed user shows up with the new name soon after.
+ * A full cache drops its expired entries and stops storing new names until some expire.
+ */
+@Component
+public class UserNameCache {
+
+    // Largest batch the user service accepts
+    private static final int BATCH_SIZE = 500;
+
+    private final UserClient userClient;
+    private final long ttlMillis;
+    private final int maxSize;
+    private final Clock clock;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer loadTimer;
+
+    @Autowired
+    public UserNameCache(UserClient userClient,
+            @Value("${user.cache.ttl:30s}") Duration ttl,
+            @Value("${user.cache.max-size:10000}") int maxSize,
+            MeterRegistry meterRegistry) {
+        this(userClient, ttl, maxSize, meterRegistry, Clock.systemUTC());
+    }
+
+    public UserNameCache(UserClient userClient, Duration ttl, int maxSize, MeterRegistry meterRegistry, Clock clock) {
+        this.userClient = userClient;
+        this.ttlMillis = ttl.toMillis();
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.hits = Counter.builder("user.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("user.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.loadTimer = Timer.builder("user.cache.load")
+            .description("Batch lookups of users in the user service")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        Gauge.builder("user.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Names by user id. Users the user service does not know are left out.
+     */
+    public Map<Long, String> getNames(Collection<Long> userIds) {
+        Map<Long, String> names = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        long now = clock.millis();
+        for (Long userId : userIds) {
+            Entry entry = entries.get(userId);
+            if (entry != null && now < entry.expiresAt) {
+                names.put(userId, entry.name);
+            } else {
+                missing.add(userId);
+            }
+        }
+        hits.increment(names.size());
+        misses.increment(missing.size());
+
+        List<Long> toLoad = new ArrayList<>(missing);
+        for (int from = 0; from < toLoad.size(); from += BATCH_SIZE) {
+            Set<Long> batch = new HashSet<>(toLoad.subList(from, Math.min(from + BATCH_SIZE, toLoad.size())));
+            long start = System.nanoTime();
+            List<UserDTO> users = userClient.getUsers(batch);
+            loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (users != null) {
+                for (UserDTO user : users) {
+                    names.put(user.getId(), user.getName());
+                    store(user.getId(), user.getName(), now);
+                }
+            }
+        }
+        return names;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void store(Long userId, String name, long now) {
+        if (ttlMillis <= 0 || maxSize <= 0 || name == null) {
+            return;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(userId)) {
+            entries.values().removeIf(entry -> entry.expiresAt <= now);
+            if (entries.size() >= maxSize) {
+                return;
+            }
+        }
+        entries.put(userId, new Entry(name, now + ttlMillis));
+    }
+
+    private static final class Entry {
+
+        private final String name;
+        private final long expiresAt;
+
+        private Entry(String name, long expiresAt) {
+            this.name = name;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update)
+
+create table review (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    apartment_id bigint not null,
+    date date not null,
+    comment longtext not null,
+    rating integer not null,
+    primary key (id)
+);
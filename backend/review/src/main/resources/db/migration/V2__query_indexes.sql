@@ -0,0 +1,7 @@
+-- Indexes for the queries in ReviewRepository
+
+-- Reviews of an apartment and their average rating, answered from the index alone
+create index idx_review_apartment_rating on review (apartment_id, rating);
+
+-- One review per user and apartment (existsByUserIdAndApartmentId)
+create index idx_review_user_apartment on review (user_id, apartment_id);
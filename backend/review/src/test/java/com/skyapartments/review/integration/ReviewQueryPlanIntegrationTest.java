@@ -0,0 +1,35 @@
+package com.skyapartments.review.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import com.skyapartments.common.testutils.AbstractQueryPlanIntegrationTest;
+import com.skyapartments.review.model.Review;
+import com.skyapartments.review.repository.ReviewRepository;
+
+/**
+ * Checks that every repository query is answered from an index.
+ */
+public class ReviewQueryPlanIntegrationTest extends AbstractQueryPlanIntegrationTest {
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Review.class)
+    @EnableJpaRepositories(basePackageClasses = ReviewRepository.class)
+    static class RepositoriesOnly {
+    }
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Test
+    void reviewQueries_ShouldUseIndexes() {
+        // Second page, so the count query runs too
+        assertIndexed("findByApartmentId", () -> reviewRepository.findByApartmentId(1L, PageRequest.of(1, 10)));
+        assertIndexed("getAverageRatingByApartmentId", () -> reviewRepository.getAverageRatingByApartmentId(1L));
+        assertIndexed("existsByUserIdAndApartmentId", () -> reviewRepository.existsByUserIdAndApartmentId(1L, 1L));
+    }
+}
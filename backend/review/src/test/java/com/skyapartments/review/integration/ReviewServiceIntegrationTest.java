@@ -10,6 +10,7 @@ import org.testcontainers.containers.MySQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import com.skyapartments.common.cache.NearCache;
 import com.skyapartments.review.dto.ApartmentDTO;
 import com.skyapartments.review.dto.BookingDTO;
 import com.skyapartments.review.dto.ReviewDTO;
@@ -24,8 +25,10 @@ import com.skyapartments.review.repository.BookingClient;
 import com.skyapartments.review.repository.ReviewRepository;
 import com.skyapartments.review.repository.UserClient;
 import com.skyapartments.review.service.ReviewService;
+import com.skyapartments.review.service.UserNameCache;
 
 import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -36,6 +39,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -76,7 +80,7 @@ public class ReviewServiceIntegrationTest {
     @BeforeEach
     void setUp() {
         reviewRepository.deleteAll();
-        reviewService = new ReviewService(reviewRepository, userClient, apartmentClient, bookingClient);
+        reviewService = new ReviewService(reviewRepository, userClient, new NearCache<>("apartment", apartmentClient::getApartment, Duration.ZERO, 0, new SimpleMeterRegistry()), bookingClient, new UserNameCache(userClient, Duration.ZERO, 0, new SimpleMeterRegistry()));
         
         review = new Review();
         review.setUserId(1L);
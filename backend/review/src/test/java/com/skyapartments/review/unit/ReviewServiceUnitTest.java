@@ -19,9 +19,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import com.skyapartments.common.cache.NearCache;
 import com.skyapartments.review.dto.ApartmentDTO;
 import com.skyapartments.review.dto.BookingDTO;
 import com.skyapartments.review.dto.ReviewDTO;
@@ -36,8 +39,10 @@ import com.skyapartments.review.repository.BookingClient;
 import com.skyapartments.review.repository.ReviewRepository;
 import com.skyapartments.review.repository.UserClient;
 import com.skyapartments.review.service.ReviewService;
+import com.skyapartments.review.service.UserNameCache;
 
 import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 public class ReviewServiceUnitTest {
     private ReviewRepository reviewRepository = mock(ReviewRepository.class);
@@ -47,7 +52,7 @@ public class ReviewServiceUnitTest {
     private ReviewService reviewService;
 
     public ReviewServiceUnitTest() {
-        this.reviewService = new ReviewService(reviewRepository, userClient, apartmentClient, bookingClient);
+        this.reviewService = new ReviewService(reviewRepository, userClient, new NearCache<>("apartment", apartmentClient::getApartment, Duration.ZERO, 0, new SimpleMeterRegistry()), bookingClient, new UserNameCache(userClient, Duration.ZERO, 0, new SimpleMeterRegistry()));
     }
 
     private ReviewRequestDTO buildValidRequest() {
@@ -477,6 +482,42 @@ public class ReviewServiceUnitTest {
         verify(reviewRepository).findByApartmentId(apartmentId, pageable);
     }
 
+    @Test
+    public void getReviewsByApartment_ShouldResolveTheReviewersOfThePageInOneCall() {
+        Long apartmentId = 1L;
+        Pageable pageable = PageRequest.of(0, 10);
+
+        Review review1 = new Review();
+        review1.setId(1L);
+        review1.setUserId(10L);
+        review1.setApartmentId(1L);
+
+        Review review2 = new Review();
+        review2.setId(2L);
+        review2.setUserId(11L);
+        review2.setApartmentId(1L);
+
+        Review review3 = new Review();
+        review3.setId(3L);
+        review3.setUserId(10L);
+        review3.setApartmentId(1L);
+
+        UserDTO ana = new UserDTO();
+        ana.setId(10L);
+        ana.setName("Ana");
+
+        when(apartmentClient.getApartment(apartmentId)).thenReturn(new ApartmentDTO());
+        when(reviewRepository.findByApartmentId(apartmentId, pageable))
+            .thenReturn(new PageImpl<>(List.of(review1, review2, review3), pageable, 3));
+        when(userClient.getUsers(Set.of(10L, 11L))).thenReturn(List.of(ana));
+
+        Page<ReviewDTO> result = reviewService.getReviewsByApartment(apartmentId, pageable);
+
+        assertEquals(List.of("Ana", "Unknown", "Ana"), result.getContent().stream().map(ReviewDTO::getUserName).toList());
+        verify(userClient).getUsers(Set.of(10L, 11L));
+        verify(userClient, never()).getUser(any());
+    }
+
     // ==================== CAN USER REVIEW TESTS ====================
 
     @Test
@@ -0,0 +1,116 @@
+package com.skyapartments.review.unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.skyapartments.review.dto.UserDTO;
+import com.skyapartments.review.repository.UserClient;
+import com.skyapartments.review.service.UserNameCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class UserNameCacheUnitTest {
+
+    private final UserClient userClient = mock(UserClient.class);
+    private final MutableClock clock = new MutableClock(Instant.parse("2030-01-01T10:00:00Z"));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserNameCache userNameCache = new UserNameCache(userClient, Duration.ofSeconds(30), 100, meterRegistry, clock);
+
+    @Test
+    public void getNames_ShouldOnlyLoadTheUsersMissingFromTheCache() {
+        when(userClient.getUsers(Set.of(1L, 2L))).thenReturn(List.of(user(1L, "Ana"), user(2L, "Luis")));
+        when(userClient.getUsers(Set.of(3L))).thenReturn(List.of(user(3L, "Marta")));
+
+        assertThat(userNameCache.getNames(Set.of(1L, 2L))).containsEntry(1L, "Ana").containsEntry(2L, "Luis");
+        assertThat(userNameCache.getNames(Set.of(1L, 2L, 3L))).hasSize(3).containsEntry(3L, "Marta");
+
+        verify(userClient).getUsers(Set.of(1L, 2L));
+        verify(userClient).getUsers(Set.of(3L));
+        assertThat(meterRegistry.get("user.cache.requests").tag("result", "hit").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("user.cache.requests").tag("result", "miss").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    public void getNames_ShouldReloadExpiredNames() {
+        when(userClient.getUsers(Set.of(1L))).thenReturn(List.of(user(1L, "Ana")), List.of(user(1L, "Ana María")));
+
+        userNameCache.getNames(Set.of(1L));
+        clock.advance(Duration.ofSeconds(31));
+
+        assertThat(userNameCache.getNames(Set.of(1L))).containsEntry(1L, "Ana María");
+        verify(userClient, times(2)).getUsers(Set.of(1L));
+    }
+
+    @Test
+    public void getNames_ShouldLeaveOutUnknownUsersAndNotCallForAnEmptyPage() {
+        when(userClient.getUsers(Set.of(1L, 99L))).thenReturn(List.of(user(1L, "Ana")));
+
+        assertThat(userNameCache.getNames(Set.of(1L, 99L))).containsOnlyKeys(1L);
+        assertThat(userNameCache.getNames(Set.of())).isEmpty();
+
+        verify(userClient, times(1)).getUsers(any());
+        assertThat(userNameCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void getNames_ShouldNotCacheWhenDisabled() {
+        UserNameCache disabled = new UserNameCache(userClient, Duration.ZERO, 0, new SimpleMeterRegistry(), clock);
+        when(userClient.getUsers(Set.of(1L))).thenReturn(List.of(user(1L, "Ana")));
+
+        disabled.getNames(Set.of(1L));
+        disabled.getNames(Set.of(1L));
+
+        verify(userClient, times(2)).getUsers(Set.of(1L));
+        verify(userClient, never()).getUser(any());
+    }
+
+    private static UserDTO user(Long id, String name) {
+        UserDTO user = new UserDTO();
+        user.setId(id);
+        user.setName(name);
+        return user;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
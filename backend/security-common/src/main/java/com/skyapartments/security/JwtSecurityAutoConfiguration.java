@@ -0,0 +1,61 @@
+package com.skyapartments.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+
+import com.skyapartments.security.jwt.InternalIdentity;
+import com.skyapartments.security.jwt.JwtRequestFilter;
+import com.skyapartments.security.jwt.JwtTokenProvider;
+import com.skyapartments.security.jwt.UnauthorizedHandlerJwt;
+import com.skyapartments.security.jwt.ValidatedTokenCache;
+
+/**
+ * JWT beans every service wires into its security filter chain. The services only need the
+ * jwt.secret property and their own SecurityConfig.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class JwtSecurityAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ValidatedTokenCache validatedTokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize) {
+        return new ValidatedTokenCache(maxSize);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtTokenProvider jwtTokenProvider(@Value("${jwt.secret}") String secret, ValidatedTokenCache validatedTokenCache) {
+        return new JwtTokenProvider(secret, validatedTokenCache);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public InternalIdentity internalIdentity(@Value("${jwt.secret}") String secret) {
+        return new InternalIdentity(secret);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtRequestFilter jwtRequestFilter(JwtTokenProvider jwtTokenProvider, InternalIdentity internalIdentity) {
+        return new JwtRequestFilter(jwtTokenProvider, internalIdentity);
+    }
+
+    // The filter runs inside the security filter chain only, not a second time as a plain servlet filter
+    @Bean
+    public FilterRegistrationBean<JwtRequestFilter> jwtRequestFilterRegistration(JwtRequestFilter jwtRequestFilter) {
+        FilterRegistrationBean<JwtRequestFilter> registration = new FilterRegistrationBean<>(jwtRequestFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public UnauthorizedHandlerJwt unauthorizedHandlerJwt() {
+        return new UnauthorizedHandlerJwt();
+    }
+}
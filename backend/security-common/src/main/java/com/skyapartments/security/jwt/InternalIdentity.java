@@ -0,0 +1,111 @@
+package com.skyapartments.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Identity of an already authenticated user, forwarded by the gateway to the services in the
+ * {@link #HEADER} header once it has verified the access token. The header is a short payload
+ * (expiration, roles and email) followed by its HMAC, so checking it costs one HMAC over a
+ * hundred bytes instead of a JWT verification and JSON parsing.
+ *
+ * The signing key is derived from jwt.secret, so the header cannot be mistaken for a token or
+ * forged by anyone who cannot sign tokens either. It expires with the access token it came from.
+ */
+public class InternalIdentity {
+
+	public static final String HEADER = "X-Internal-Identity";
+
+	private static final String ALGORITHM = "HmacSHA256";
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private final ThreadLocal<Mac> mac;
+	private final Clock clock;
+
+	public InternalIdentity(String secret) {
+		this(secret, Clock.systemUTC());
+	}
+
+	public InternalIdentity(String secret, Clock clock) {
+		SecretKeySpec key = new SecretKeySpec(
+			hmac(new SecretKeySpec(secret.getBytes(), ALGORITHM), "internal-identity".getBytes(StandardCharsets.UTF_8)),
+			ALGORITHM);
+		this.mac = ThreadLocal.withInitial(() -> newMac(key));
+		this.clock = clock;
+	}
+
+	public String sign(String subject, Collection<String> roles, Instant expiresAt) {
+		String payload = expiresAt.getEpochSecond() + "\n" + String.join(",", roles) + "\n" + subject;
+		byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+		return ENCODER.encodeToString(bytes) + "." + ENCODER.encodeToString(mac.get().doFinal(bytes));
+	}
+
+	/**
+	 * The identity carried by a header value, which must be signed with this key and not expired.
+	 */
+	public Identity verify(String header) {
+		int dot = header.indexOf('.');
+		if (dot < 0) {
+			throw new IllegalArgumentException("Malformed identity header");
+		}
+		byte[] payload = DECODER.decode(header.substring(0, dot));
+		byte[] signature = DECODER.decode(header.substring(dot + 1));
+		if (!MessageDigest.isEqual(signature, mac.get().doFinal(payload))) {
+			throw new IllegalArgumentException("Invalid identity header signature");
+		}
+
+		// Email last: it is the only field that may contain the separators
+		String[] fields = new String(payload, StandardCharsets.UTF_8).split("\n", 3);
+		if (fields.length != 3) {
+			throw new IllegalArgumentException("Malformed identity header");
+		}
+		if (clock.instant().getEpochSecond() >= Long.parseLong(fields[0])) {
+			throw new IllegalArgumentException("Identity header has expired");
+		}
+		List<String> roles = fields[1].isEmpty() ? List.of() : List.of(fields[1].split(","));
+		return new Identity(fields[2], roles);
+	}
+
+	private static Mac newMac(SecretKeySpec key) {
+		try {
+			Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(key);
+			return mac;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(ALGORITHM + " is not available", e);
+		}
+	}
+
+	private static byte[] hmac(SecretKeySpec key, byte[] data) {
+		return newMac(key).doFinal(data);
+	}
+
+	public static final class Identity {
+
+		private final String subject;
+		private final List<String> roles;
+
+		private Identity(String subject, List<String> roles) {
+			this.subject = subject;
+			this.roles = roles;
+		}
+
+		public String getSubject() {
+			return subject;
+		}
+
+		public List<String> getRoles() {
+			return roles;
+		}
+	}
+}
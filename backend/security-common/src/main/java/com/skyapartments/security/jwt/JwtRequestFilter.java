@@ -1,4 +1,4 @@
-package com.skyapartments.apartment.security.jwt;
+package com.skyapartments.security.jwt;
 
 import java.io.IOException;
 
@@ -6,9 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import jakarta.servlet.FilterChain;
@@ -16,18 +14,22 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-@Component
+/**
+ * Authenticates requests from the access token alone: the user and roles are read from its claims.
+ * Requests that went through the gateway carry the identity it already verified, which is much
+ * cheaper to check than the token.
+ */
 public class JwtRequestFilter extends OncePerRequestFilter {
 	
 	private static final Logger log = LoggerFactory.getLogger(JwtRequestFilter.class);
 
-	private final UserDetailsService userDetailsService;
-
 	private final JwtTokenProvider jwtTokenProvider;
 
-	public JwtRequestFilter(UserDetailsService userDetailsService, JwtTokenProvider jwtTokenProvider) {
-		this.userDetailsService = userDetailsService;
+	private final InternalIdentity internalIdentity;
+
+	public JwtRequestFilter(JwtTokenProvider jwtTokenProvider, InternalIdentity internalIdentity) {
 		this.jwtTokenProvider = jwtTokenProvider;
+		this.internalIdentity = internalIdentity;
 	}
 
 	@Override
@@ -35,17 +37,16 @@ public class JwtRequestFilter extends OncePerRequestFilter {
       throws ServletException, IOException {
 
 		try {
-			var claims = jwtTokenProvider.validateToken(request, true);
-			var userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+			String identity = request.getHeader(InternalIdentity.HEADER);
+			UsernamePasswordAuthenticationToken authentication = identity != null
+					? jwtTokenProvider.toAuthentication(internalIdentity.verify(identity))
+					: jwtTokenProvider.toAuthentication(jwtTokenProvider.validateToken(request, true));
 
-			UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-						userDetails, null, userDetails.getAuthorities());
-				
 			authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 			SecurityContextHolder.getContext().setAuthentication(authentication);
 		} catch (Exception ex) {
 			//Avoid logging when no token is found
-			if(!ex.getMessage().equals("No access token cookie found in request")) {
+			if(!"No access token cookie found in request".equals(ex.getMessage())) {
 				log.error("Exception processing JWT Token: ", ex);
 			}			
 		}
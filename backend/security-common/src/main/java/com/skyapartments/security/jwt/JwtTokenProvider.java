@@ -1,30 +1,35 @@
-package com.skyapartments.user.security.jwt;
+package com.skyapartments.security.jwt;
 import java.util.Date;
+import java.util.List;
 
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtBuilder;
-import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 
-@Component
 public class JwtTokenProvider {
 
 	private final SecretKey jwtSecret;
-    private final JwtParser jwtParser;
+    private final TokenVerifier tokenVerifier;
 
-    public JwtTokenProvider(@Value("${jwt.secret}") String secret) {
+    public JwtTokenProvider(String secret) {
+        this(secret, new ValidatedTokenCache(0));
+    }
+
+    public JwtTokenProvider(String secret, ValidatedTokenCache validatedTokens) {
         this.jwtSecret = new SecretKeySpec(secret.getBytes(), "HmacSHA256");
-        this.jwtParser = Jwts.parser().verifyWith(jwtSecret).build();
+        this.tokenVerifier = new TokenVerifier(secret, validatedTokens);
     }
 
 	public String tokenStringFromHeaders(HttpServletRequest req){
@@ -65,7 +70,31 @@ public class JwtTokenProvider {
 	}
 
 	public Claims validateToken(String token) {
-		return jwtParser.parseSignedClaims(token).getPayload();
+		return tokenVerifier.verify(token);
+	}
+
+	/**
+	 * Authentication of the user an access token was issued to, with the roles the token carries.
+	 * Nothing is looked up, so a role change or a removed account only applies to the next token.
+	 */
+	public UsernamePasswordAuthenticationToken toAuthentication(Claims claims) {
+		TokenVerifier.requireAccessToken(claims);
+		return toAuthentication(claims.getSubject(), TokenVerifier.roles(claims));
+	}
+
+	/**
+	 * Authentication of the user the gateway verified the access token of.
+	 */
+	public UsernamePasswordAuthenticationToken toAuthentication(InternalIdentity.Identity identity) {
+		return toAuthentication(identity.getSubject(), identity.getRoles());
+	}
+
+	private static UsernamePasswordAuthenticationToken toAuthentication(String subject, List<String> roles) {
+		List<GrantedAuthority> authorities = roles.stream()
+				.<GrantedAuthority>map(SimpleGrantedAuthority::new)
+				.toList();
+		UserDetails user = new User(subject, "", authorities);
+		return UsernamePasswordAuthenticationToken.authenticated(user, null, authorities);
 	}
 
 	public String generateAccessToken(UserDetails userDetails) {
@@ -1,4 +1,4 @@
-package com.skyapartments.user.security.jwt;
+package com.skyapartments.security.jwt;
 
 import java.time.Duration;
 
@@ -0,0 +1,57 @@
+package com.skyapartments.security.jwt;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Verifies token signatures and reads their claims. Only depends on jjwt, so the reactive gateway
+ * can use it as well as the servlet services.
+ */
+public class TokenVerifier {
+
+	private final JwtParser jwtParser;
+	private final ValidatedTokenCache validatedTokens;
+
+	public TokenVerifier(String secret, ValidatedTokenCache validatedTokens) {
+		this.jwtParser = Jwts.parser().verifyWith(new SecretKeySpec(secret.getBytes(), "HmacSHA256")).build();
+		this.validatedTokens = validatedTokens;
+	}
+
+	public Claims verify(String token) {
+		return validatedTokens.get(token, this::parse);
+	}
+
+	private Claims parse(String token) {
+		return jwtParser.parseSignedClaims(token).getPayload();
+	}
+
+	public static Claims requireAccessToken(Claims claims) {
+		if (!TokenType.ACCESS.name().equals(claims.get("type", String.class))) {
+			throw new IllegalArgumentException("Token is not an access token");
+		}
+		return claims;
+	}
+
+	/**
+	 * Role names of the token, with the ROLE_ prefix.
+	 */
+	public static List<String> roles(Claims claims) {
+		List<String> roles = new ArrayList<>();
+		if (claims.get("roles") instanceof Collection<?> values) {
+			for (Object role : values) {
+				// Tokens hold the serialized authorities, {"authority": "ROLE_USER"}
+				String name = String.valueOf(role instanceof Map<?, ?> authority ? authority.get("authority") : role);
+				roles.add(name.startsWith("ROLE_") ? name : "ROLE_" + name);
+			}
+		}
+		return roles;
+	}
+}
@@ -1,4 +1,4 @@
-package com.skyapartments.user.security.jwt;
+package com.skyapartments.security.jwt;
 
 import java.io.IOException;
 
@@ -9,9 +9,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
-import org.springframework.stereotype.Component;
 
-@Component
 public class UnauthorizedHandlerJwt implements AuthenticationEntryPoint {
 
   private static final Logger logger = LoggerFactory.getLogger(UnauthorizedHandlerJwt.class);
@@ -0,0 +1,170 @@
+package com.skyapartments.security.jwt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Claims of tokens whose signature was already verified, so a cookie sent with every request is
+ * only verified and parsed once. Entries are keyed by the SHA-256 digest of the token and only
+ * served until the token expires; tokens without an expiration are never cached.
+ *
+ * The cache is split in stripes, each a small LRU map with its own lock, so concurrent requests
+ * rarely wait for each other. A maximum size of 0 disables it.
+ */
+public class ValidatedTokenCache implements MeterBinder {
+
+	private static final int STRIPES = 16;
+
+	private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	});
+
+	private final Stripe[] stripes;
+	private final int maxSize;
+	private final Clock clock;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	public ValidatedTokenCache(int maxSize) {
+		this(maxSize, Clock.systemUTC());
+	}
+
+	public ValidatedTokenCache(int maxSize, Clock clock) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException("Maximum size cannot be negative");
+		}
+		this.maxSize = maxSize;
+		this.clock = clock;
+		int stripeSize = (maxSize + STRIPES - 1) / STRIPES;
+		this.stripes = new Stripe[STRIPES];
+		for (int i = 0; i < STRIPES; i++) {
+			stripes[i] = new Stripe(stripeSize);
+		}
+	}
+
+	/**
+	 * Cached claims of the token, or the claims returned by the validator, which throws when the
+	 * token is not valid. Invalid tokens are not cached.
+	 */
+	public Claims get(String token, Function<String, Claims> validator) {
+		if (maxSize == 0) {
+			return validator.apply(token);
+		}
+
+		ByteBuffer key = digest(token);
+		Stripe stripe = stripes[key.getInt(0) & (STRIPES - 1)];
+		long now = clock.millis();
+		synchronized (stripe) {
+			Entry entry = stripe.get(key);
+			if (entry != null) {
+				if (now < entry.expiresAt) {
+					hits.increment();
+					return entry.claims;
+				}
+				stripe.remove(key);
+			}
+		}
+		misses.increment();
+
+		// Validated outside the lock: two requests racing on a new token both verify it, which is harmless
+		Claims claims = validator.apply(token);
+		Date expiration = claims.getExpiration();
+		if (expiration != null && now < expiration.getTime()) {
+			synchronized (stripe) {
+				stripe.put(key, new Entry(claims, expiration.getTime()));
+			}
+		}
+		return claims;
+	}
+
+	public int size() {
+		int size = 0;
+		for (Stripe stripe : stripes) {
+			synchronized (stripe) {
+				size += stripe.size();
+			}
+		}
+		return size;
+	}
+
+	public long hitCount() {
+		return hits.sum();
+	}
+
+	public long missCount() {
+		return misses.sum();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("jwt.cache.requests", hits, LongAdder::sum)
+			.tag("result", "hit")
+			.description("Token validations served from the cache")
+			.register(registry);
+		FunctionCounter.builder("jwt.cache.requests", misses, LongAdder::sum)
+			.tag("result", "miss")
+			.description("Token validations that verified the signature")
+			.register(registry);
+		FunctionCounter.builder("jwt.cache.evictions", evictions, LongAdder::sum)
+			.description("Tokens dropped to keep the cache within its maximum size")
+			.register(registry);
+		Gauge.builder("jwt.cache.size", this, ValidatedTokenCache::size)
+			.description("Validated tokens held in the cache")
+			.register(registry);
+	}
+
+	private static ByteBuffer digest(String token) {
+		MessageDigest sha256 = SHA_256.get();
+		sha256.reset();
+		return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static final class Entry {
+
+		private final Claims claims;
+		private final long expiresAt;
+
+		private Entry(Claims claims, long expiresAt) {
+			this.claims = claims;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	private final class Stripe extends LinkedHashMap<ByteBuffer, Entry> {
+
+		private final int capacity;
+
+		private Stripe(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Entry> eldest) {
+			if (size() <= capacity) {
+				return false;
+			}
+			evictions.increment();
+			return true;
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package com.skyapartments.security.unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.skyapartments.security.jwt.InternalIdentity;
+import com.skyapartments.security.jwt.InternalIdentity.Identity;
+
+public class InternalIdentityUnitTest {
+
+    private static final String SECRET = "a-test-secret-that-is-long-enough-for-hmac-sha256";
+    private static final Instant NOW = Instant.parse("2030-01-01T10:00:00Z");
+
+    private final InternalIdentity internalIdentity = new InternalIdentity(SECRET, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    public void verify_ShouldReturnTheSignedIdentity() {
+        String header = internalIdentity.sign("user@example.com", List.of("ROLE_USER", "ROLE_ADMIN"), NOW.plusSeconds(60));
+
+        Identity identity = internalIdentity.verify(header);
+
+        assertThat(identity.getSubject()).isEqualTo("user@example.com");
+        assertThat(identity.getRoles()).containsExactly("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    public void verify_ShouldAcceptIdentitiesWithoutRoles() {
+        String header = internalIdentity.sign("user@example.com", List.of(), NOW.plusSeconds(60));
+
+        assertThat(internalIdentity.verify(header).getRoles()).isEmpty();
+    }
+
+    @Test
+    public void verify_ShouldRejectExpiredIdentities() {
+        String header = internalIdentity.sign("user@example.com", List.of("ROLE_USER"), NOW);
+
+        assertThatThrownBy(() -> internalIdentity.verify(header)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void verify_ShouldRejectTamperedPayloads() {
+        String header = internalIdentity.sign("user@example.com", List.of("ROLE_USER"), NOW.plusSeconds(60));
+        String signature = header.substring(header.indexOf('.'));
+        String payload = (NOW.plusSeconds(60).getEpochSecond()) + "\nROLE_USER,ROLE_ADMIN\nuser@example.com";
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes()) + signature;
+
+        assertThatThrownBy(() -> internalIdentity.verify(tampered)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void verify_ShouldRejectIdentitiesSignedWithAnotherSecret() {
+        String header = new InternalIdentity("another-secret-that-is-long-enough-for-hmac-sha256")
+            .sign("user@example.com", List.of("ROLE_ADMIN"), NOW.plusSeconds(60));
+
+        assertThatThrownBy(() -> internalIdentity.verify(header)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> internalIdentity.verify("not-a-header")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
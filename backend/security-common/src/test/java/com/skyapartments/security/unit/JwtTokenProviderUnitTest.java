@@ -0,0 +1,73 @@
+package com.skyapartments.security.unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Date;
+import java.util.List;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.skyapartments.security.jwt.JwtTokenProvider;
+import com.skyapartments.security.jwt.TokenType;
+
+import io.jsonwebtoken.Jwts;
+
+public class JwtTokenProviderUnitTest {
+
+    private static final String SECRET = "a-test-secret-that-is-long-enough-for-hmac-sha256";
+
+    private final JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(SECRET);
+
+    private final UserDetails user = new User("user@example.com", "encoded",
+        List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+    @Test
+    public void toAuthentication_ShouldReadTheUserAndRolesFromTheAccessToken() {
+        String token = jwtTokenProvider.generateAccessToken(user);
+
+        UsernamePasswordAuthenticationToken authentication = jwtTokenProvider.toAuthentication(jwtTokenProvider.validateToken(token));
+
+        assertThat(authentication.isAuthenticated()).isTrue();
+        assertThat(authentication.getName()).isEqualTo("user@example.com");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+            .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    public void toAuthentication_ShouldPrefixPlainRoleNames() {
+        String token = Jwts.builder()
+            .claim("roles", List.of("USER"))
+            .claim("type", TokenType.ACCESS.name())
+            .subject("user@example.com")
+            .expiration(new Date(System.currentTimeMillis() + 60_000))
+            .signWith(new SecretKeySpec(SECRET.getBytes(), "HmacSHA256"))
+            .compact();
+
+        UsernamePasswordAuthenticationToken authentication = jwtTokenProvider.toAuthentication(jwtTokenProvider.validateToken(token));
+
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    public void toAuthentication_ShouldRejectRefreshTokens() {
+        String token = jwtTokenProvider.generateRefreshToken(user);
+
+        assertThatThrownBy(() -> jwtTokenProvider.toAuthentication(jwtTokenProvider.validateToken(token)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void validateToken_ShouldRejectTokensSignedWithAnotherSecret() {
+        String token = new JwtTokenProvider("another-secret-that-is-long-enough-for-hmac-sha256").generateAccessToken(user);
+
+        assertThatThrownBy(() -> jwtTokenProvider.validateToken(token)).isInstanceOf(Exception.class);
+    }
+}
@@ -0,0 +1,137 @@
+package com.skyapartments.security.unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.skyapartments.security.jwt.ValidatedTokenCache;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ValidatedTokenCacheUnitTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T10:00:00Z");
+
+    private final AtomicInteger validations = new AtomicInteger();
+
+    @Test
+    public void get_ShouldValidateEachTokenOnce_WhileItIsValid() {
+        ValidatedTokenCache cache = new ValidatedTokenCache(100, clockAt(NOW));
+        Function<String, Claims> validator = validator(NOW.plusSeconds(300));
+
+        Claims first = cache.get("token", validator);
+        Claims second = cache.get("token", validator);
+
+        assertThat(second).isSameAs(first);
+        assertThat(validations).hasValue(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void get_ShouldValidateAgain_OnceTheTokenHasExpired() {
+        MutableClock clock = new MutableClock(NOW);
+        ValidatedTokenCache cache = new ValidatedTokenCache(100, clock);
+        Function<String, Claims> validator = validator(NOW.plusSeconds(300));
+        cache.get("token", validator);
+
+        clock.instant = NOW.plusSeconds(299);
+        cache.get("token", validator);
+        assertThat(validations).hasValue(1);
+
+        // The token expires at that instant, so it is validated again
+        clock.instant = NOW.plusSeconds(300);
+        cache.get("token", validator);
+        assertThat(validations).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void get_ShouldNotCacheInvalidTokens() {
+        ValidatedTokenCache cache = new ValidatedTokenCache(100, clockAt(NOW));
+        Function<String, Claims> validator = token -> {
+            validations.incrementAndGet();
+            throw new IllegalArgumentException("Invalid token");
+        };
+
+        assertThatThrownBy(() -> cache.get("token", validator)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cache.get("token", validator)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(validations).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void get_ShouldStayWithinTheMaximumSize() {
+        ValidatedTokenCache cache = new ValidatedTokenCache(32, clockAt(NOW));
+        Function<String, Claims> validator = validator(NOW.plusSeconds(300));
+
+        for (int i = 0; i < 1000; i++) {
+            cache.get("token-" + i, validator);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(32);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        assertThat(registry.get("jwt.cache.evictions").functionCounter().count()).isEqualTo(1000 - cache.size());
+        assertThat(registry.get("jwt.cache.requests").tag("result", "miss").functionCounter().count()).isEqualTo(1000);
+    }
+
+    @Test
+    public void get_ShouldAlwaysValidate_WhenDisabled() {
+        ValidatedTokenCache cache = new ValidatedTokenCache(0, clockAt(NOW));
+        Function<String, Claims> validator = validator(NOW.plusSeconds(300));
+
+        cache.get("token", validator);
+        cache.get("token", validator);
+
+        assertThat(validations).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    private Function<String, Claims> validator(Instant expiration) {
+        return token -> {
+            validations.incrementAndGet();
+            return Jwts.claims().subject(token).expiration(Date.from(expiration)).build();
+        };
+    }
+
+    private static Clock clockAt(Instant instant) {
+        return Clock.fixed(instant, ZoneOffset.UTC);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.skyapartments.common.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Near cache of the values another service owns, read through the loader (usually a Feign call).
+ * Entries live for a short TTL and the owning service invalidates them when a value changes, so
+ * the TTL only bounds how long a lost notification can leave a stale copy.
+ *
+ * Concurrent misses on the same key share one load. Failed loads, 404s included, and null values
+ * are never cached. A TTL of 0 or a maximum size of 0 disables the cache, not the coalescing.
+ *
+ * Meters are named after the cache: {name}.cache.requests, .coalesced, .evictions, .load and .size.
+ */
+public class NearCache<K, V> {
+
+    private final String name;
+    private final Function<K, V> loader;
+    private final long ttlMillis;
+    private final int maxSize;
+    private final Clock clock;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+    // Bumped by every invalidation, a load that overlaps one is returned but not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Counter evictions;
+    private final Timer loadTimer;
+
+    public NearCache(String name, Function<K, V> loader, Duration ttl, int maxSize, MeterRegistry meterRegistry) {
+        this(name, loader, ttl, maxSize, meterRegistry, Clock.systemUTC());
+    }
+
+    public NearCache(String name, Function<K, V> loader, Duration ttl, int maxSize, MeterRegistry meterRegistry, Clock clock) {
+        this.name = name;
+        this.loader = loader;
+        this.ttlMillis = ttl.toMillis();
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.hits = Counter.builder(name + ".cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(name + ".cache.requests").tag("result", "miss").register(meterRegistry);
+        this.coalesced = Counter.builder(name + ".cache.coalesced")
+            .description("Misses served by a load already in flight")
+            .register(meterRegistry);
+        this.evictions = Counter.builder(name + ".cache.evictions").register(meterRegistry);
+        this.loadTimer = Timer.builder(name + ".cache.load")
+            .description("Loads of the " + name + " values missing from the cache")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        Gauge.builder(name + ".cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && clock.millis() < entry.expiresAt) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> running = loads.putIfAbsent(key, load);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+
+        // The first caller loads on its own thread, keeping its trace and security context
+        long loadGeneration = generation.get();
+        long start = System.nanoTime();
+        try {
+            V value = loader.apply(key);
+            loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (value != null) {
+                store(key, value, loadGeneration);
+            }
+            loads.remove(key, load);
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            loads.remove(key, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        loads.remove(key);
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void store(K key, V value, long loadGeneration) {
+        if (ttlMillis <= 0 || maxSize <= 0) {
+            return;
+        }
+        long now = clock.millis();
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            evict(now);
+        }
+        // Checked inside compute: an invalidation either runs first and wins, or removes this entry after
+        entries.compute(key, (k, current) ->
+            generation.get() == loadGeneration ? new Entry<>(value, now + ttlMillis) : current);
+    }
+
+    /*
+     * Drops the expired entries, or the one closest to expiry when none has expired. Only runs
+     * on a full cache, which holds a few thousand entries at most.
+     */
+    private void evict(long now) {
+        K oldest = null;
+        long oldestExpiry = Long.MAX_VALUE;
+        boolean expired = false;
+        for (Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<K, Entry<V>> candidate = it.next();
+            long expiresAt = candidate.getValue().expiresAt;
+            if (expiresAt <= now) {
+                it.remove();
+                evictions.increment();
+                expired = true;
+            } else if (expiresAt < oldestExpiry) {
+                oldest = candidate.getKey();
+                oldestExpiry = expiresAt;
+            }
+        }
+        if (!expired && oldest != null && entries.remove(oldest) != null) {
+            evictions.increment();
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.skyapartments.common.cache;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Exposes the invalidation endpoint of the service's near caches, once the service sets
+ * near-cache.eviction-path. The caches themselves are beans of the service.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty("near-cache.eviction-path")
+public class NearCacheAutoConfiguration {
+
+    @Bean
+    public NearCacheEvictionController nearCacheEvictionController(List<NearCache<Long, ?>> caches) {
+        return new NearCacheEvictionController(caches);
+    }
+}
@@ -0,0 +1,43 @@
+package com.skyapartments.common.cache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Hidden;
+
+/**
+ * Invalidation endpoint of the near caches keyed by id:
+ * DELETE {near-cache.eviction-path}/{name}-cache/{id}. The service owning the values calls it on
+ * every instance when one changes. The path must be under the private prefix of the service,
+ * which the gateway does not route.
+ */
+@RestController
+@RequestMapping("${near-cache.eviction-path}")
+public class NearCacheEvictionController {
+
+    private final Map<String, NearCache<Long, ?>> caches = new HashMap<>();
+
+    public NearCacheEvictionController(List<NearCache<Long, ?>> caches) {
+        for (NearCache<Long, ?> cache : caches) {
+            this.caches.put(cache.getName(), cache);
+        }
+    }
+
+    @Hidden
+    @DeleteMapping("/{name}-cache/{id}")
+    public ResponseEntity<Void> evict(@PathVariable String name, @PathVariable Long id) {
+        NearCache<Long, ?> cache = caches.get(name);
+        if (cache == null) {
+            return ResponseEntity.notFound().build();
+        }
+        cache.invalidate(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.skyapartments.common.feign;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bulkhead and circuit breaker around every call of a Feign client, so a slow or failing service
+ * cannot hold all the request threads: calls over the concurrency limit, or made while the breaker
+ * is open, fail at once with a ServiceUnavailableException (503). Timeouts are the Feign ones,
+ * spring.cloud.openfeign.client.config.{client}.connect-timeout and read-timeout.
+ *
+ * Listed in the configuration of each client, so it is not a @Configuration. Settings are read from
+ * feign.resilience.{client}.*, then feign.resilience.default.*. State and calls are exported as the
+ * resilience4j.circuitbreaker.* and resilience4j.bulkhead.* metrics, tagged with the client name.
+ */
+public class FeignResilienceConfig {
+
+    @Bean
+    public Capability resilienceCapability(@Value("${spring.cloud.openfeign.client.name}") String clientName,
+            Environment environment, MeterRegistry meterRegistry) {
+
+        Settings settings = new Settings(environment, clientName);
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(settings.get("max-concurrent-calls", Integer.class, 20))
+            .maxWaitDuration(settings.get("max-wait", Duration.class, Duration.ZERO))
+            .build());
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(settings.get("sliding-window-size", Integer.class, 20))
+            .minimumNumberOfCalls(settings.get("minimum-calls", Integer.class, 10))
+            .failureRateThreshold(settings.get("failure-rate-threshold", Float.class, 50f))
+            .slowCallDurationThreshold(settings.get("slow-call-duration", Duration.class, Duration.ofSeconds(2)))
+            .slowCallRateThreshold(settings.get("slow-call-rate-threshold", Float.class, 80f))
+            .waitDurationInOpenState(settings.get("wait-in-open-state", Duration.class, Duration.ofSeconds(10)))
+            .permittedNumberOfCallsInHalfOpenState(settings.get("half-open-calls", Integer.class, 3))
+            .build());
+        Bulkhead bulkhead = bulkheads.bulkhead(clientName);
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(clientName);
+
+        // Registries are per client, the meters are tagged with the client name
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+
+        return new Capability() {
+            @Override
+            public Client enrich(Client client) {
+                return new ResilientClient(clientName, client, bulkhead, circuitBreaker);
+            }
+        };
+    }
+
+    static final class ResilientClient implements Client {
+
+        private final String clientName;
+        private final Client delegate;
+        private final Bulkhead bulkhead;
+        private final CircuitBreaker circuitBreaker;
+
+        ResilientClient(String clientName, Client delegate, Bulkhead bulkhead, CircuitBreaker circuitBreaker) {
+            this.clientName = clientName;
+            this.delegate = delegate;
+            this.bulkhead = bulkhead;
+            this.circuitBreaker = circuitBreaker;
+        }
+
+        @Override
+        public Response execute(Request request, Request.Options options) throws IOException {
+            if (!bulkhead.tryAcquirePermission()) {
+                throw new ServiceUnavailableException("Too many concurrent calls to the " + clientName + " service");
+            }
+            try {
+                circuitBreaker.acquirePermission();
+            } catch (CallNotPermittedException e) {
+                bulkhead.onComplete();
+                throw new ServiceUnavailableException("The " + clientName + " service is not available");
+            }
+
+            long start = circuitBreaker.getCurrentTimestamp();
+            try {
+                Response response = delegate.execute(request, options);
+                long duration = circuitBreaker.getCurrentTimestamp() - start;
+                // Client errors are answers of a healthy service
+                if (response.status() >= 500) {
+                    circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(),
+                        new IOException("Status " + response.status() + " from the " + clientName + " service"));
+                } else {
+                    circuitBreaker.onSuccess(duration, circuitBreaker.getTimestampUnit());
+                }
+                return response;
+            } catch (IOException | RuntimeException e) {
+                circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), e);
+                throw e;
+            } finally {
+                bulkhead.onComplete();
+            }
+        }
+    }
+
+    private static final class Settings {
+
+        private final Environment environment;
+        private final String clientName;
+
+        private Settings(Environment environment, String clientName) {
+            this.environment = environment;
+            this.clientName = clientName;
+        }
+
+        private <T> T get(String key, Class<T> type, T defaultValue) {
+            T value = environment.getProperty("feign.resilience." + clientName + "." + key, type);
+            return value != null ? value : environment.getProperty("feign.resilience.default." + key, type, defaultValue);
+        }
+    }
+}
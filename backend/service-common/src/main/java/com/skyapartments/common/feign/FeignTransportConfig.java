@@ -0,0 +1,182 @@
+package com.skyapartments.common.feign;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+import org.springframework.cloud.openfeign.loadbalancer.LoadBalancerFeignRequestTransformer;
+import org.springframework.context.annotation.Bean;
+
+import feign.Client;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.ConnectionPool;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * Pooled OkHttp transport for a Feign client: kept-alive connections, a cap on concurrent requests
+ * per host, transparent gzip and, with feign.transport.http2, HTTP/2 without TLS (the services run
+ * Tomcat with server.http2.enabled, which accepts it).
+ *
+ * Listed in the configuration of each client, so it is not a @Configuration: every client gets its
+ * own pool and pool metrics tagged with its name. With feign.transport.pooled=false the clients
+ * fall back to the default JDK transport.
+ */
+public class FeignTransportConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "feign.transport.pooled", havingValue = "true", matchIfMissing = true)
+    public Client feignClient(
+            @Value("${spring.cloud.openfeign.client.name}") String clientName,
+            @Value("${feign.transport.max-idle-connections:20}") int maxIdleConnections,
+            @Value("${feign.transport.keep-alive:PT5M}") Duration keepAlive,
+            @Value("${feign.transport.max-requests-per-host:64}") int maxRequestsPerHost,
+            @Value("${feign.transport.http2:false}") boolean http2,
+            LoadBalancerClient loadBalancerClient,
+            LoadBalancerClientFactory loadBalancerClientFactory,
+            ObjectProvider<LoadBalancerFeignRequestTransformer> transformers,
+            MeterRegistry meterRegistry) {
+
+        Client pooled = pooledClient(clientName, maxIdleConnections, keepAlive, maxRequestsPerHost, http2, meterRegistry);
+        return new FeignBlockingLoadBalancerClient(pooled,
+            loadBalancerClient, loadBalancerClientFactory, transformers.orderedStream().toList());
+    }
+
+    /**
+     * The pooled transport itself, without the load balancer: requests go to the URL they carry.
+     */
+    public static Client pooledClient(String clientName, int maxIdleConnections, Duration keepAlive,
+                                      int maxRequestsPerHost, boolean http2, MeterRegistry meterRegistry) {
+        ConnectionPool pool = new ConnectionPool(maxIdleConnections, keepAlive.toMillis(), TimeUnit.MILLISECONDS);
+        HostLimiter hostLimiter = new HostLimiter(maxRequestsPerHost);
+        OkHttpClient okHttpClient = new OkHttpClient.Builder()
+            .connectionPool(pool)
+            .protocols(http2 ? List.of(Protocol.H2_PRIOR_KNOWLEDGE) : List.of(Protocol.HTTP_1_1))
+            .retryOnConnectionFailure(true)
+            .followRedirects(false)
+            .addInterceptor(hostLimiter)
+            .build();
+
+        Gauge.builder("feign.client.pool.connections", pool, p -> p.connectionCount() - p.idleConnectionCount())
+            .tag("client", clientName).tag("state", "active")
+            .register(meterRegistry);
+        Gauge.builder("feign.client.pool.connections", pool, ConnectionPool::idleConnectionCount)
+            .tag("client", clientName).tag("state", "idle")
+            .register(meterRegistry);
+        Gauge.builder("feign.client.pool.pending", hostLimiter, HostLimiter::waiting)
+            .tag("client", clientName)
+            .description("Requests waiting for a free slot on their host")
+            .register(meterRegistry);
+
+        return new feign.okhttp.OkHttpClient(okHttpClient);
+    }
+
+    /**
+     * Caps the requests in flight to each host, and so the HTTP/1.1 connections open to it. A slot
+     * is held until the response body is closed; requests over the cap wait for one as long as the
+     * call may take to connect.
+     */
+    static final class HostLimiter implements Interceptor {
+
+        private final int maxRequestsPerHost;
+        private final Map<String, Semaphore> hosts = new ConcurrentHashMap<>();
+
+        HostLimiter(int maxRequestsPerHost) {
+            this.maxRequestsPerHost = maxRequestsPerHost;
+        }
+
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            String host = chain.request().url().host() + ":" + chain.request().url().port();
+            Semaphore slots = hosts.computeIfAbsent(host, h -> new Semaphore(maxRequestsPerHost, true));
+            try {
+                if (!slots.tryAcquire(chain.connectTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new IOException("Too many concurrent requests to " + host);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for a connection to " + host);
+            }
+            Response response;
+            try {
+                response = chain.proceed(chain.request());
+            } catch (IOException | RuntimeException e) {
+                slots.release();
+                throw e;
+            }
+            // The connection stays busy until Feign has read the body
+            ResponseBody body = response.body();
+            if (body == null) {
+                slots.release();
+                return response;
+            }
+            return response.newBuilder().body(new ReleasingBody(body, slots)).build();
+        }
+
+        int waiting() {
+            int waiting = 0;
+            for (Semaphore slots : hosts.values()) {
+                waiting += slots.getQueueLength();
+            }
+            return waiting;
+        }
+    }
+
+    private static final class ReleasingBody extends ResponseBody {
+
+        private final ResponseBody body;
+        private final BufferedSource source;
+
+        private ReleasingBody(ResponseBody body, Semaphore slots) {
+            this.body = body;
+            AtomicBoolean released = new AtomicBoolean();
+            this.source = Okio.buffer(new ForwardingSource(body.source()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            slots.release();
+                        }
+                    }
+                }
+            });
+        }
+
+        @Override
+        public MediaType contentType() {
+            return body.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return body.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.skyapartments.common.feign;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+}
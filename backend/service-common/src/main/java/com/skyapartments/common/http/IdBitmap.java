@@ -0,0 +1,167 @@
+package com.skyapartments.common.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Roaring-style binary encoding for sets of ids. Ids are grouped by their high 48 bits and the
+ * low 16 bits of each group are stored in the smallest of three containers: a sorted array,
+ * a 65536-bit bitmap or a list of runs.
+ *
+ * Layout (big endian): version byte, container count (int), then per container the key (long),
+ * the type byte and its payload. Array: count (int) and values (char). Bitmap: 1024 longs.
+ * Runs: count (int) and (start, length - 1) char pairs.
+ */
+public final class IdBitmap {
+
+    static final byte VERSION = 1;
+
+    private static final byte ARRAY = 0;
+    private static final byte BITMAP = 1;
+    private static final byte RUNS = 2;
+
+    private static final int BITMAP_WORDS = 1024;
+    private static final int BITMAP_BYTES = BITMAP_WORDS * Long.BYTES;
+
+    private IdBitmap() {
+    }
+
+    public static byte[] encode(Collection<Long> ids) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            encode(ids, bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Not thrown by ByteArrayOutputStream
+        }
+        return bytes.toByteArray();
+    }
+
+    public static void encode(Collection<Long> ids, OutputStream target) throws IOException {
+        long[] sorted = ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeByte(VERSION);
+
+        int containers = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || (sorted[i] >>> 16) != (sorted[i - 1] >>> 16)) {
+                containers++;
+            }
+        }
+        out.writeInt(containers);
+
+        int start = 0;
+        while (start < sorted.length) {
+            long key = sorted[start] >>> 16;
+            int end = start;
+            while (end < sorted.length && (sorted[end] >>> 16) == key) {
+                end++;
+            }
+            out.writeLong(key);
+            writeContainer(out, sorted, start, end);
+            start = end;
+        }
+        out.flush();
+    }
+
+    private static void writeContainer(DataOutputStream out, long[] sorted, int start, int end) throws IOException {
+        int cardinality = end - start;
+        int runs = 1;
+        for (int i = start + 1; i < end; i++) {
+            if (sorted[i] != sorted[i - 1] + 1) {
+                runs++;
+            }
+        }
+
+        int arrayBytes = Integer.BYTES + cardinality * Character.BYTES;
+        int runBytes = Integer.BYTES + runs * 2 * Character.BYTES;
+
+        if (runBytes < arrayBytes && runBytes < BITMAP_BYTES) {
+            out.writeByte(RUNS);
+            out.writeInt(runs);
+            int runStart = start;
+            for (int i = start + 1; i <= end; i++) {
+                if (i == end || sorted[i] != sorted[i - 1] + 1) {
+                    out.writeChar((int) (sorted[runStart] & 0xFFFF));
+                    out.writeChar(i - runStart - 1);
+                    runStart = i;
+                }
+            }
+        } else if (arrayBytes <= BITMAP_BYTES) {
+            out.writeByte(ARRAY);
+            out.writeInt(cardinality);
+            for (int i = start; i < end; i++) {
+                out.writeChar((int) (sorted[i] & 0xFFFF));
+            }
+        } else {
+            out.writeByte(BITMAP);
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = start; i < end; i++) {
+                int low = (int) (sorted[i] & 0xFFFF);
+                words[low >>> 6] |= 1L << low;
+            }
+            for (long word : words) {
+                out.writeLong(word);
+            }
+        }
+    }
+
+    public static Set<Long> decode(byte[] encoded) {
+        try {
+            return decode(new ByteArrayInputStream(encoded));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed id bitmap", e);
+        }
+    }
+
+    public static Set<Long> decode(InputStream source) throws IOException {
+        DataInputStream in = new DataInputStream(source);
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported id bitmap version " + version);
+        }
+        int containers = in.readInt();
+        Set<Long> ids = new HashSet<>();
+        for (int c = 0; c < containers; c++) {
+            long high = in.readLong() << 16;
+            byte type = in.readByte();
+            switch (type) {
+                case ARRAY -> {
+                    int cardinality = in.readInt();
+                    for (int i = 0; i < cardinality; i++) {
+                        ids.add(high | in.readChar());
+                    }
+                }
+                case BITMAP -> {
+                    for (int word = 0; word < BITMAP_WORDS; word++) {
+                        long bits = in.readLong();
+                        while (bits != 0) {
+                            int bit = Long.numberOfTrailingZeros(bits);
+                            ids.add(high | (word << 6 | bit));
+                            bits &= bits - 1;
+                        }
+                    }
+                }
+                case RUNS -> {
+                    int runs = in.readInt();
+                    for (int r = 0; r < runs; r++) {
+                        int runStart = in.readChar();
+                        int length = in.readChar() + 1;
+                        for (int i = 0; i < length; i++) {
+                            ids.add(high | (runStart + i));
+                        }
+                    }
+                }
+                default -> throw new IOException("Unknown id bitmap container " + type);
+            }
+        }
+        return ids;
+    }
+}
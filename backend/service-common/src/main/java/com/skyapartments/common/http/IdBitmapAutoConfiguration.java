@@ -0,0 +1,19 @@
+package com.skyapartments.common.http;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registers the id bitmap converter with the message converters of Spring MVC and of the Feign
+ * clients, which both pick up converter beans.
+ */
+@AutoConfiguration
+public class IdBitmapAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public IdBitmapHttpMessageConverter idBitmapHttpMessageConverter() {
+        return new IdBitmapHttpMessageConverter();
+    }
+}
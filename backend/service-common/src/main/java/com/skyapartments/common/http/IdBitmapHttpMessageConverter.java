@@ -0,0 +1,91 @@
+package com.skyapartments.common.http;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Set;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Reads and writes {@code Set<Long>} bodies as an {@link IdBitmap}. It only takes part when the
+ * bitmap media type is named explicitly (Accept or Content-Type), so wildcard requests and
+ * every other endpoint keep JSON.
+ */
+public class IdBitmapHttpMessageConverter extends AbstractGenericHttpMessageConverter<Set<Long>> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-id-bitmap";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    public IdBitmapHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Set.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return isLongSet(type) && isBitmap(mediaType);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return supports(clazz) && isBitmap(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return (type == null || isLongSet(type)) && canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return supports(clazz) && isBitmap(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Set<Long> ids, Type type, HttpOutputMessage outputMessage) throws IOException {
+        IdBitmap.encode(ids, outputMessage.getBody());
+    }
+
+    @Override
+    protected Set<Long> readInternal(Class<? extends Set<Long>> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(inputMessage);
+    }
+
+    @Override
+    public Set<Long> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return read(inputMessage);
+    }
+
+    private Set<Long> read(HttpInputMessage inputMessage) throws IOException {
+        try {
+            return IdBitmap.decode(inputMessage.getBody());
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Malformed id bitmap: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    private static boolean isBitmap(MediaType mediaType) {
+        return mediaType != null && !mediaType.isWildcardType() && !mediaType.isWildcardSubtype()
+            && MEDIA_TYPE.isCompatibleWith(mediaType);
+    }
+
+    private static boolean isLongSet(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return Set.class.isAssignableFrom(clazz);
+        }
+        if (type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw) {
+            return Set.class.isAssignableFrom(raw) && parameterized.getActualTypeArguments()[0] == Long.class;
+        }
+        return false;
+    }
+}
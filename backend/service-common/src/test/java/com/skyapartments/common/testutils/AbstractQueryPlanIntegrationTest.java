@@ -0,0 +1,50 @@
+package com.skyapartments.common.testutils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Runs the Flyway migrations of the service on an in-memory H2 database (MySQL mode), so a test
+ * can check that the repository queries are answered from an index.
+ *
+ * Subclasses declare a nested @SpringBootConfiguration with the entities and repositories of
+ * their service, and call assertIndexed for each query.
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:queryplans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.skyapartments.common.testutils.QueryPlanInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public abstract class AbstractQueryPlanIntegrationTest {
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    // Fails when a statement run by the call reads a whole table
+    protected void assertIndexed(String query, Runnable call) {
+        for (String plan : plans(query, call)) {
+            assertThat(plan).as("%s reads a whole table:%n%s", query, plan).doesNotContain(".tableScan");
+        }
+    }
+
+    // Plans of the statements run by the call, one per statement
+    protected List<String> plans(String query, Runnable call) {
+        List<String> statements = QueryPlanInspector.capture(call);
+        assertThat(statements).as("SQL run by %s", query).isNotEmpty();
+        List<String> plans = new ArrayList<>();
+        for (String sql : statements) {
+            plans.add(QueryPlanInspector.explain(jdbcTemplate, sql));
+        }
+        return plans;
+    }
+}
@@ -0,0 +1,53 @@
+package com.skyapartments.common.testutils;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Records the SQL Hibernate sends (registered as hibernate.session_factory.statement_inspector),
+ * so a test can ask the database how it would run each statement.
+ */
+public class QueryPlanInspector implements StatementInspector {
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+
+    public static List<String> capture(Runnable call) {
+        statements.clear();
+        call.run();
+        List<String> captured = List.copyOf(statements);
+        statements.clear();
+        return captured;
+    }
+
+    // H2 plan of the statement, unquoted: a full read of a table shows up as "<schema>.<table>.tableScan"
+    public static String explain(JdbcTemplate jdbcTemplate, String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                List<String> plan = new ArrayList<>();
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        plan.add(rows.getString(1));
+                    }
+                }
+                return String.join("\n", plan).replace("\"", "");
+            }
+        });
+    }
+}
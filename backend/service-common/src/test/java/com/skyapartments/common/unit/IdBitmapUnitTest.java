@@ -0,0 +1,80 @@
+package com.skyapartments.common.unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import com.skyapartments.common.http.IdBitmap;
+import com.skyapartments.common.http.IdBitmapHttpMessageConverter;
+
+public class IdBitmapUnitTest {
+
+    @Test
+    @DisplayName("Should round-trip an empty set")
+    void shouldRoundTripEmptySet() {
+        byte[] encoded = IdBitmap.encode(Set.of());
+
+        assertThat(IdBitmap.decode(encoded)).isEmpty();
+        // Version byte and container count only
+        assertThat(encoded).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("Should round-trip sparse ids across several containers")
+    void shouldRoundTripSparseIds() {
+        Set<Long> ids = Set.of(1L, 7L, 65_535L, 65_536L, 1_000_000L, 5_000_000_000L);
+
+        assertThat(IdBitmap.decode(IdBitmap.encode(ids))).isEqualTo(ids);
+    }
+
+    @Test
+    @DisplayName("Should store consecutive ids as runs")
+    void shouldCompressConsecutiveIds() {
+        Set<Long> ids = LongStream.rangeClosed(1, 50_000).boxed().collect(Collectors.toSet());
+
+        byte[] encoded = IdBitmap.encode(ids);
+
+        assertThat(IdBitmap.decode(encoded)).isEqualTo(ids);
+        assertThat(encoded.length).isLessThan(32);
+    }
+
+    @Test
+    @DisplayName("Should fall back to a bitmap for dense scattered ids")
+    void shouldUseBitmapForDenseIds() {
+        Set<Long> ids = LongStream.range(0, 65_536).filter(id -> id % 3 == 0).boxed().collect(Collectors.toCollection(HashSet::new));
+
+        byte[] encoded = IdBitmap.encode(ids);
+
+        assertThat(IdBitmap.decode(encoded)).isEqualTo(ids);
+        // Header, one container key and type, then the 8 KiB bitmap
+        assertThat(encoded).hasSize(5 + 9 + 8192);
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown format version")
+    void shouldRejectUnknownVersion() {
+        byte[] encoded = IdBitmap.encode(Set.of(1L));
+        encoded[0] = 99;
+
+        assertThatThrownBy(() -> IdBitmap.decode(encoded)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should only be negotiated when the bitmap is requested explicitly")
+    void shouldOnlyWriteExplicitBitmapRequests() {
+        IdBitmapHttpMessageConverter converter = new IdBitmapHttpMessageConverter();
+
+        assertThat(converter.canWrite(Set.class, IdBitmapHttpMessageConverter.MEDIA_TYPE)).isTrue();
+        assertThat(converter.canWrite(Set.class, MediaType.ALL)).isFalse();
+        assertThat(converter.canWrite(Set.class, null)).isFalse();
+        assertThat(converter.canWrite(Set.class, MediaType.APPLICATION_JSON)).isFalse();
+    }
+}
@@ -0,0 +1,190 @@
+package com.skyapartments.common.unit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.skyapartments.common.cache.NearCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class NearCacheUnitTest {
+
+    @SuppressWarnings("unchecked")
+    private final Function<Long, Item> loader = mock(Function.class);
+    private final MutableClock clock = new MutableClock(Instant.parse("2030-01-01T10:00:00Z"));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NearCache<Long, Item> cache = new NearCache<>("item", loader, Duration.ofSeconds(60), 2, meterRegistry, clock);
+
+    @Test
+    public void get_ShouldServeRepeatedLookupsFromTheCache() {
+        Item item = item(1L);
+        when(loader.apply(1L)).thenReturn(item);
+
+        assertThat(cache.get(1L)).isSameAs(item);
+        assertThat(cache.get(1L)).isSameAs(item);
+
+        verify(loader, times(1)).apply(1L);
+        assertThat(meterRegistry.get("item.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("item.cache.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("item.cache.load").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void get_ShouldReloadExpiredAndInvalidatedEntries() {
+        when(loader.apply(1L)).thenReturn(item(1L));
+
+        cache.get(1L);
+        clock.advance(Duration.ofSeconds(61));
+        cache.get(1L);
+        cache.invalidate(1L);
+        cache.get(1L);
+
+        verify(loader, times(3)).apply(1L);
+    }
+
+    @Test
+    public void get_ShouldNotCacheFailedLookups() {
+        when(loader.apply(1L))
+            .thenThrow(new IllegalStateException("owning service down"))
+            .thenReturn(item(1L));
+
+        assertThatThrownBy(() -> cache.get(1L)).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.get(1L).getId()).isEqualTo(1L);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void get_ShouldStayWithinTheMaximumSize() {
+        for (long id = 1; id <= 3; id++) {
+            when(loader.apply(id)).thenReturn(item(id));
+            cache.get(id);
+            clock.advance(Duration.ofSeconds(1));
+        }
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(meterRegistry.get("item.cache.evictions").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void get_ShouldShareOneRemoteCallBetweenConcurrentMisses() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(loader.apply(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return item(1L);
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Item>> calls = new ArrayList<>();
+            calls.add(callers.submit(() -> cache.get(1L)));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 7; i++) {
+                calls.add(callers.submit(() -> cache.get(1L)));
+            }
+            // Let the waiters reach the load in flight before it completes
+            while (meterRegistry.get("item.cache.coalesced").counter().count() < 7) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<Item> call : calls) {
+                assertThat(call.get(5, TimeUnit.SECONDS).getId()).isEqualTo(1L);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        verify(loader, times(1)).apply(1L);
+    }
+
+    @Test
+    public void invalidate_ShouldKeepALoadInFlightOutOfTheCache() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(loader.apply(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return item(1L);
+        });
+
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<Item> call = caller.submit(() -> cache.get(1L));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            // The value changed while its old version was on the wire
+            cache.invalidate(1L);
+            release.countDown();
+
+            assertThat(call.get(5, TimeUnit.SECONDS).getId()).isEqualTo(1L);
+        } finally {
+            caller.shutdownNow();
+        }
+        assertThat(cache.size()).isZero();
+    }
+
+    private static Item item(Long id) {
+        return new Item(id);
+    }
+
+    private static final class Item {
+
+        private final Long id;
+
+        private Item(Long id) {
+            this.id = id;
+        }
+
+        private Long getId() {
+            return id;
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
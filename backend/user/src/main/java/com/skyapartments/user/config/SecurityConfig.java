@@ -13,8 +13,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
-import com.skyapartments.user.security.jwt.JwtRequestFilter;
-import com.skyapartments.user.security.jwt.UnauthorizedHandlerJwt;
+import com.skyapartments.security.jwt.JwtRequestFilter;
+import com.skyapartments.security.jwt.UnauthorizedHandlerJwt;
 
 
 @Configuration
@@ -8,8 +8,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.skyapartments.user.security.jwt.AuthResponse;
-import com.skyapartments.user.security.jwt.AuthResponse.Status;
+import com.skyapartments.security.jwt.AuthResponse;
+import com.skyapartments.security.jwt.AuthResponse.Status;
 import com.skyapartments.user.security.jwt.LoginRequest;
 import com.skyapartments.user.security.jwt.UserLoginService;
 
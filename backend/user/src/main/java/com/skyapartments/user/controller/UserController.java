@@ -12,6 +12,8 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.security.Principal;
+import java.util.List;
+import java.util.Set;
 
 import java.net.URI;
 
@@ -69,6 +71,12 @@ public class UserController {
         
     }
 
+    @Hidden
+    @GetMapping("/private/batch")
+    public ResponseEntity<List<UserDTO>> getUsersByIds(@RequestParam Set<Long> ids) {
+        return ResponseEntity.ok(userService.getUsersByIds(ids));
+    }
+
     @Hidden
     @GetMapping("/private/{id}")
     public ResponseEntity<UserDTO> getUserByIdPrivate(
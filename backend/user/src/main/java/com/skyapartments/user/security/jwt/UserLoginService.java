@@ -13,6 +13,10 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 
+import com.skyapartments.security.jwt.AuthResponse;
+import com.skyapartments.security.jwt.JwtTokenProvider;
+import com.skyapartments.security.jwt.TokenType;
+
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 
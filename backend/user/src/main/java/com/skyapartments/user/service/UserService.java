@@ -1,6 +1,8 @@
 package com.skyapartments.user.service;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -16,6 +18,8 @@ import com.skyapartments.user.repository.UserRepository;
 @Service
 public class UserService {
 
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final UserRepository userRepository;
 
     private final PasswordEncoder passwordEncoder;
@@ -102,6 +106,14 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         return new UserDTO(user);
     }
-}
-
 
+    public List<UserDTO> getUsersByIds(Set<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new BusinessValidationException("Cannot look up more than " + MAX_BATCH_SIZE + " users at once");
+        }
+        return userRepository.findWithRolesByIdIn(ids).stream().map(UserDTO::new).toList();
+    }
+}
@@ -0,0 +1,22 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update)
+
+create table user (
+    id bigint not null auto_increment,
+    name varchar(255),
+    surname varchar(255),
+    email varchar(255) not null,
+    encoded_password varchar(255),
+    phone_number varchar(255),
+    primary key (id),
+    constraint uk_user_email unique (email)
+);
+
+create table user_roles (
+    user_id bigint not null,
+    roles varchar(255)
+);
+
+create index idx_user_roles_user on user_roles (user_id);
+
+alter table user_roles
+    add constraint fk_user_roles_user foreign key (user_id) references user (id);
@@ -0,0 +1,35 @@
+package com.skyapartments.user.integration;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import com.skyapartments.common.testutils.AbstractQueryPlanIntegrationTest;
+import com.skyapartments.user.model.User;
+import com.skyapartments.user.repository.UserRepository;
+
+/**
+ * Checks that every repository query is answered from an index.
+ */
+public class UserQueryPlanIntegrationTest extends AbstractQueryPlanIntegrationTest {
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = User.class)
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    static class RepositoriesOnly {
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void userQueries_ShouldUseIndexes() {
+        assertIndexed("existsByEmail", () -> userRepository.existsByEmail("user@example.com"));
+        assertIndexed("findByEmail", () -> userRepository.findByEmail("user@example.com"));
+        assertIndexed("findWithRolesByIdIn", () -> userRepository.findWithRolesByIdIn(Set.of(1L, 2L)));
+    }
+}
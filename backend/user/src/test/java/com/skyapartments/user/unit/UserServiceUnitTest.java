@@ -12,7 +12,11 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -272,6 +276,36 @@ public class UserServiceUnitTest {
         verify(userRepository, times(1)).findByEmail("notfound@example.com");
     }
 
+    @Test
+    public void getUsersByIds_ShouldReturnUsersFromSingleQuery() {
+        User user1 = new User("John", "Doe", "123456789", "john.doe@example.com", "pass", "USER");
+        user1.setId(1L);
+        User user2 = new User("Jane", "Doe", "987654321", "jane.doe@example.com", "pass", "USER");
+        user2.setId(2L);
+
+        when(userRepository.findWithRolesByIdIn(Set.of(1L, 2L, 3L))).thenReturn(List.of(user1, user2));
+
+        List<UserDTO> users = userService.getUsersByIds(Set.of(1L, 2L, 3L));
+
+        assertThat(users).extracting(UserDTO::getEmail)
+                .containsExactlyInAnyOrder("john.doe@example.com", "jane.doe@example.com");
+        verify(userRepository, times(1)).findWithRolesByIdIn(Set.of(1L, 2L, 3L));
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    public void getUsersByIds_ShouldReturnEmpty_WhenNoIds() {
+        assertThat(userService.getUsersByIds(Set.of())).isEmpty();
+        verify(userRepository, never()).findWithRolesByIdIn(any());
+    }
+
+    @Test
+    public void getUsersByIds_ShouldThrow_WhenTooManyIds() {
+        Set<Long> ids = LongStream.rangeClosed(1, 501).boxed().collect(Collectors.toSet());
+
+        assertThrows(BusinessValidationException.class, () -> userService.getUsersByIds(ids));
+    }
+
     private UserRequestDTO buildValidRequest() {
         UserRequestDTO dto = new UserRequestDTO();
         dto.setName("John");
@@ -1,6 +1,6 @@
 -- Sky Apartments - Database initialization script
 -- Creates 4 independent schemas (one per microservice)
--- Tables are created automatically by Hibernate/JPA on startup
+-- Tables are created by the Flyway migrations of each service on startup
 
 CREATE DATABASE IF NOT EXISTS usersdb CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
 CREATE DATABASE IF NOT EXISTS apartmentsdb CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;